@@ -10,8 +10,10 @@
 package com.compdfkitpdf.reactnative;
 
 import androidx.annotation.NonNull;
+import com.compdfkitpdf.reactnative.modules.RnPdfDocumentModule;
 import com.compdfkitpdf.reactnative.modules.RnPdfModule;
 import com.compdfkitpdf.reactnative.modules.RnPdfViewModule;
+import com.compdfkitpdf.reactnative.viewer.RnHeadlessDocumentManager;
 import com.compdfkitpdf.reactnative.viewer.RnPdfViewManager;
 import com.facebook.react.ReactPackage;
 import com.facebook.react.bridge.NativeModule;
@@ -38,7 +40,8 @@ public class CompdfkitPdfPackage implements ReactPackage {
     }
     return Arrays.<NativeModule>asList(
       new RnPdfModule(reactContext),
-      new RnPdfViewModule(reactContext, mPDFViewManager)
+      new RnPdfViewModule(reactContext, mPDFViewManager),
+      new RnPdfDocumentModule(reactContext, new RnHeadlessDocumentManager(reactContext, mPDFViewManager))
     );
   }
 
@@ -0,0 +1,281 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.codec;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Numbers annotation creations, updates and deletions with a monotonic sequence so clients can
+ * fetch only what changed since the last sequence they saw. The most recent
+ * {@code capacity} changes are kept. Pages touched through the codec or the viewer keep a
+ * snapshot of their annotations, so edits that are only reported as history changes can be
+ * found by diffing the page against its snapshot.
+ */
+final class RnAnnotationChangeLog {
+
+  static final String OP_CREATE = "create";
+  static final String OP_UPDATE = "update";
+  static final String OP_DELETE = "delete";
+  static final int DEFAULT_CAPACITY = 10000;
+  static final int DEFAULT_LIMIT = 500;
+
+  /**
+   * The reported type and the compared state of an annotation when its page was last seen.
+   */
+  static final class Snapshot {
+
+    final String type;
+    final String signature;
+
+    /**
+     * Creates a new Snapshot instance.
+     */
+    Snapshot(String type, String signature) {
+      this.type = type;
+      this.signature = signature;
+    }
+  }
+
+  /**
+   * One numbered change.
+   */
+  static final class Entry {
+
+    final long seq;
+    final String op;
+    final int pageIndex;
+    final String uuid;
+    final String type;
+    final long time;
+
+    /**
+     * Creates a new Entry instance.
+     */
+    Entry(long seq, String op, int pageIndex, String uuid, String type, long time) {
+      this.seq = seq;
+      this.op = op;
+      this.pageIndex = pageIndex;
+      this.uuid = uuid;
+      this.type = type;
+      this.time = time;
+    }
+  }
+
+  /**
+   * The changes newer than a sequence, with the paging and truncation state reported to clients.
+   */
+  static final class Changes {
+
+    final List<Entry> entries;
+    final long latestSeq;
+    final boolean hasMore;
+    final boolean truncated;
+
+    /**
+     * Creates a new Changes instance.
+     */
+    Changes(List<Entry> entries, long latestSeq, boolean hasMore, boolean truncated) {
+      this.entries = entries;
+      this.latestSeq = latestSeq;
+      this.hasMore = hasMore;
+      this.truncated = truncated;
+    }
+  }
+
+  private final Entry[] entries;
+  private final TreeMap<Integer, HashMap<String, Snapshot>> pages = new TreeMap<>();
+  private int size;
+  private long latestSeq;
+  private long resetSeq;
+
+  /**
+   * Creates a new RnAnnotationChangeLog instance.
+   */
+  RnAnnotationChangeLog() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new RnAnnotationChangeLog instance keeping at most {@code capacity} changes.
+   */
+  RnAnnotationChangeLog(int capacity) {
+    this.entries = new Entry[Math.max(1, capacity)];
+  }
+
+  /**
+   * Records a change. A creation of an annotation the page snapshot already holds, or a deletion
+   * of one it no longer holds, was already recorded and is skipped.
+   */
+  synchronized void record(String op, int pageIndex, String uuid, String type,
+    @Nullable String signature) {
+    HashMap<String, Snapshot> page = pages.get(pageIndex);
+    if (page != null) {
+      boolean known = page.containsKey(uuid);
+      if ((OP_CREATE.equals(op) && known) || (OP_DELETE.equals(op) && !known)) {
+        return;
+      }
+      if (OP_DELETE.equals(op)) {
+        page.remove(uuid);
+      } else {
+        page.put(uuid, new Snapshot(type, signature));
+      }
+    }
+    append(op, pageIndex, uuid, type);
+  }
+
+  /**
+   * Returns whether the page has a snapshot.
+   */
+  synchronized boolean isTracked(int pageIndex) {
+    return pages.get(pageIndex) != null;
+  }
+
+  /**
+   * Starts tracking the page with its current annotations.
+   */
+  synchronized void track(int pageIndex, Map<String, Snapshot> current) {
+    if (pages.get(pageIndex) == null) {
+      pages.put(pageIndex, new HashMap<>(current));
+    }
+  }
+
+  /**
+   * Returns the indexes of the tracked pages.
+   */
+  synchronized int[] trackedPages() {
+    int[] pageIndexes = new int[pages.size()];
+    int i = 0;
+    for (int pageIndex : pages.keySet()) {
+      pageIndexes[i++] = pageIndex;
+    }
+    return pageIndexes;
+  }
+
+  /**
+   * Records the differences between the page snapshot and its current annotations, then keeps
+   * the current annotations as the new snapshot.
+   */
+  synchronized void reconcile(int pageIndex, Map<String, Snapshot> current) {
+    HashMap<String, Snapshot> previous = pages.get(pageIndex);
+    if (previous == null) {
+      return;
+    }
+    for (Map.Entry<String, Snapshot> entry : current.entrySet()) {
+      Snapshot before = previous.remove(entry.getKey());
+      if (before == null) {
+        append(OP_CREATE, pageIndex, entry.getKey(), entry.getValue().type);
+      } else if (!before.signature.equals(entry.getValue().signature)) {
+        append(OP_UPDATE, pageIndex, entry.getKey(), entry.getValue().type);
+      }
+    }
+    for (Map.Entry<String, Snapshot> entry : previous.entrySet()) {
+      append(OP_DELETE, pageIndex, entry.getKey(), entry.getValue().type);
+    }
+    pages.put(pageIndex, new HashMap<>(current));
+  }
+
+  /**
+   * Discards the history after changes that cannot be described per annotation, such as
+   * replacing the document, importing XFDF or restructuring pages. Clients that synced before
+   * are told to fetch everything again.
+   */
+  synchronized void reset() {
+    latestSeq++;
+    resetSeq = latestSeq;
+    size = 0;
+    pages.clear();
+  }
+
+  /**
+   * Returns up to {@code limit} changes newer than {@code sinceSeq}, or
+   * {@link #DEFAULT_LIMIT} when {@code limit} is not positive, as
+   * {@code {changes, latestSeq, hasMore, truncated}}. When {@code truncated} is true the
+   * changes after {@code sinceSeq} are no longer available and the client must fetch every
+   * annotation again, then continue from {@code latestSeq}.
+   */
+  WritableMap changesSince(long sinceSeq, int limit) {
+    Changes found = collect(sinceSeq, limit);
+    WritableArray changes = Arguments.createArray();
+    for (Entry entry : found.entries) {
+      changes.pushMap(toMap(entry));
+    }
+    WritableMap result = Arguments.createMap();
+    result.putArray("changes", changes);
+    result.putDouble("latestSeq", found.latestSeq);
+    result.putBoolean("hasMore", found.hasMore);
+    result.putBoolean("truncated", found.truncated);
+    return result;
+  }
+
+  /**
+   * Returns up to {@code limit} changes newer than {@code sinceSeq}, or
+   * {@link #DEFAULT_LIMIT} when {@code limit} is not positive.
+   */
+  synchronized Changes collect(long sinceSeq, int limit) {
+    List<Entry> changes = new ArrayList<>();
+    long oldestSeq = size == 0 ? latestSeq + 1 : latestSeq - size + 1;
+    boolean truncated = isTruncated(sinceSeq, oldestSeq, resetSeq, latestSeq);
+    int maxCount = limit > 0 ? limit : DEFAULT_LIMIT;
+    int count = 0;
+    boolean hasMore = false;
+    if (!truncated) {
+      int first = (int) Math.max(0, sinceSeq + 1 - oldestSeq);
+      for (int i = first; i < size; i++) {
+        if (count == maxCount) {
+          hasMore = true;
+          break;
+        }
+        changes.add(entries[(int) ((oldestSeq + i) % entries.length)]);
+        count++;
+      }
+    }
+    return new Changes(changes, latestSeq, hasMore, truncated);
+  }
+
+  /**
+   * Returns whether changes after {@code sinceSeq} are missing: they were dropped from the ring
+   * or by a reset, or the sequence was never issued by this log.
+   */
+  static boolean isTruncated(long sinceSeq, long oldestSeq, long resetSeq, long latestSeq) {
+    return sinceSeq < resetSeq || sinceSeq + 1 < oldestSeq || sinceSeq > latestSeq;
+  }
+
+  /**
+   * Appends a numbered change, overwriting the oldest one when the ring is full.
+   */
+  private void append(String op, int pageIndex, String uuid, String type) {
+    latestSeq++;
+    entries[(int) (latestSeq % entries.length)] = new Entry(latestSeq, op, pageIndex, uuid, type,
+      System.currentTimeMillis());
+    size = Math.min(size + 1, entries.length);
+  }
+
+  /**
+   * Converts the input value to map.
+   */
+  private WritableMap toMap(Entry entry) {
+    WritableMap map = Arguments.createMap();
+    map.putDouble("seq", entry.seq);
+    map.putString("op", entry.op);
+    map.putInt("page", entry.pageIndex);
+    map.putString("uuid", entry.uuid);
+    map.putString("type", entry.type);
+    map.putDouble("time", entry.time);
+    return map;
+  }
+}
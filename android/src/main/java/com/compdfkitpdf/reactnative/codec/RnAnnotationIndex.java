@@ -0,0 +1,158 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.codec;
+
+import android.util.SparseArray;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.annotation.CPDFAnnotation;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkit.core.page.CPDFPage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Indexes the annotations of each page by native pointer, listing a page once and keeping the
+ * index current as annotations are added and removed through the codec.
+ */
+final class RnAnnotationIndex {
+
+  private final SparseArray<PageEntry> pages = new SparseArray<>();
+  private final HashMap<Long, Integer> pageByPtr = new HashMap<>();
+
+  /**
+   * Returns a snapshot of the page annotations in page order, listing the page on first use.
+   */
+  synchronized List<CPDFAnnotation> annotations(@Nullable CPDFDocument document, int pageIndex) {
+    PageEntry entry = ensurePage(document, pageIndex);
+    return entry == null ? new ArrayList<>() : new ArrayList<>(entry.annotations);
+  }
+
+  /**
+   * Returns the valid annotation with the pointer on the page.
+   */
+  @Nullable
+  synchronized CPDFAnnotation find(@Nullable CPDFDocument document, int pageIndex, long ptr) {
+    PageEntry entry = ensurePage(document, pageIndex);
+    if (entry == null) {
+      return null;
+    }
+    CPDFAnnotation annotation = entry.byPtr.get(ptr);
+    if (annotation == null || annotation.isValid()) {
+      return annotation;
+    }
+    // Deleted outside the bridge; relist the page so the index stops serving dead objects.
+    invalidatePage(pageIndex);
+    entry = ensurePage(document, pageIndex);
+    return entry == null ? null : entry.byPtr.get(ptr);
+  }
+
+  /**
+   * Records an annotation added to the page when that page is already indexed.
+   */
+  synchronized void add(CPDFAnnotation annotation, int pageIndex) {
+    PageEntry entry = pages.get(pageIndex);
+    if (entry == null || annotation == null) {
+      return;
+    }
+    long ptr = annotation.getAnnotPtr();
+    if (entry.byPtr.put(ptr, annotation) == null) {
+      entry.annotations.add(annotation);
+    }
+    pageByPtr.put(ptr, pageIndex);
+  }
+
+  /**
+   * Forgets an annotation removed from its page.
+   */
+  synchronized void remove(long ptr) {
+    Integer pageIndex = pageByPtr.remove(ptr);
+    if (pageIndex == null) {
+      return;
+    }
+    PageEntry entry = pages.get(pageIndex);
+    if (entry == null) {
+      return;
+    }
+    CPDFAnnotation annotation = entry.byPtr.remove(ptr);
+    if (annotation != null) {
+      entry.annotations.remove(annotation);
+    }
+  }
+
+  /**
+   * Drops the index of the page so it is listed again on next use.
+   */
+  synchronized void invalidatePage(int pageIndex) {
+    PageEntry entry = pages.get(pageIndex);
+    if (entry == null) {
+      return;
+    }
+    for (Long ptr : entry.byPtr.keySet()) {
+      pageByPtr.remove(ptr);
+    }
+    pages.remove(pageIndex);
+  }
+
+  /**
+   * Drops every page index, e.g. after pages were moved or the document changed.
+   */
+  synchronized void invalidateAll() {
+    pages.clear();
+    pageByPtr.clear();
+  }
+
+  /**
+   * Returns the page entry, listing the page when it is not indexed yet.
+   */
+  @Nullable
+  private PageEntry ensurePage(@Nullable CPDFDocument document, int pageIndex) {
+    PageEntry entry = pages.get(pageIndex);
+    if (entry != null) {
+      return entry;
+    }
+    if (document == null) {
+      return null;
+    }
+    CPDFPage page = document.pageAtIndex(pageIndex);
+    if (page == null || !page.isValid()) {
+      return null;
+    }
+    List<CPDFAnnotation> annotations = page.getAnnotations();
+    entry = new PageEntry(annotations == null ? 0 : annotations.size());
+    if (annotations != null) {
+      for (CPDFAnnotation annotation : annotations) {
+        long ptr = annotation.getAnnotPtr();
+        entry.annotations.add(annotation);
+        entry.byPtr.put(ptr, annotation);
+        pageByPtr.put(ptr, pageIndex);
+      }
+    }
+    pages.put(pageIndex, entry);
+    return entry;
+  }
+
+  /**
+   * Holds the listed annotations of one page.
+   */
+  private static final class PageEntry {
+
+    final ArrayList<CPDFAnnotation> annotations;
+    final HashMap<Long, CPDFAnnotation> byPtr;
+
+    /**
+     * Creates a new PageEntry instance.
+     */
+    PageEntry(int capacity) {
+      this.annotations = new ArrayList<>(capacity);
+      this.byPtr = new HashMap<>(Math.max(16, capacity * 2));
+    }
+  }
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.codec;
+
+import androidx.annotation.Nullable;
+import com.compdfkit.core.annotation.CPDFAnnotation;
+import com.compdfkit.core.common.CPDFDate;
+import com.compdfkit.tools.common.utils.date.CDateUtil;
+import com.compdfkitpdf.reactnative.codec.annotation.RnBaseAnnotationCodec;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Filters, pagination cursor and field projection of a document-wide annotation query.
+ */
+public final class RnAnnotationQuery {
+
+  static final int DEFAULT_LIMIT = 100;
+  static final String TYPE_WIDGET = "widget";
+
+  @Nullable
+  final Set<String> types;
+  @Nullable
+  final Set<String> authors;
+  final double createdAfter;
+  final double createdBefore;
+  final double modifiedSince;
+  final int pageStart;
+  final int pageEnd;
+  final int limit;
+  final int cursorPage;
+  final int cursorOffset;
+  @Nullable
+  final Set<String> fields;
+
+  /**
+   * Creates a new RnAnnotationQuery instance.
+   */
+  RnAnnotationQuery(@Nullable Set<String> types, @Nullable Set<String> authors,
+    double createdAfter, double createdBefore, double modifiedSince, int pageStart, int pageEnd,
+    int limit, @Nullable String cursor, @Nullable Set<String> fields) {
+    this.types = types;
+    this.authors = authors;
+    this.createdAfter = createdAfter;
+    this.createdBefore = createdBefore;
+    this.modifiedSince = modifiedSince;
+    this.pageStart = Math.max(0, pageStart);
+    this.pageEnd = pageEnd;
+    this.limit = Math.max(1, limit);
+    int[] position = parseCursor(cursor);
+    this.cursorPage = position[0];
+    this.cursorOffset = position[1];
+    this.fields = fields;
+  }
+
+  /**
+   * Reads the {@code types}, {@code authors}, {@code created_after}, {@code created_before},
+   * {@code modified_since}, {@code page_start}, {@code page_end}, {@code limit}, {@code cursor}
+   * and {@code fields} options. Dates are millisecond timestamps; widgets are only returned when
+   * {@code types} contains {@code "widget"}.
+   */
+  public static RnAnnotationQuery fromMap(@Nullable ReadableMap map) {
+    return new RnAnnotationQuery(
+      getLowerCaseSet(map, "types"),
+      getLowerCaseSet(map, "authors"),
+      getDouble(map, "created_after", Double.NaN),
+      getDouble(map, "created_before", Double.NaN),
+      getDouble(map, "modified_since", Double.NaN),
+      (int) getDouble(map, "page_start", 0),
+      (int) getDouble(map, "page_end", Integer.MAX_VALUE),
+      (int) getDouble(map, "limit", DEFAULT_LIMIT),
+      map != null && map.hasKey("cursor") && !map.isNull("cursor") ? map.getString("cursor")
+        : null,
+      getSet(map, "fields"));
+  }
+
+  /**
+   * Returns whether the annotation with the reported type name passes the type, author and date
+   * filters.
+   */
+  boolean matches(CPDFAnnotation annotation, String typeName) {
+    if (types == null ? TYPE_WIDGET.equals(typeName) : !types.contains(typeName)) {
+      return false;
+    }
+    if (authors != null) {
+      String title = annotation.getTitle();
+      if (title == null || !authors.contains(title.toLowerCase(Locale.ROOT))) {
+        return false;
+      }
+    }
+    if (!Double.isNaN(createdAfter) || !Double.isNaN(createdBefore)) {
+      double created = timestamp(annotation.getCreationDate());
+      if (Double.isNaN(created) || (!Double.isNaN(createdAfter) && created < createdAfter)
+        || (!Double.isNaN(createdBefore) && created > createdBefore)) {
+        return false;
+      }
+    }
+    if (!Double.isNaN(modifiedSince)) {
+      double modified = timestamp(annotation.getRecentlyModifyDate());
+      return !Double.isNaN(modified) && modified >= modifiedSince;
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether every projected field is a base field, so the full codec can be skipped.
+   */
+  boolean needsOnlyBaseFields() {
+    return fields != null && RnBaseAnnotationCodec.BASE_FIELDS.containsAll(fields);
+  }
+
+  /**
+   * Returns the projected fields of the item, or the item itself without a projection. Only the
+   * projected keys are read from the item, each copied with its own type.
+   */
+  WritableMap project(WritableMap item) {
+    if (fields == null) {
+      return item;
+    }
+    WritableMap projected = Arguments.createMap();
+    for (String key : fields) {
+      if (!item.hasKey(key)) {
+        continue;
+      }
+      switch (item.getType(key)) {
+        case Null:
+          projected.putNull(key);
+          break;
+        case Boolean:
+          projected.putBoolean(key, item.getBoolean(key));
+          break;
+        case Number:
+          projected.putDouble(key, item.getDouble(key));
+          break;
+        case String:
+          projected.putString(key, item.getString(key));
+          break;
+        case Map:
+          projected.putMap(key, item.getMap(key));
+          break;
+        case Array:
+          projected.putArray(key, item.getArray(key));
+          break;
+        default:
+          break;
+      }
+    }
+    return projected;
+  }
+
+  /**
+   * Encodes the position of the next item to read.
+   */
+  static String encodeCursor(int pageIndex, int offset) {
+    return pageIndex + ":" + offset;
+  }
+
+  /**
+   * Decodes a cursor into {@code {pageIndex, offset}}, starting over when it is absent.
+   */
+  static int[] parseCursor(@Nullable String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return new int[]{0, 0};
+    }
+    int separator = cursor.indexOf(':');
+    try {
+      int pageIndex = Integer.parseInt(separator < 0 ? cursor : cursor.substring(0, separator));
+      int offset = separator < 0 ? 0 : Integer.parseInt(cursor.substring(separator + 1));
+      if (pageIndex < 0 || offset < 0) {
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+      }
+      return new int[]{pageIndex, offset};
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+  }
+
+  /**
+   * Returns the timestamp of the date, or NaN when it is unset.
+   */
+  private static double timestamp(@Nullable CPDFDate date) {
+    return date == null ? Double.NaN : CDateUtil.transformToTimestamp(date);
+  }
+
+  /**
+   * Returns the number option, or the fallback when absent.
+   */
+  private static double getDouble(@Nullable ReadableMap map, String key, double fallback) {
+    return map != null && map.hasKey(key) && !map.isNull(key) ? map.getDouble(key) : fallback;
+  }
+
+  /**
+   * Returns the string array option as a set, or {@code null} when absent.
+   */
+  @Nullable
+  private static Set<String> getSet(@Nullable ReadableMap map, String key) {
+    if (map == null || !map.hasKey(key) || map.isNull(key)) {
+      return null;
+    }
+    ReadableArray array = map.getArray(key);
+    Set<String> values = new HashSet<>();
+    for (int i = 0; array != null && i < array.size(); i++) {
+      values.add(array.getString(i));
+    }
+    return values;
+  }
+
+  /**
+   * Returns the string array option as a lower-case set, or {@code null} when absent.
+   */
+  @Nullable
+  private static Set<String> getLowerCaseSet(@Nullable ReadableMap map, String key) {
+    Set<String> values = getSet(map, key);
+    if (values == null) {
+      return null;
+    }
+    Set<String> lowerCase = new HashSet<>();
+    for (String value : values) {
+      if (value != null) {
+        lowerCase.add(value.toLowerCase(Locale.ROOT));
+      }
+    }
+    return lowerCase;
+  }
+}
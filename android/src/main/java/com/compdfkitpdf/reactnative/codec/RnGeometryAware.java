@@ -0,0 +1,12 @@
+package com.compdfkitpdf.reactnative.codec;
+
+/**
+ * Defines the contract for codecs that can write their point geometry packed.
+ */
+public interface RnGeometryAware {
+
+  /**
+   * Sets the geometry encoding written by the codec.
+   */
+  void setGeometryEncoding(String encoding);
+}
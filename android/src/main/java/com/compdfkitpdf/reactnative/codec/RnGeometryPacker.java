@@ -0,0 +1,156 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.codec;
+
+import android.util.Base64;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+
+/**
+ * Packs point geometry into one flat coordinate list {@code [x0, y0, x1, y1, ...]} instead of a
+ * nested array per point. The list is either a plain number array ({@code "flat"}) or a Base64
+ * string of little-endian 32-bit floats ({@code "base64"}); strokes are delimited by the index
+ * of their first point.
+ */
+public final class RnGeometryPacker {
+
+  public static final String ENCODING_NESTED = "nested";
+  public static final String ENCODING_FLAT = "flat";
+  public static final String ENCODING_BASE64 = "base64";
+
+  /**
+   * Creates a new RnGeometryPacker instance.
+   */
+  private RnGeometryPacker() {
+  }
+
+  /**
+   * Returns the supported encoding, {@code "nested"} when absent.
+   */
+  public static String normalizeEncoding(@Nullable String encoding) {
+    if (encoding == null || encoding.isEmpty()) {
+      return ENCODING_NESTED;
+    }
+    String normalized = encoding.toLowerCase(Locale.ROOT);
+    if (ENCODING_NESTED.equals(normalized) || ENCODING_FLAT.equals(normalized)
+      || ENCODING_BASE64.equals(normalized)) {
+      return normalized;
+    }
+    throw new IllegalArgumentException("Unsupported geometry encoding: " + encoding);
+  }
+
+  /**
+   * Returns whether the encoding writes packed coordinates.
+   */
+  public static boolean isPacked(String encoding) {
+    return !ENCODING_NESTED.equals(encoding);
+  }
+
+  /**
+   * Writes the coordinates under the key in the packed encoding.
+   */
+  public static void putCoordinates(WritableMap map, String key, float[] coordinates,
+    String encoding) {
+    if (ENCODING_BASE64.equals(encoding)) {
+      map.putString(key, Base64.encodeToString(toLittleEndianBytes(coordinates), Base64.NO_WRAP));
+      return;
+    }
+    WritableArray array = Arguments.createArray();
+    for (float coordinate : coordinates) {
+      array.pushDouble(coordinate);
+    }
+    map.putArray(key, array);
+  }
+
+  /**
+   * Reads coordinates written as a number array or a Base64 float string, or {@code null} when
+   * the key is absent.
+   */
+  @Nullable
+  public static float[] getCoordinates(ReadableMap map, String key) {
+    if (!map.hasKey(key) || map.isNull(key)) {
+      return null;
+    }
+    if (map.getType(key) == ReadableType.String) {
+      return fromLittleEndianBytes(Base64.decode(map.getString(key), Base64.DEFAULT));
+    }
+    ReadableArray array = map.getArray(key);
+    int size = array == null ? 0 : array.size();
+    float[] coordinates = new float[size];
+    for (int i = 0; i < size; i++) {
+      coordinates[i] = (float) array.getDouble(i);
+    }
+    return coordinates;
+  }
+
+  /**
+   * Writes the first point index of every stroke under the key.
+   */
+  public static void putStrokeOffsets(WritableMap map, String key, int[] offsets) {
+    WritableArray array = Arguments.createArray();
+    for (int offset : offsets) {
+      array.pushInt(offset);
+    }
+    map.putArray(key, array);
+  }
+
+  /**
+   * Reads the first point index of every stroke, one stroke starting at 0 when absent.
+   */
+  public static int[] getStrokeOffsets(ReadableMap map, String key) {
+    if (!map.hasKey(key) || map.isNull(key)) {
+      return new int[]{0};
+    }
+    ReadableArray array = map.getArray(key);
+    int size = array == null ? 0 : array.size();
+    int[] offsets = new int[size];
+    for (int i = 0; i < size; i++) {
+      offsets[i] = array.getInt(i);
+    }
+    return offsets;
+  }
+
+  /**
+   * Returns the point index after the last point of the stroke, clamped to the point count.
+   */
+  public static int strokeEnd(int[] offsets, int strokeIndex, int pointCount) {
+    int end = strokeIndex + 1 < offsets.length ? offsets[strokeIndex + 1] : pointCount;
+    return Math.max(Math.min(end, pointCount), Math.min(offsets[strokeIndex], pointCount));
+  }
+
+  /**
+   * Encodes the values as little-endian 32-bit floats.
+   */
+  static byte[] toLittleEndianBytes(float[] values) {
+    ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.asFloatBuffer().put(values);
+    return buffer.array();
+  }
+
+  /**
+   * Decodes little-endian 32-bit floats.
+   */
+  static float[] fromLittleEndianBytes(byte[] bytes) {
+    if (bytes.length % 4 != 0) {
+      throw new IllegalArgumentException("Packed coordinates must be a multiple of 4 bytes");
+    }
+    float[] values = new float[bytes.length / 4];
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+    return values;
+  }
+}
@@ -14,6 +14,7 @@ import android.graphics.Bitmap;
 import android.graphics.PointF;
 import android.graphics.RectF;
 import android.util.Log;
+import android.util.SparseArray;
 import androidx.annotation.Nullable;
 import com.compdfkit.core.annotation.CPDFAnnotation;
 import com.compdfkit.core.annotation.CPDFAnnotation.Type;
@@ -33,6 +34,7 @@ import com.compdfkit.ui.reader.CPDFPageView;
 import com.compdfkit.ui.reader.CPDFReaderView;
 import com.compdfkitpdf.reactnative.codec.annotation.RnFreeTextAnnotationCodec;
 import com.compdfkitpdf.reactnative.codec.annotation.RnAnnotationCodec;
+import com.compdfkitpdf.reactnative.codec.annotation.RnBaseAnnotationCodec;
 import com.compdfkitpdf.reactnative.codec.annotation.RnCircleAnnotationCodec;
 import com.compdfkitpdf.reactnative.codec.annotation.RnInkAnnotationCodec;
 import com.compdfkitpdf.reactnative.codec.annotation.RnLineAnnotationCodec;
@@ -52,13 +54,14 @@ import com.compdfkitpdf.reactnative.codec.widget.RnTextFieldWidgetCodec;
 import com.compdfkitpdf.reactnative.codec.widget.RnWidgetCodec;
 import com.compdfkitpdf.reactnative.util.RnEditAreaMapper;
 import com.compdfkitpdf.reactnative.util.RnEnumConverter;
+import com.compdfkitpdf.reactnative.util.RnImageOutput;
 import com.compdfkit.tools.common.utils.date.CDateUtil;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -74,6 +77,16 @@ public class RnPageCodec {
 
   private CPDFDocument document;
 
+  private final RnAnnotationIndex annotationIndex = new RnAnnotationIndex();
+
+  private final RnReplyIndex replyIndex = new RnReplyIndex(annotationIndex);
+
+  private final RnAnnotationChangeLog changeLog = new RnAnnotationChangeLog();
+
+  private volatile String geometryEncoding = RnGeometryPacker.ENCODING_NESTED;
+
+  private volatile String contextMenuImageOutput = RnImageOutput.OUTPUT_BASE64;
+
   private final HashMap<Type, RnAnnotationCodec> annotImpls;
 
   private final HashMap<WidgetType, RnWidgetCodec> widgetsImpls;
@@ -128,9 +141,46 @@ public class RnPageCodec {
    * Sets the document.
    */
   public void setDocument(CPDFDocument document) {
+    if (this.document != document) {
+      annotationIndex.invalidateAll();
+      replyIndex.invalidateAll();
+      changeLog.reset();
+    }
     this.document = document;
   }
 
+  /**
+   * Sets how ink and line geometry is written: {@code "nested"} point arrays (default),
+   * {@code "flat"} coordinate arrays or {@code "base64"} packed floats.
+   */
+  public void setGeometryEncoding(@Nullable String encoding) {
+    this.geometryEncoding = RnGeometryPacker.normalizeEncoding(encoding);
+  }
+
+  /**
+   * Sets how the context-menu screenshot is reported: as the Base64 {@code image} (default) or,
+   * with {@code "file"}, as a cache file in {@code imagePath} with its size.
+   */
+  public void setContextMenuImageOutput(@Nullable String outputType) {
+    this.contextMenuImageOutput = RnImageOutput.normalizeOutputType(outputType);
+  }
+
+  /**
+   * Drops the indexed annotations of the page after it changed outside the codec.
+   */
+  public void invalidateAnnotations(int pageIndex) {
+    annotationIndex.invalidatePage(pageIndex);
+    replyIndex.invalidatePage(pageIndex);
+  }
+
+  /**
+   * Drops every indexed annotation, e.g. after pages were moved, inserted or removed.
+   */
+  public void invalidateAllAnnotations() {
+    annotationIndex.invalidateAll();
+    replyIndex.invalidateAll();
+  }
+
   /**
    * Returns the annotations.
    */
@@ -145,6 +195,76 @@ public class RnPageCodec {
     return array;
   }
 
+  /**
+   * Returns up to {@code limit} annotations matching the query across the document as
+   * {@code {items, nextCursor, scannedPages}}, encoding only the projected fields.
+   * {@code nextCursor} is null once the last matching annotation was returned.
+   */
+  public WritableMap queryAnnotations(RnAnnotationQuery query) {
+    WritableArray items = Arguments.createArray();
+    String nextCursor = null;
+    int scannedPages = 0;
+    if (document != null) {
+      int lastPage = Math.min(document.getPageCount() - 1, query.pageEnd);
+      int pageIndex = Math.max(query.pageStart, query.cursorPage);
+      int offset = pageIndex == query.cursorPage ? query.cursorOffset : 0;
+      int count = 0;
+      for (; pageIndex <= lastPage && nextCursor == null; pageIndex++, offset = 0) {
+        scannedPages++;
+        List<CPDFAnnotation> annotations = getPageAnnotations(pageIndex);
+        for (int i = offset; i < annotations.size(); i++) {
+          if (count == query.limit) {
+            nextCursor = RnAnnotationQuery.encodeCursor(pageIndex, i);
+            break;
+          }
+          WritableMap item = encodeQueryItem(annotations.get(i), query);
+          if (item != null) {
+            items.pushMap(item);
+            count++;
+          }
+        }
+      }
+    }
+    WritableMap result = Arguments.createMap();
+    result.putArray("items", items);
+    result.putString("nextCursor", nextCursor);
+    result.putInt("scannedPages", scannedPages);
+    return result;
+  }
+
+  /**
+   * Returns the projected data of the annotation, or {@code null} when it does not match.
+   */
+  @Nullable
+  private WritableMap encodeQueryItem(@Nullable CPDFAnnotation annotation,
+    RnAnnotationQuery query) {
+    if (annotation == null || !annotation.isValid()) {
+      return null;
+    }
+    if (annotation.getType() == Type.WIDGET) {
+      if (!query.matches(annotation, RnAnnotationQuery.TYPE_WIDGET)) {
+        return null;
+      }
+      WritableMap data = getWidgetData((CPDFWidget) annotation);
+      return data != null && data.hasKey("type") ? query.project(data) : null;
+    }
+    RnAnnotationCodec codec = resolveAnnotationCodec(annotation);
+    if (!(codec instanceof RnBaseAnnotationCodec)) {
+      return null;
+    }
+    RnBaseAnnotationCodec baseCodec = (RnBaseAnnotationCodec) codec;
+    if (!query.matches(annotation, baseCodec.getTypeName(annotation))) {
+      return null;
+    }
+    if (query.needsOnlyBaseFields()) {
+      WritableMap map = Arguments.createMap();
+      baseCodec.writeBaseFields(annotation, map, query.fields);
+      return map;
+    }
+    WritableMap data = getAnnotationData(annotation);
+    return data != null && data.hasKey("type") ? query.project(data) : null;
+  }
+
   /**
    * Returns the widgets.
    */
@@ -175,6 +295,7 @@ public class RnPageCodec {
       WidgetType.Widget_TextField));
     if (textFieldWidget != null && annotation != null) {
       textFieldWidget.setText(annotation, text);
+      recordChange(RnAnnotationChangeLog.OP_UPDATE, pageIndex, annotation);
     }
   }
 
@@ -205,6 +326,7 @@ public class RnPageCodec {
     } else if (widget instanceof CPDFCheckboxWidget) {
       ((CPDFCheckboxWidget) widget).setChecked(checked);
     }
+    recordChange(RnAnnotationChangeLog.OP_UPDATE, pageIndex, widget);
   }
 
   /**
@@ -215,7 +337,12 @@ public class RnPageCodec {
     RnSignatureFieldWidgetCodec signatureFieldsWidget = ((RnSignatureFieldWidgetCodec) widgetsImpls.get(
       WidgetType.Widget_SignatureFields));
     if (signatureFieldsWidget != null && annotation != null) {
-      return signatureFieldsWidget.addImageSignatures(document.getContext(), annotation, imagePath);
+      boolean added = signatureFieldsWidget.addImageSignatures(document.getContext(), annotation,
+        imagePath);
+      if (added) {
+        recordChange(RnAnnotationChangeLog.OP_UPDATE, pageIndex, annotation);
+      }
+      return added;
     }
     return false;
   }
@@ -234,12 +361,7 @@ public class RnPageCodec {
     } catch (NumberFormatException e) {
       return null;
     }
-    for (CPDFAnnotation annotation : getPageAnnotations(pageIndex)) {
-      if (annotation.getAnnotPtr() == targetPtr) {
-        return annotation;
-      }
-    }
-    return null;
+    return annotationIndex.find(document, pageIndex, targetPtr);
   }
 
   /**
@@ -269,7 +391,14 @@ public class RnPageCodec {
     CPDFAnnotation annotation = getAnnotation(pageIndex, annotPtr);
     if (annotation != null) {
       CPDFPage page = document.pageAtIndex(pageIndex);
-      return page.deleteAnnotation(annotation);
+      long ptr = annotation.getAnnotPtr();
+      String type = getAnnotationTypeName(annotation);
+      boolean deleted = page.deleteAnnotation(annotation);
+      if (deleted) {
+        annotationIndex.remove(ptr);
+        recordAnnotationRemoved(pageIndex, String.valueOf(ptr), type);
+      }
+      return deleted;
     } else {
       return false;
     }
@@ -295,6 +424,7 @@ public class RnPageCodec {
     }
     ensureReplyStableId(reply);
     reply.setRecentlyModifyDate(TTimeUtil.getCurrentDate());
+    replyIndex.add(reply, annotation, annotation.pdfPage.getPageNum());
     return getReplyAnnotationData(reply, annotation, getReplyIndex(annotation, reply));
   }
 
@@ -367,7 +497,12 @@ public class RnPageCodec {
       return false;
     }
     CPDFPage page = reply.pdfPage != null ? reply.pdfPage : document.pageAtIndex(pageIndex);
-    return page != null && page.deleteAnnotation(reply);
+    String stableId = reply.getName();
+    if (page == null || !page.deleteAnnotation(reply)) {
+      return false;
+    }
+    replyIndex.remove(reply, stableId);
+    return true;
   }
 
   /**
@@ -392,7 +527,12 @@ public class RnPageCodec {
         result = false;
         continue;
       }
-      result = page.deleteAnnotation(reply) && result;
+      String stableId = reply.getName();
+      boolean deleted = page.deleteAnnotation(reply);
+      if (deleted) {
+        replyIndex.remove(reply, stableId);
+      }
+      result = deleted && result;
     }
     return result;
   }
@@ -404,7 +544,11 @@ public class RnPageCodec {
     if (annotation == null || !annotation.isValid()) {
       return false;
     }
-    return annotation.setMarkedAnnotState(stringToMarkState(state));
+    boolean result = annotation.setMarkedAnnotState(stringToMarkState(state));
+    if (result) {
+      recordChange(RnAnnotationChangeLog.OP_UPDATE, annotation.pdfPage.getPageNum(), annotation);
+    }
+    return result;
   }
 
   /**
@@ -425,7 +569,11 @@ public class RnPageCodec {
     if (annotation == null || !annotation.isValid()) {
       return false;
     }
-    return annotation.setReviewAnnotState(stringToReviewState(state));
+    boolean result = annotation.setReviewAnnotState(stringToReviewState(state));
+    if (result) {
+      recordChange(RnAnnotationChangeLog.OP_UPDATE, annotation.pdfPage.getPageNum(), annotation);
+    }
+    return result;
   }
 
   /**
@@ -486,24 +634,45 @@ public class RnPageCodec {
     if (document == null || replyId == null) {
       return null;
     }
-    CPDFReplyAnnotation reply = getReplyAnnotationFromPage(pageIndex, replyId, nativeId, replyKey,
-      parentUuid);
+    CPDFReplyAnnotation reply = replyIndex.find(document, replyId);
+    if (reply == null) {
+      reply = replyIndex.find(document, nativeId);
+    }
     if (reply != null) {
       return reply;
     }
-    int pageCount = document.getPageCount();
-    for (int i = 0; i < pageCount; i++) {
-      if (i == pageIndex) {
-        continue;
-      }
-      reply = getReplyAnnotationFromPage(i, replyId, nativeId, replyKey, parentUuid);
-      if (reply != null) {
-        return reply;
-      }
+    // Reply keys carry no id, so only the requested page and the parent's page can hold a match.
+    reply = getReplyAnnotationFromPage(pageIndex, replyId, nativeId, replyKey, parentUuid);
+    if (reply != null) {
+      return reply;
+    }
+    long parentPtr = parseParentPtr(parentUuid, replyKey);
+    int parentPage = parentPtr == 0L ? -1 : replyIndex.pageOfParent(document, parentPtr);
+    if (parentPage >= 0 && parentPage != pageIndex) {
+      return getReplyAnnotationFromPage(parentPage, replyId, nativeId, replyKey, parentUuid);
     }
     return null;
   }
 
+  /**
+   * Returns the parent pointer from the parent uuid or the reply key prefix, or 0 when absent.
+   */
+  private long parseParentPtr(@Nullable String parentUuid, @Nullable String replyKey) {
+    String value = parentUuid;
+    if (!hasText(value) && hasText(replyKey)) {
+      int separator = replyKey.indexOf('|');
+      value = separator > 0 ? replyKey.substring(0, separator) : null;
+    }
+    if (!hasText(value)) {
+      return 0L;
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return 0L;
+    }
+  }
+
   private CPDFReplyAnnotation getReplyAnnotationFromPage(int pageIndex, String replyId,
     @Nullable String nativeId, @Nullable String replyKey, @Nullable String parentUuid) {
     for (CPDFAnnotation annotation : getPageAnnotations(pageIndex)) {
@@ -731,7 +900,7 @@ public class RnPageCodec {
         case "image":
           // screenshot Context menu.
           if (value instanceof Bitmap) {
-            result.putString("image", toBase64Image((Bitmap) value));
+            putScreenshotImage(result, (Bitmap) value);
           }
           break;
         default:
@@ -752,6 +921,7 @@ public class RnPageCodec {
       if (rcpdfAnnotation != null) {
         rcpdfAnnotation.updateAnnotation(annotation, properties);
         annotation.updateAp();
+        recordChange(RnAnnotationChangeLog.OP_UPDATE, annotation.pdfPage.getPageNum(), annotation);
         return true;
       }
     }
@@ -769,6 +939,7 @@ public class RnPageCodec {
       if (rcpdfWidget != null) {
         rcpdfWidget.updateWidget(widget, properties);
         annotation.updateAp();
+        recordChange(RnAnnotationChangeLog.OP_UPDATE, annotation.pdfPage.getPageNum(), annotation);
         return true;
       }
     }
@@ -776,72 +947,242 @@ public class RnPageCodec {
   }
 
   /**
-   * Adds annotations.
+   * Adds annotations page by page, reading the bridge array in place and refreshing each
+   * visible page view once.
    */
   public boolean addAnnotations(@Nullable CPDFReaderView readerView, ReadableArray annotations) {
     if (document == null) {
       return false;
     }
     boolean allSuccess = true;
-    ArrayList<Object> annots = annotations.toArrayList();
-    for (Object annotObj : annots) {
-      HashMap<String, Object> annotMap = (HashMap<String, Object>) annotObj;
-      double pageIndex = (double) annotMap.get("page");
-      String annotationType = (String) annotMap.get("type");
-      CPDFAnnotation.Type type = RnEnumConverter.stringToCPDFAnnotType(annotationType);
-      RnAnnotationCodec rcpdfAnnotation = prepareCodec(annotImpls.get(type));
-      if (rcpdfAnnotation != null) {
-        ReadableMap readableMap = Arguments.makeNativeMap(annotMap);
-        CPDFAnnotation annotation = rcpdfAnnotation.addAnnotation(document, readableMap);
+    SparseArray<List<ReadableMap>> itemsByPage = groupByPage(annotations);
+    for (int i = 0; i < itemsByPage.size(); i++) {
+      int pageIndex = itemsByPage.keyAt(i);
+      List<CPDFAnnotation> added = new ArrayList<>();
+      for (ReadableMap item : itemsByPage.valueAt(i)) {
+        CPDFAnnotation.Type type = RnEnumConverter.stringToCPDFAnnotType(item.getString("type"));
+        RnAnnotationCodec rcpdfAnnotation = prepareCodec(annotImpls.get(type));
+        if (rcpdfAnnotation == null) {
+          allSuccess = false;
+          continue;
+        }
+        CPDFAnnotation annotation = rcpdfAnnotation.addAnnotation(document, item);
         if (annotation != null && annotation.isValid()) {
-          addToPageView(readerView, (int) pageIndex, annotation);
+          annotationIndex.add(annotation, pageIndex);
+          added.add(annotation);
+          recordChange(RnAnnotationChangeLog.OP_CREATE, pageIndex, annotation);
         }
-      } else {
-        allSuccess = false;
       }
+      addToPageView(readerView, pageIndex, added);
     }
     return allSuccess;
   }
 
   /**
-   * Adds widgets.
+   * Adds widgets page by page, reading the bridge array in place and refreshing each visible
+   * page view once.
    */
   public void addWidgets(@Nullable CPDFReaderView readerView, ReadableArray widgets) {
     if (document == null) {
       return;
     }
-    ArrayList<Object> widgetsArrayList = widgets.toArrayList();
-
-    for (Object widgetObj : widgetsArrayList) {
-      HashMap<String, Object> widgetMap = (HashMap<String, Object>) widgetObj;
-      double pageIndex = (double) widgetMap.get("page");
-      String widgetTypeStr = widgetMap.get("type").toString();
-      WidgetType type = RnEnumConverter.stringToWidgetType(widgetTypeStr);
-
-      RnWidgetCodec cpdfWidget = prepareCodec(widgetsImpls.get(type));
-      if (cpdfWidget != null) {
-        ReadableMap readableMap = Arguments.makeNativeMap(widgetMap);
-        CPDFWidget widget = cpdfWidget.addWidget(document, readableMap);
+    SparseArray<List<ReadableMap>> itemsByPage = groupByPage(widgets);
+    for (int i = 0; i < itemsByPage.size(); i++) {
+      int pageIndex = itemsByPage.keyAt(i);
+      List<CPDFAnnotation> added = new ArrayList<>();
+      for (ReadableMap item : itemsByPage.valueAt(i)) {
+        WidgetType type = RnEnumConverter.stringToWidgetType(item.getString("type"));
+        RnWidgetCodec cpdfWidget = prepareCodec(widgetsImpls.get(type));
+        if (cpdfWidget == null) {
+          continue;
+        }
+        CPDFWidget widget = cpdfWidget.addWidget(document, item);
         if (widget != null && widget.isValid()) {
-          addToPageView(readerView, (int) pageIndex, widget);
+          annotationIndex.add(widget, pageIndex);
+          added.add(widget);
+          recordChange(RnAnnotationChangeLog.OP_CREATE, pageIndex, widget);
         }
       }
+      addToPageView(readerView, pageIndex, added);
     }
   }
 
   /**
-   * Returns the page annotations.
+   * Creates and indexes the annotation described by the item without touching any page view.
+   * Throws when the type is unsupported or the annotation could not be created.
    */
-  private List<CPDFAnnotation> getPageAnnotations(int pageIndex) {
+  public CPDFAnnotation insertAnnotation(ReadableMap item) {
     if (document == null) {
-      return new ArrayList<>();
+      throw new IllegalStateException("Document unavailable");
+    }
+    int pageIndex = item.getInt("page");
+    String typeName = item.getString("type");
+    RnAnnotationCodec rcpdfAnnotation = prepareCodec(
+      annotImpls.get(RnEnumConverter.stringToCPDFAnnotType(typeName)));
+    if (rcpdfAnnotation == null) {
+      throw new IllegalArgumentException("Unsupported annotation type: " + typeName);
+    }
+    CPDFAnnotation annotation = rcpdfAnnotation.addAnnotation(document, item);
+    if (annotation == null || !annotation.isValid()) {
+      throw new IllegalStateException("Unable to create annotation on page " + pageIndex);
+    }
+    annotationIndex.add(annotation, pageIndex);
+    recordChange(RnAnnotationChangeLog.OP_CREATE, pageIndex, annotation);
+    return annotation;
+  }
+
+  /**
+   * Adds annotations inserted with {@link #insertAnnotation(ReadableMap)} to the page views on
+   * screen, redrawing each page once. Must be called on the main thread.
+   */
+  public void addToPageViews(@Nullable CPDFReaderView readerView,
+    SparseArray<List<CPDFAnnotation>> annotationsByPage) {
+    for (int i = 0; i < annotationsByPage.size(); i++) {
+      addToPageView(readerView, annotationsByPage.keyAt(i), annotationsByPage.valueAt(i));
+    }
+  }
+
+  /**
+   * Groups the items of the bridge array by their {@code page}, keeping their order on each
+   * page.
+   */
+  private SparseArray<List<ReadableMap>> groupByPage(ReadableArray items) {
+    SparseArray<List<ReadableMap>> itemsByPage = new SparseArray<>();
+    for (int i = 0; i < items.size(); i++) {
+      ReadableMap item = items.getMap(i);
+      if (item == null) {
+        continue;
+      }
+      int pageIndex = item.getInt("page");
+      List<ReadableMap> pageItems = itemsByPage.get(pageIndex);
+      if (pageItems == null) {
+        pageItems = new ArrayList<>();
+        itemsByPage.put(pageIndex, pageItems);
+      }
+      pageItems.add(item);
+    }
+    return itemsByPage;
+  }
+
+  /**
+   * Returns up to {@code limit} annotation changes recorded after {@code sinceSeq}.
+   */
+  public WritableMap getAnnotationChangesSince(long sinceSeq, int limit) {
+    return changeLog.changesSince(sinceSeq, limit);
+  }
+
+  /**
+   * Records an annotation created in the viewer.
+   */
+  public void recordAnnotationCreated(int pageIndex, CPDFAnnotation annotation) {
+    if (annotation != null && annotation.isValid()) {
+      recordChange(RnAnnotationChangeLog.OP_CREATE, pageIndex, annotation);
+    }
+  }
+
+  /**
+   * Records an annotation removed outside the codec. The type must be read before removal.
+   */
+  public void recordAnnotationRemoved(int pageIndex, String uuid, String type) {
+    changeLog.record(RnAnnotationChangeLog.OP_DELETE, pageIndex, uuid, type, null);
+    trackAnnotationPage(pageIndex);
+  }
+
+  /**
+   * Discards the change history after changes that are not tracked per annotation.
+   */
+  public void recordAnnotationsReset() {
+    changeLog.reset();
+  }
+
+  /**
+   * Snapshots the page so that later viewer edits on it are found by
+   * {@link #reconcileAnnotationChanges(int)}.
+   */
+  public void trackAnnotationPage(int pageIndex) {
+    if (document != null && pageIndex >= 0 && !changeLog.isTracked(pageIndex)) {
+      changeLog.track(pageIndex, snapshotPage(pageIndex));
+    }
+  }
+
+  /**
+   * Records the edits made on every tracked page since it was last seen, for history changes
+   * whose page is unknown.
+   */
+  public void reconcileAnnotationChanges() {
+    for (int pageIndex : changeLog.trackedPages()) {
+      reconcileAnnotationChanges(pageIndex);
     }
-    CPDFPage page = document.pageAtIndex(pageIndex);
-    if (page == null || !page.isValid()) {
-      return new ArrayList<>();
+  }
+
+  /**
+   * Records the edits made on the page since it was last seen, e.g. after an undo history change
+   * that does not say which annotations it touched. Untracked pages are ignored.
+   */
+  public void reconcileAnnotationChanges(int pageIndex) {
+    if (document == null || pageIndex < 0 || pageIndex >= document.getPageCount()
+      || !changeLog.isTracked(pageIndex)) {
+      return;
     }
-    List<CPDFAnnotation> annotations = page.getAnnotations();
-    return annotations == null ? new ArrayList<>() : annotations;
+    changeLog.reconcile(pageIndex, snapshotPage(pageIndex));
+  }
+
+  /**
+   * Returns the type name recorded for the annotation.
+   */
+  public String getAnnotationTypeName(CPDFAnnotation annotation) {
+    if (annotation.getType() == Type.WIDGET) {
+      return RnAnnotationQuery.TYPE_WIDGET;
+    }
+    RnAnnotationCodec codec = resolveAnnotationCodec(annotation);
+    return codec instanceof RnBaseAnnotationCodec
+      ? ((RnBaseAnnotationCodec) codec).getTypeName(annotation)
+      : annotation.getType().name().toLowerCase();
+  }
+
+  /**
+   * Records a creation or update and makes sure its page is tracked afterwards.
+   */
+  private void recordChange(String op, int pageIndex, CPDFAnnotation annotation) {
+    changeLog.record(op, pageIndex, String.valueOf(annotation.getAnnotPtr()),
+      getAnnotationTypeName(annotation), signatureOf(annotation));
+    trackAnnotationPage(pageIndex);
+  }
+
+  /**
+   * Returns the current snapshot of every annotation on the page.
+   */
+  private Map<String, RnAnnotationChangeLog.Snapshot> snapshotPage(int pageIndex) {
+    Map<String, RnAnnotationChangeLog.Snapshot> snapshot = new HashMap<>();
+    for (CPDFAnnotation annotation : getPageAnnotations(pageIndex)) {
+      if (annotation != null && annotation.isValid()) {
+        snapshot.put(String.valueOf(annotation.getAnnotPtr()), new RnAnnotationChangeLog.Snapshot(
+          getAnnotationTypeName(annotation), signatureOf(annotation)));
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Returns the compared state of the annotation: modification date, rect, author, content and a
+   * hash of its encoded data, which covers style edits such as color, opacity, border or ink
+   * paths that leave the other fields unchanged.
+   */
+  private String signatureOf(CPDFAnnotation annotation) {
+    CPDFDate modifyDate = annotation.getRecentlyModifyDate();
+    RectF rect = annotation.getRect();
+    WritableMap data = annotation instanceof CPDFWidget
+      ? getWidgetData((CPDFWidget) annotation) : getAnnotationData(annotation);
+    return (modifyDate == null ? "" : CDateUtil.transformToTimestamp(modifyDate)) + "|"
+      + (rect == null ? "" : rect.toShortString()) + "|" + annotation.getTitle() + "|"
+      + annotation.getContent() + "|" + (data == null ? 0 : data.toHashMap().hashCode());
+  }
+
+  /**
+   * Returns the page annotations.
+   */
+  private List<CPDFAnnotation> getPageAnnotations(int pageIndex) {
+    return annotationIndex.annotations(document, pageIndex);
   }
 
   /**
@@ -865,21 +1206,28 @@ public class RnPageCodec {
     if (codec instanceof RnDocumentAware) {
       ((RnDocumentAware) codec).setDocument(document);
     }
+    if (codec instanceof RnGeometryAware) {
+      ((RnGeometryAware) codec).setGeometryEncoding(geometryEncoding);
+    }
     return codec;
   }
 
   /**
-   * Adds to page view.
+   * Adds the annotations to the page view when it is on screen and redraws it once.
    */
   private void addToPageView(@Nullable CPDFReaderView readerView, int pageIndex,
-    CPDFAnnotation annotation) {
-    if (readerView == null) {
+    List<CPDFAnnotation> annotations) {
+    if (readerView == null || annotations.isEmpty()) {
       return;
     }
     CPDFPageView pageView = (CPDFPageView) readerView.getChild(pageIndex);
-    if (pageView != null) {
+    if (pageView == null) {
+      return;
+    }
+    for (CPDFAnnotation annotation : annotations) {
       pageView.addAnnotation(annotation, false);
     }
+    pageView.invalidate();
   }
 
   /**
@@ -921,13 +1269,24 @@ public class RnPageCodec {
   }
 
   /**
-   * Converts the input value to base64 image.
+   * Puts the screenshot as the Base64 {@code image}, or as a cache file path when file output was
+   * requested and a document context is available.
    */
-  private String toBase64Image(Bitmap bitmap) {
-    ByteArrayOutputStream pngStream = new ByteArrayOutputStream();
-    bitmap.compress(Bitmap.CompressFormat.PNG, 100, pngStream);
-    byte[] pngByteArray = pngStream.toByteArray();
-    return android.util.Base64.encodeToString(pngByteArray, android.util.Base64.NO_WRAP);
+  private void putScreenshotImage(WritableMap result, Bitmap bitmap) {
+    if (RnImageOutput.OUTPUT_FILE.equals(contextMenuImageOutput) && document != null
+      && document.getContext() != null) {
+      try {
+        WritableMap file = RnImageOutput.writeToFile(document.getContext(), bitmap,
+          Bitmap.CompressFormat.PNG, 100, null);
+        result.putString("imagePath", file.getString("path"));
+        result.putInt("imageWidth", file.getInt("width"));
+        result.putInt("imageHeight", file.getInt("height"));
+        return;
+      } catch (IOException e) {
+        Log.e("RnPageCodec", "Error writing context menu image", e);
+      }
+    }
+    result.putString("image", RnImageOutput.toBase64(bitmap, Bitmap.CompressFormat.PNG, 100));
   }
 
   /**
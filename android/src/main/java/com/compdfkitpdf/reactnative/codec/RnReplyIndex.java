@@ -0,0 +1,195 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.codec;
+
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.annotation.CPDFAnnotation;
+import com.compdfkit.core.annotation.CPDFReplyAnnotation;
+import com.compdfkit.core.document.CPDFDocument;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Indexes the replies of a document by stable id and native pointer. The document is scanned
+ * once on first use; afterwards only pages reported as changed are rescanned.
+ */
+final class RnReplyIndex {
+
+  private final RnAnnotationIndex annotationIndex;
+  private final HashMap<String, ReplyRef> repliesById = new HashMap<>();
+  private final HashMap<Long, Integer> pageByParent = new HashMap<>();
+  private final BitSet stalePages = new BitSet();
+  private boolean built;
+
+  /**
+   * Creates a new RnReplyIndex instance.
+   */
+  RnReplyIndex(RnAnnotationIndex annotationIndex) {
+    this.annotationIndex = annotationIndex;
+  }
+
+  /**
+   * Returns the valid reply with the stable id or native pointer.
+   */
+  @Nullable
+  synchronized CPDFReplyAnnotation find(@Nullable CPDFDocument document, @Nullable String id) {
+    if (document == null || TextUtils.isEmpty(id)) {
+      return null;
+    }
+    refresh(document);
+    ReplyRef ref = repliesById.get(id);
+    if (ref == null) {
+      return null;
+    }
+    if (!ref.reply.isValid()) {
+      // Removed outside the bridge; rescan its page on next use.
+      stalePages.set(ref.pageIndex);
+      return null;
+    }
+    return ref.reply;
+  }
+
+  /**
+   * Returns the page of the parent annotation, or -1 when it has no indexed replies.
+   */
+  synchronized int pageOfParent(@Nullable CPDFDocument document, long parentPtr) {
+    if (document == null) {
+      return -1;
+    }
+    refresh(document);
+    Integer pageIndex = pageByParent.get(parentPtr);
+    return pageIndex == null ? -1 : pageIndex;
+  }
+
+  /**
+   * Records a reply created through the codec.
+   */
+  synchronized void add(CPDFReplyAnnotation reply, CPDFAnnotation parent, int pageIndex) {
+    if (built) {
+      put(reply, parent, pageIndex);
+    }
+  }
+
+  /**
+   * Forgets a reply removed through the codec.
+   */
+  synchronized void remove(CPDFReplyAnnotation reply, @Nullable String stableId) {
+    repliesById.remove(String.valueOf(reply.getAnnotPtr()));
+    if (!TextUtils.isEmpty(stableId)) {
+      repliesById.remove(stableId);
+    }
+  }
+
+  /**
+   * Marks the page for rescanning.
+   */
+  synchronized void invalidatePage(int pageIndex) {
+    if (pageIndex >= 0) {
+      stalePages.set(pageIndex);
+    }
+  }
+
+  /**
+   * Drops the whole index so the document is scanned again on next use.
+   */
+  synchronized void invalidateAll() {
+    built = false;
+    repliesById.clear();
+    pageByParent.clear();
+    stalePages.clear();
+  }
+
+  /**
+   * Builds the index on first use and rescans stale pages.
+   */
+  private void refresh(CPDFDocument document) {
+    if (!built) {
+      int pageCount = document.getPageCount();
+      for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+        scanPage(document, pageIndex);
+      }
+      built = true;
+      stalePages.clear();
+      return;
+    }
+    for (int pageIndex = stalePages.nextSetBit(0); pageIndex >= 0;
+      pageIndex = stalePages.nextSetBit(pageIndex + 1)) {
+      Iterator<Map.Entry<String, ReplyRef>> iterator = repliesById.entrySet().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().getValue().pageIndex == pageIndex) {
+          iterator.remove();
+        }
+      }
+      Iterator<Map.Entry<Long, Integer>> parents = pageByParent.entrySet().iterator();
+      while (parents.hasNext()) {
+        if (parents.next().getValue() == pageIndex) {
+          parents.remove();
+        }
+      }
+      if (pageIndex < document.getPageCount()) {
+        scanPage(document, pageIndex);
+      }
+    }
+    stalePages.clear();
+  }
+
+  /**
+   * Indexes the replies of every annotation on the page.
+   */
+  private void scanPage(CPDFDocument document, int pageIndex) {
+    for (CPDFAnnotation annotation : annotationIndex.annotations(document, pageIndex)) {
+      if (annotation == null || !annotation.isValid()) {
+        continue;
+      }
+      CPDFReplyAnnotation[] replies = annotation.getAllReplyAnnotations();
+      if (replies == null) {
+        continue;
+      }
+      for (CPDFReplyAnnotation reply : replies) {
+        if (reply != null && reply.isValid()) {
+          put(reply, annotation, pageIndex);
+        }
+      }
+    }
+  }
+
+  /**
+   * Indexes one reply under its native pointer and, when named, its stable id.
+   */
+  private void put(CPDFReplyAnnotation reply, CPDFAnnotation parent, int pageIndex) {
+    ReplyRef ref = new ReplyRef(reply, pageIndex);
+    repliesById.put(String.valueOf(reply.getAnnotPtr()), ref);
+    String stableId = reply.getName();
+    if (!TextUtils.isEmpty(stableId)) {
+      repliesById.put(stableId, ref);
+    }
+    pageByParent.put(parent.getAnnotPtr(), pageIndex);
+  }
+
+  /**
+   * Points at an indexed reply and its page.
+   */
+  private static final class ReplyRef {
+
+    final CPDFReplyAnnotation reply;
+    final int pageIndex;
+
+    /**
+     * Creates a new ReplyRef instance.
+     */
+    ReplyRef(CPDFReplyAnnotation reply, int pageIndex) {
+      this.reply = reply;
+      this.pageIndex = pageIndex;
+    }
+  }
+}
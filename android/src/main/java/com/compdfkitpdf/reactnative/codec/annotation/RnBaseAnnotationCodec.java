@@ -2,6 +2,7 @@ package com.compdfkitpdf.reactnative.codec.annotation;
 
 
 import android.graphics.RectF;
+import androidx.annotation.Nullable;
 import com.compdfkit.core.annotation.CPDFAnnotation;
 import com.compdfkit.core.common.CPDFDate;
 import com.compdfkit.core.document.CPDFDocument;
@@ -10,41 +11,80 @@ import com.compdfkitpdf.reactnative.util.RnAppUtils;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Maps base annotation annotation data between native objects and React Native maps.
  */
 public abstract class RnBaseAnnotationCodec implements RnAnnotationCodec{
 
+  /**
+   * Keys written for every annotation type before the type-specific properties.
+   */
+  public static final Set<String> BASE_FIELDS = Collections.unmodifiableSet(new HashSet<>(
+    Arrays.asList("type", "page", "title", "content", "uuid", "rect", "modifyDate",
+      "createDate")));
+
   /**
    * Returns the annotation.
    */
   @Override
   public WritableMap getAnnotation(CPDFAnnotation annotation) {
     WritableMap map = Arguments.createMap();
-    map.putString("type", annotation.getType().name().toLowerCase());
-    map.putInt("page", annotation.pdfPage.getPageNum());
-    map.putString("title", annotation.getTitle());
-    map.putString("content", annotation.getContent());
-    map.putString("uuid", annotation.getAnnotPtr()+"");
-    RectF rect = annotation.getRect();
-    WritableMap rectMap = Arguments.createMap();
-    rectMap.putDouble("left", RnAppUtils.roundTo2f(rect.left));
-    rectMap.putDouble("top", RnAppUtils.roundTo2f(rect.top));
-    rectMap.putDouble("right", RnAppUtils.roundTo2f(rect.right));
-    rectMap.putDouble("bottom", RnAppUtils.roundTo2f(rect.bottom));
-    map.putMap("rect", rectMap);
+    writeBaseFields(annotation, map, null);
+    covert(annotation, map);
+    return map;
+  }
+
+  /**
+   * Returns the type name reported to React Native.
+   */
+  public String getTypeName(CPDFAnnotation annotation) {
+    return annotation.getType().name().toLowerCase();
+  }
 
-    CPDFDate modifyDate = annotation.getRecentlyModifyDate();
-    CPDFDate createDate = annotation.getCreationDate();
+  /**
+   * Writes the requested base fields, or all of them when {@code fields} is null.
+   */
+  public void writeBaseFields(CPDFAnnotation annotation, WritableMap map,
+    @Nullable Set<String> fields) {
+    if (fields == null || fields.contains("type")) {
+      map.putString("type", getTypeName(annotation));
+    }
+    if (fields == null || fields.contains("page")) {
+      map.putInt("page", annotation.pdfPage.getPageNum());
+    }
+    if (fields == null || fields.contains("title")) {
+      map.putString("title", annotation.getTitle());
+    }
+    if (fields == null || fields.contains("content")) {
+      map.putString("content", annotation.getContent());
+    }
+    if (fields == null || fields.contains("uuid")) {
+      map.putString("uuid", annotation.getAnnotPtr()+"");
+    }
+    if (fields == null || fields.contains("rect")) {
+      RectF rect = annotation.getRect();
+      WritableMap rectMap = Arguments.createMap();
+      rectMap.putDouble("left", RnAppUtils.roundTo2f(rect.left));
+      rectMap.putDouble("top", RnAppUtils.roundTo2f(rect.top));
+      rectMap.putDouble("right", RnAppUtils.roundTo2f(rect.right));
+      rectMap.putDouble("bottom", RnAppUtils.roundTo2f(rect.bottom));
+      map.putMap("rect", rectMap);
+    }
+    CPDFDate modifyDate = fields == null || fields.contains("modifyDate")
+      ? annotation.getRecentlyModifyDate() : null;
+    CPDFDate createDate = fields == null || fields.contains("createDate")
+      ? annotation.getCreationDate() : null;
     if (modifyDate != null) {
       map.putDouble("modifyDate", CDateUtil.transformToTimestamp(modifyDate));
     }
     if (createDate != null) {
       map.putDouble("createDate", CDateUtil.transformToTimestamp(createDate));
     }
-    covert(annotation, map);
-    return map;
   }
 
   /**
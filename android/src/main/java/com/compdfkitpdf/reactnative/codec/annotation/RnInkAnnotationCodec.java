@@ -10,6 +10,8 @@ import com.compdfkit.core.annotation.CPDFInkAnnotation;
 import com.compdfkit.core.document.CPDFDocument;
 import com.compdfkit.core.page.CPDFPage;
 import com.compdfkit.core.utils.TTimeUtil;
+import com.compdfkitpdf.reactnative.codec.RnGeometryAware;
+import com.compdfkitpdf.reactnative.codec.RnGeometryPacker;
 import com.compdfkitpdf.reactnative.util.RnAppUtils;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReadableArray;
@@ -20,8 +22,17 @@ import com.facebook.react.bridge.WritableMap;
 /**
  * Maps ink annotation annotation data between native objects and React Native maps.
  */
-public class RnInkAnnotationCodec extends RnBaseAnnotationCodec{
+public class RnInkAnnotationCodec extends RnBaseAnnotationCodec implements RnGeometryAware {
 
+  private String geometryEncoding = RnGeometryPacker.ENCODING_NESTED;
+
+  /**
+   * Sets the geometry encoding written by the codec.
+   */
+  @Override
+  public void setGeometryEncoding(String encoding) {
+    this.geometryEncoding = encoding;
+  }
 
   /**
    * Writes native properties into the React Native map.
@@ -33,6 +44,11 @@ public class RnInkAnnotationCodec extends RnBaseAnnotationCodec{
     map.putInt("alpha", inkAnnotation.getAlpha());
     map.putDouble("borderWidth", inkAnnotation.getBorderWidth());
     PointF[][] pointfs = inkAnnotation.getInkPath();
+    String encoding = geometryEncoding;
+    if (RnGeometryPacker.isPacked(encoding)) {
+      putPackedInkPath(pointfs, map, encoding);
+      return;
+    }
     WritableArray inkPathArray = Arguments.createArray();
     if (pointfs != null) {
       for (PointF[] stroke : pointfs) {
@@ -49,6 +65,74 @@ public class RnInkAnnotationCodec extends RnBaseAnnotationCodec{
     map.putArray("inkPath", inkPathArray);
   }
 
+  /**
+   * Writes the strokes as {@code inkPoints} coordinates and {@code inkStrokeOffsets}.
+   */
+  private void putPackedInkPath(PointF[][] strokes, WritableMap map, String encoding) {
+    int strokeCount = strokes != null ? strokes.length : 0;
+    int pointCount = 0;
+    for (int i = 0; i < strokeCount; i++) {
+      pointCount += strokes[i] != null ? strokes[i].length : 0;
+    }
+    float[] coordinates = new float[pointCount * 2];
+    int[] offsets = new int[strokeCount];
+    int pointIndex = 0;
+    for (int i = 0; i < strokeCount; i++) {
+      offsets[i] = pointIndex;
+      if (strokes[i] == null) {
+        continue;
+      }
+      for (PointF point : strokes[i]) {
+        coordinates[pointIndex * 2] = point.x;
+        coordinates[pointIndex * 2 + 1] = point.y;
+        pointIndex++;
+      }
+    }
+    map.putString("geometryEncoding", encoding);
+    RnGeometryPacker.putCoordinates(map, "inkPoints", coordinates, encoding);
+    RnGeometryPacker.putStrokeOffsets(map, "inkStrokeOffsets", offsets);
+  }
+
+  /**
+   * Reads the nested {@code inkPath} stroke and point arrays into strokes.
+   */
+  private PointF[][] getNestedInkPath(ReadableArray inkPathArray) {
+    int lineCount = inkPathArray != null ? inkPathArray.size() : 0;
+    PointF[][] path = new PointF[lineCount][];
+    for (int lineIndex = 0; lineIndex < lineCount; lineIndex++) {
+      ReadableArray strokeArray = inkPathArray.getArray(lineIndex);
+      int pointCount = strokeArray != null ? strokeArray.size() : 0;
+      PointF[] linePath = new PointF[pointCount];
+      for (int pointIndex = 0; pointIndex < pointCount; pointIndex++) {
+        ReadableArray pointArray = strokeArray.getArray(pointIndex);
+        double x = (pointArray != null && pointArray.size() > 0) ? pointArray.getDouble(0) : 0d;
+        double y = (pointArray != null && pointArray.size() > 1) ? pointArray.getDouble(1) : 0d;
+        linePath[pointIndex] = new PointF((float) x, (float) y);
+      }
+      path[lineIndex] = linePath;
+    }
+    return path;
+  }
+
+  /**
+   * Reads packed {@code inkPoints} and {@code inkStrokeOffsets} into strokes.
+   */
+  private PointF[][] getPackedInkPath(float[] coordinates, int[] offsets) {
+    int pointCount = coordinates.length / 2;
+    PointF[][] path = new PointF[offsets.length][];
+    for (int lineIndex = 0; lineIndex < offsets.length; lineIndex++) {
+      int start = Math.min(offsets[lineIndex], pointCount);
+      int end = RnGeometryPacker.strokeEnd(offsets, lineIndex, pointCount);
+      PointF[] linePath = new PointF[end - start];
+      for (int pointIndex = start; pointIndex < end; pointIndex++) {
+        linePath[pointIndex - start] = new PointF(coordinates[pointIndex * 2],
+          coordinates[pointIndex * 2 + 1]);
+      }
+      path[lineIndex] = linePath;
+    }
+    return path;
+  }
+
 
 
   /**
@@ -89,6 +173,7 @@ public class RnInkAnnotationCodec extends RnBaseAnnotationCodec{
     double borderWidth =  annotMap.getDouble("borderWidth");
 
     ReadableArray inkPathArray = annotMap.hasKey("inkPath") ? annotMap.getArray("inkPath") : null;
+    float[] packedPoints = RnGeometryPacker.getCoordinates(annotMap, "inkPoints");
 
     CPDFPage page = document.pageAtIndex(pageIndex);
     CPDFInkAnnotation inkAnnotation = (CPDFInkAnnotation) page.addAnnot(
@@ -116,27 +201,19 @@ public class RnInkAnnotationCodec extends RnBaseAnnotationCodec{
         return inkAnnotation;
       }
 
-      int lineCount = inkPathArray != null ? inkPathArray.size() : 0;
-      PointF[][] path = new PointF[lineCount][];
+      PointF[][] path = packedPoints != null
+        ? getPackedInkPath(packedPoints,
+          RnGeometryPacker.getStrokeOffsets(annotMap, "inkStrokeOffsets"))
+        : getNestedInkPath(inkPathArray);
       RectF rect = null;
-      for (int lineIndex = 0; lineIndex < lineCount; lineIndex++) {
-        ReadableArray strokeArray = inkPathArray.getArray(lineIndex);
-        int pointCount = strokeArray != null ? strokeArray.size() : 0;
-        PointF[] linePath = new PointF[pointCount];
-        for (int pointIndex = 0; pointIndex < pointCount; pointIndex++) {
-          ReadableArray pointArray = strokeArray.getArray(pointIndex);
-          double x = (pointArray != null && pointArray.size() > 0) ? pointArray.getDouble(0) : 0d;
-          double y = (pointArray != null && pointArray.size() > 1) ? pointArray.getDouble(1) : 0d;
-          float fx = (float) x;
-          float fy = (float) y;
+      for (PointF[] linePath : path) {
+        for (PointF point : linePath) {
           if (rect == null) {
-            rect = new RectF(fx, fy, fx, fy);
+            rect = new RectF(point.x, point.y, point.x, point.y);
           } else {
-            rect.union(fx, fy);
+            rect.union(point.x, point.y);
           }
-          linePath[pointIndex] = new PointF(fx, fy);
         }
-        path[lineIndex] = linePath;
       }
       if (rect != null) {
         float scaleValue = 1F;
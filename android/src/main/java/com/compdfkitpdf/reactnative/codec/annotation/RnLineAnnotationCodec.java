@@ -12,6 +12,8 @@ import com.compdfkit.core.annotation.CPDFLineAnnotation.LineType;
 import com.compdfkit.core.document.CPDFDocument;
 import com.compdfkit.core.page.CPDFPage;
 import com.compdfkit.core.utils.TTimeUtil;
+import com.compdfkitpdf.reactnative.codec.RnGeometryAware;
+import com.compdfkitpdf.reactnative.codec.RnGeometryPacker;
 import com.compdfkitpdf.reactnative.util.RnAppUtils;
 import com.compdfkitpdf.reactnative.util.RnEnumConverter;
 import com.facebook.react.bridge.Arguments;
@@ -25,20 +27,36 @@ import java.util.List;
 /**
  * Maps line annotation annotation data between native objects and React Native maps.
  */
-public class RnLineAnnotationCodec extends RnBaseAnnotationCodec {
+public class RnLineAnnotationCodec extends RnBaseAnnotationCodec implements RnGeometryAware {
 
+  private String geometryEncoding = RnGeometryPacker.ENCODING_NESTED;
 
   /**
-   * Writes native properties into the React Native map.
+   * Sets the geometry encoding written by the codec.
    */
   @Override
-  public void covert(CPDFAnnotation annotation, WritableMap map) {
+  public void setGeometryEncoding(String encoding) {
+    this.geometryEncoding = encoding;
+  }
+
+  /**
+   * Returns the type name reported to React Native.
+   */
+  @Override
+  public String getTypeName(CPDFAnnotation annotation) {
     CPDFLineAnnotation lineAnnotation = (CPDFLineAnnotation) annotation;
     if (lineAnnotation.getLineHeadType() == LineType.LINETYPE_NONE && lineAnnotation.getLineTailType() == LineType.LINETYPE_NONE){
-      map.putString("type", "line");
-    }else {
-      map.putString("type", "arrow");
+      return "line";
     }
+    return "arrow";
+  }
+
+  /**
+   * Writes native properties into the React Native map.
+   */
+  @Override
+  public void covert(CPDFAnnotation annotation, WritableMap map) {
+    CPDFLineAnnotation lineAnnotation = (CPDFLineAnnotation) annotation;
     map.putString("borderColor", RnAppUtils.toHexColor(lineAnnotation.getBorderColor()));
     map.putInt("borderAlpha", lineAnnotation.getBorderAlpha());
     map.putString("fillColor", RnAppUtils.toHexColor(lineAnnotation.getFillColor()));
@@ -50,16 +68,28 @@ public class RnLineAnnotationCodec extends RnBaseAnnotationCodec {
       RnEnumConverter.lineTypeToString(lineAnnotation.getLineTailType()));
 
     PointF[] linePoints = lineAnnotation.getLinePoints();
-    WritableArray pointsArray = Arguments.createArray();
-    if (linePoints != null) {
-      for (PointF linePoint : linePoints) {
-        WritableArray pointArray = Arguments.createArray();
-        pointArray.pushDouble(linePoint.x);
-        pointArray.pushDouble(linePoint.y);
-        pointsArray.pushArray(pointArray);
+    String encoding = geometryEncoding;
+    if (RnGeometryPacker.isPacked(encoding)) {
+      int pointCount = linePoints != null ? linePoints.length : 0;
+      float[] coordinates = new float[pointCount * 2];
+      for (int i = 0; i < pointCount; i++) {
+        coordinates[i * 2] = linePoints[i].x;
+        coordinates[i * 2 + 1] = linePoints[i].y;
       }
+      map.putString("geometryEncoding", encoding);
+      RnGeometryPacker.putCoordinates(map, "linePoints", coordinates, encoding);
+    } else {
+      WritableArray pointsArray = Arguments.createArray();
+      if (linePoints != null) {
+        for (PointF linePoint : linePoints) {
+          WritableArray pointArray = Arguments.createArray();
+          pointArray.pushDouble(linePoint.x);
+          pointArray.pushDouble(linePoint.y);
+          pointsArray.pushArray(pointArray);
+        }
+      }
+      map.putArray("points", pointsArray);
     }
-    map.putArray("points", pointsArray);
 
     CPDFBorderStyle borderStyle = lineAnnotation.getBorderStyle();
     if (borderStyle != null) {
@@ -124,7 +154,13 @@ public class RnLineAnnotationCodec extends RnBaseAnnotationCodec {
     double borderWidth = annotMap.getDouble("borderWidth");
 
     List<PointF> pointList = new ArrayList<>();
-    if (annotMap.hasKey("points")) {
+    float[] packedPoints = RnGeometryPacker.getCoordinates(annotMap, "linePoints");
+    if (packedPoints != null) {
+      if (packedPoints.length == 4) {
+        pointList.add(new PointF(packedPoints[0], packedPoints[1]));
+        pointList.add(new PointF(packedPoints[2], packedPoints[3]));
+      }
+    } else if (annotMap.hasKey("points")) {
       ReadableArray pointsArray = annotMap.getArray("points");
       if (pointsArray != null && pointsArray.size() == 2) {
         for (int i = 0; i < 2; i++) {
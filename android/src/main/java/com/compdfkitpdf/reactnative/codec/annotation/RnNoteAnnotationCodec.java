@@ -18,13 +18,20 @@ import com.facebook.react.bridge.WritableMap;
 public class RnNoteAnnotationCodec extends RnBaseAnnotationCodec{
 
 
+  /**
+   * Returns the type name reported to React Native.
+   */
+  @Override
+  public String getTypeName(CPDFAnnotation annotation) {
+    return "note";
+  }
+
   /**
    * Writes native properties into the React Native map.
    */
   @Override
   public void covert(CPDFAnnotation annotation, WritableMap map) {
     CPDFTextAnnotation textAnnotation = (CPDFTextAnnotation) annotation;
-    map.putString("type", "note");
     map.putString("color", RnAppUtils.toHexColor(textAnnotation.getColor()));
     map.putDouble("alpha", textAnnotation.getAlpha());
   }
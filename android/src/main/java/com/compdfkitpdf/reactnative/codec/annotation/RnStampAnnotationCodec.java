@@ -24,26 +24,39 @@ import com.facebook.react.bridge.WritableMap;
 public class RnStampAnnotationCodec extends RnBaseAnnotationCodec{
 
 
+  /**
+   * Returns the type name reported to React Native.
+   */
+  @Override
+  public String getTypeName(CPDFAnnotation annotation) {
+    CPDFStampAnnotation stampAnnotation = (CPDFStampAnnotation) annotation;
+    if (stampAnnotation.isStampSignature()) {
+      return "signature";
+    }
+    switch (stampAnnotation.getStampType()) {
+      case IMAGE_STAMP:
+        return "pictures";
+      default:
+        return "stamp";
+    }
+  }
+
   /**
    * Writes native properties into the React Native map.
    */
   @Override
   public void covert(CPDFAnnotation annotation, WritableMap map) {
     CPDFStampAnnotation stampAnnotation = (CPDFStampAnnotation) annotation;
-    if (stampAnnotation.isStampSignature()) {
-      map.putString("type", "signature");
-    } else {
+    if (!stampAnnotation.isStampSignature()) {
       String stampTypeStr = RnEnumConverter.stampTypeToString(
         stampAnnotation.getStampType());
       switch (stampAnnotation.getStampType()) {
         case STANDARD_STAMP:
-          map.putString("type", "stamp");
           map.putString("stampType", stampTypeStr);
           String standardStampStr = RnEnumConverter.standardStampToString(stampAnnotation.getStandardStamp());
           map.putString("standardStamp", standardStampStr);
           break;
         case TEXT_STAMP:
-          map.putString("type", "stamp");
           map.putString("stampType", stampTypeStr);
           WritableMap textStampMap = Arguments.createMap();
           TextStamp textStamp = stampAnnotation.getTextStamp();
@@ -56,7 +69,6 @@ public class RnStampAnnotationCodec extends RnBaseAnnotationCodec{
           map.putMap("textStamp", textStampMap);
           break;
         case IMAGE_STAMP:
-          map.putString("type", "pictures");
           map.putString("stampType", stampTypeStr);
           break;
       }
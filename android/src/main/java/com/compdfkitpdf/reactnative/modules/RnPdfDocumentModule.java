@@ -0,0 +1,203 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES.
+ * This notice may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.modules;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.compdfkitpdf.reactnative.viewer.RnHeadlessDocumentManager;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+
+/**
+ * Exposes document operations that run on documents opened by handle, without a mounted
+ * CPDFReaderView.
+ */
+public class RnPdfDocumentModule extends ReactContextBaseJavaModule {
+
+  public static final String REACT_CLASS = "CPDFDocumentProcessor";
+
+  private final RnHeadlessDocumentManager documentManager;
+
+  /**
+   * Creates a new RnPdfDocumentModule instance.
+   */
+  public RnPdfDocumentModule(ReactApplicationContext reactApplicationContext,
+    RnHeadlessDocumentManager documentManager) {
+    super(reactApplicationContext);
+    this.documentManager = documentManager;
+  }
+
+  /**
+   * Returns the React Native name used to register this module.
+   */
+  @NonNull
+  @Override
+  public String getName() {
+    return REACT_CLASS;
+  }
+
+  /**
+   * Opens the document and resolves its handle.
+   */
+  @ReactMethod
+  public void openDocument(String filePath, @Nullable String password, Promise promise) {
+    documentManager.open(filePath, password, promise);
+  }
+
+  /**
+   * Closes the document of the handle once its queued work has finished.
+   */
+  @ReactMethod
+  public void closeDocument(String handle, Promise promise) {
+    promise.resolve(documentManager.close(handle));
+  }
+
+  /**
+   * Closes every open document.
+   */
+  @ReactMethod
+  public void closeAllDocuments(Promise promise) {
+    documentManager.closeAll();
+    promise.resolve(true);
+  }
+
+  /**
+   * Resolves the handles of the open documents, least recently used first.
+   */
+  @ReactMethod
+  public void getOpenDocuments(Promise promise) {
+    WritableArray handles = Arguments.createArray();
+    for (String handle : documentManager.getOpenHandles()) {
+      handles.pushString(handle);
+    }
+    promise.resolve(handles);
+  }
+
+  /**
+   * Sets how many documents may stay open at once.
+   */
+  @ReactMethod
+  public void setMaxOpenDocuments(int maxOpenDocuments, Promise promise) {
+    documentManager.setMaxOpenDocuments(maxOpenDocuments);
+    promise.resolve(true);
+  }
+
+  /**
+   * Returns the page count.
+   */
+  @ReactMethod
+  public void getPageCount(String handle, Promise promise) {
+    documentManager.getPageCount(handle, promise);
+  }
+
+  /**
+   * Flattens all pages and saves the document to the path.
+   */
+  @ReactMethod
+  public void flattenAllPages(String handle, String savePath, boolean fontSubset,
+    Promise promise) {
+    documentManager.flattenAllPages(handle, savePath, fontSubset, promise);
+  }
+
+  /**
+   * Saves a copy of the document with the selected pages flattened to the path.
+   */
+  @ReactMethod
+  public void flattenPages(String handle, @Nullable ReadableArray pagesArray, String savePath,
+    @Nullable ReadableMap options, Promise promise) {
+    documentManager.flattenPages(handle, toIntArray(pagesArray), savePath, options, promise);
+  }
+
+  /**
+   * Adds a text or image watermark.
+   */
+  @ReactMethod
+  public void createWatermark(String handle, ReadableMap info, Promise promise) {
+    documentManager.createWatermark(handle, info, promise);
+  }
+
+  /**
+   * Saves the document to the path.
+   */
+  @ReactMethod
+  public void saveAs(String handle, String savePath, boolean removeSecurity, boolean fontSubset,
+    Promise promise) {
+    documentManager.saveAs(handle, savePath, removeSecurity, fontSubset, promise);
+  }
+
+  /**
+   * Writes several {pages, save_path} jobs to separate files with bounded parallelism.
+   */
+  @ReactMethod
+  public void splitDocumentPages(String handle, ReadableArray jobs,
+    @Nullable ReadableMap options, Promise promise) {
+    documentManager.splitDocumentPages(handle, jobs, options, promise);
+  }
+
+  /**
+   * Handles image extraction.
+   */
+  @ReactMethod
+  public void extractImages(String handle, String directoryPath, ReadableArray pagesArray,
+    Promise promise) {
+    documentManager.extractImages(handle, directoryPath, toIntArray(pagesArray), promise);
+  }
+
+  /**
+   * Exports the annotations to an XFDF file.
+   */
+  @ReactMethod
+  public void exportAnnotations(String handle, Promise promise) {
+    documentManager.exportAnnotations(handle, promise);
+  }
+
+  /**
+   * Imports the annotations of an XFDF file.
+   */
+  @ReactMethod
+  public void importAnnotations(String handle, String xfdfFilePath, Promise promise) {
+    documentManager.importAnnotations(handle, xfdfFilePath, promise);
+  }
+
+  /**
+   * Exports the form fields to an XFDF file.
+   */
+  @ReactMethod
+  public void exportWidgets(String handle, Promise promise) {
+    documentManager.exportWidgets(handle, promise);
+  }
+
+  /**
+   * Handles invalidate.
+   */
+  @Override
+  public void invalidate() {
+    documentManager.closeAll();
+    super.invalidate();
+  }
+
+  /**
+   * Converts the input value to int array.
+   */
+  private int[] toIntArray(@Nullable ReadableArray array) {
+    int size = array == null ? 0 : array.size();
+    int[] values = new int[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = array.getInt(i);
+    }
+    return values;
+  }
+}
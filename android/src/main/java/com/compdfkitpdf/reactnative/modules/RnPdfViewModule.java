@@ -14,6 +14,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.compdfkit.tools.common.pdf.config.CPDFWatermarkConfig;
 import com.compdfkitpdf.reactnative.util.RnFileUtils;
+import com.compdfkitpdf.reactnative.viewer.RnPdfViewContext;
 import com.compdfkitpdf.reactnative.viewer.RnPdfViewManager;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
@@ -127,6 +128,87 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
     runOnUiThread(promise, errorCode, () -> promise.resolve(supplier.get()));
   }
 
+  /**
+   * Reads a value from the document context resolved when the read was queued.
+   */
+  @FunctionalInterface
+  private interface DocumentValueReader<T> {
+    /**
+     * Returns the read value.
+     */
+    T read(RnPdfViewContext context) throws Exception;
+  }
+
+  /**
+   * Resolves the promise with a value read on the document worker queue of the view, keeping
+   * document-only reads off the UI thread.
+   */
+  private <T> void resolveDocumentValue(int tag, Promise promise, DocumentValueReader<T> reader) {
+    resolveDocumentValue(tag, promise, null, reader);
+  }
+
+  /**
+   * Resolves the promise with a value read on the document worker queue of the view. The view is
+   * looked up on the calling thread and the worker only reads the resolved context.
+   */
+  private <T> void resolveDocumentValue(int tag, Promise promise, String errorCode,
+    DocumentValueReader<T> reader) {
+    try {
+      mPDFViewInstance.runOnDocumentThread(tag, context -> {
+        try {
+          promise.resolve(reader.read(context));
+        } catch (Exception e) {
+          rejectPromise(promise, errorCode, e);
+        }
+      });
+    } catch (Exception e) {
+      rejectPromise(promise, errorCode, e);
+    }
+  }
+
+  /**
+   * Runs a document change on the UI thread after the document work queued before it, keeping
+   * worker reads of the document from overlapping the change.
+   */
+  private void runDocumentWrite(int tag, Promise promise, String errorCode, UiRunnable action) {
+    try {
+      mPDFViewInstance.runDocumentWrite(tag, () -> {
+        try {
+          action.run();
+        } catch (Exception e) {
+          rejectPromise(promise, errorCode, e);
+        }
+      });
+    } catch (Exception e) {
+      rejectPromise(promise, errorCode, e);
+    }
+  }
+
+  /**
+   * Resolves the promise without a value after running a queued document change.
+   */
+  private void resolveDocumentWriteVoid(int tag, Promise promise, UiRunnable action) {
+    runDocumentWrite(tag, promise, null, () -> {
+      action.run();
+      promise.resolve(null);
+    });
+  }
+
+  /**
+   * Resolves the promise with the value of a queued document change.
+   */
+  private <T> void resolveDocumentWrite(int tag, Promise promise, UiValueSupplier<T> supplier) {
+    resolveDocumentWrite(tag, promise, null, supplier);
+  }
+
+  /**
+   * Resolves the promise with the value of a queued document change.
+   */
+  private <T> void resolveDocumentWrite(int tag, Promise promise, String errorCode,
+    UiValueSupplier<T> supplier) {
+    runDocumentWrite(tag, promise, errorCode, () -> promise.resolve(supplier.get()));
+  }
+
   /**
    * Resolves the promise when the supplied value is not empty.
    */
@@ -198,15 +280,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
   @ReactMethod
   public void save(final int tag, final Promise promise) {
     Log.d(TAG, "save(tag:" + tag + ")---->");
-    runOnUiThread(promise, "SAVE_FAIL", () -> {
-      mPDFViewInstance.save(tag, (s, uri) -> {
-        Log.d(TAG, "save()- save success");
-        promise.resolve(true);
-      }, e -> {
-        Log.d(TAG, "save()- save fail");
-        promise.reject("SAVE_FAIL", e);
-      });
-    });
+    runOnUiThread(promise, "SAVE_FAIL", () -> mPDFViewInstance.save(tag, promise));
   }
 
   /**
@@ -229,7 +303,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeAllAnnotations(int tag, final Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.removeAllAnnotations(tag));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.removeAllAnnotations(tag));
   }
 
   /**
@@ -237,7 +311,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void importAnnotations(int tag, String xfdfFile, final Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.importAnnotations(tag, xfdfFile));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.importAnnotations(tag, xfdfFile));
   }
 
   /**
@@ -558,7 +632,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void open(int tag, String filePath, String password,int pageIndex, Promise promise) {
-    runOnUiThread(promise, () -> mPDFViewInstance.open(tag, filePath, password, pageIndex, promise));
+    runDocumentWrite(tag, promise, null,
+      () -> mPDFViewInstance.open(tag, filePath, password, pageIndex, promise));
   }
 
   /**
@@ -614,7 +689,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getPageCount(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getPageCount(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getPageCount(context));
   }
 
   /**
@@ -622,7 +697,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void createWatermark(int tag, ReadableMap info, Promise promise) {
-    runOnUiThread(promise, "WATERMARK_FAIL",
+    runDocumentWrite(tag, promise, "WATERMARK_FAIL",
       () -> mPDFViewInstance.createWatermark(tag, info, promise));
   }
 
@@ -631,7 +706,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getWatermarkCount(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getWatermarkCount(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getWatermarkCount(context));
   }
 
   /**
@@ -650,8 +725,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getWatermarks(int tag, ReadableMap options, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getWatermarks(
-      tag,
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getWatermarks(context,
       options != null && options.hasKey("export_images") && options.getBoolean("export_images")));
   }
 
@@ -660,7 +734,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void updateWatermark(int tag, int index, ReadableMap info, Promise promise) {
-    runOnUiThread(promise, "WATERMARK_FAIL",
+    runDocumentWrite(tag, promise, "WATERMARK_FAIL",
       () -> mPDFViewInstance.updateWatermark(tag, index, info, promise));
   }
 
@@ -669,7 +743,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeWatermark(int tag, int index, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.removeWatermark(tag, index));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.removeWatermark(tag, index));
   }
 
   /**
@@ -677,7 +751,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeAllWatermarks(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.removeAllWatermarks(tag));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.removeAllWatermarks(tag));
   }
 
   /**
@@ -689,6 +763,40 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
       () -> mPDFViewInstance.saveAs(tag, savePath, removeSecurity, fontSubset, promise));
   }
 
+  /**
+   * Configures periodic checkpoints of the view's edits with the {enabled, debounce_ms,
+   * max_delay_ms, checkpoint_path} options.
+   */
+  @ReactMethod
+  public void setAutoSave(int tag, @Nullable ReadableMap options, Promise promise) {
+    resolveVoid(promise, "AUTO_SAVE_FAIL", () -> mPDFViewInstance.setAutoSave(tag, options));
+  }
+
+  /**
+   * Writes an auto-save checkpoint now when the view has unsaved edits.
+   */
+  @ReactMethod
+  public void flushAutoSave(int tag, Promise promise) {
+    resolveValue(promise, "AUTO_SAVE_FAIL", () -> mPDFViewInstance.flushAutoSave(tag));
+  }
+
+  /**
+   * Returns the auto-save state of the view.
+   */
+  @ReactMethod
+  public void getAutoSaveStatus(int tag, Promise promise) {
+    resolveValue(promise, "AUTO_SAVE_FAIL", () -> mPDFViewInstance.getAutoSaveStatus(tag));
+  }
+
+  /**
+   * Saves the document in place with the {mode, remove_security, font_subset} options.
+   */
+  @ReactMethod
+  public void saveDocument(int tag, @Nullable ReadableMap options, Promise promise) {
+    runOnUiThread(promise, "SAVE_FAIL",
+      () -> mPDFViewInstance.saveDocument(tag, options, promise));
+  }
+
   /**
    * Handles print document.
    */
@@ -702,7 +810,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removePassword(int tag, Promise promise) {
-    runOnUiThread(promise, () -> mPDFViewInstance.removePassword(tag, promise));
+    runDocumentWrite(tag, promise, null, () -> mPDFViewInstance.removePassword(tag, promise));
   }
 
   /**
@@ -734,7 +842,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void importWidgets(int tag, String xfdfFile, final Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.importWidgets(tag, xfdfFile));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.importWidgets(tag, xfdfFile));
   }
 
   /**
@@ -751,7 +859,19 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void flattenAllPages(int tag, String savePath, boolean fontSubset, Promise promise) {
-    runOnUiThread(promise, () -> mPDFViewInstance.flattenAllPages(tag, savePath, fontSubset, promise));
+    runDocumentWrite(tag, promise, null,
+      () -> mPDFViewInstance.flattenAllPages(tag, savePath, fontSubset, promise));
+  }
+
+  /**
+   * Saves a copy of the document with the selected pages flattened off the UI thread, using the
+   * {font_subset, chunk_size} options.
+   */
+  @ReactMethod
+  public void flattenPages(int tag, @Nullable ReadableArray pagesArray, String savePath,
+    @Nullable ReadableMap options, Promise promise) {
+    runOnUiThread(promise, "FLATTEN_FAIL", () -> mPDFViewInstance.flattenPages(tag,
+      toIntArray(pagesArray), savePath, options, promise));
   }
 
   /**
@@ -802,6 +922,26 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
     });
   }
 
+  /**
+   * Merges an ordered list of {file_path, password, pages} sources into the document.
+   */
+  @ReactMethod
+  public void mergeDocuments(int tag, ReadableArray sources, @Nullable ReadableMap options,
+    Promise promise) {
+    runOnUiThread(promise, "MERGE_DOCUMENTS_FAIL",
+      () -> mPDFViewInstance.mergeDocuments(tag, sources, options, promise));
+  }
+
+  /**
+   * Writes several {pages, save_path} jobs to separate files with bounded parallelism.
+   */
+  @ReactMethod
+  public void splitDocumentPagesBatch(int tag, ReadableArray jobs, @Nullable ReadableMap options,
+    Promise promise) {
+    runOnUiThread(promise, "SPLIT_DOCUMENT_FAIL",
+      () -> mPDFViewInstance.splitDocumentPages(tag, jobs, options, promise));
+  }
+
   /**
    * Handles image extraction.
    */
@@ -818,7 +958,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getAnnotations(int tag, int pageIndex, Promise promise){
-    resolveValue(promise, () -> mPDFViewInstance.getAnnotations(tag, pageIndex));
+    resolveDocumentValue(tag, promise,
+      context -> mPDFViewInstance.getAnnotations(context, pageIndex));
   }
 
   /**
@@ -826,7 +967,47 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getForms(int tag, int pageIndex, Promise promise){
-    resolveValue(promise, () -> mPDFViewInstance.getForms(tag, pageIndex));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getForms(context, pageIndex));
+  }
+
+  /**
+   * Queries annotations across the document with the {types, authors, created_after,
+   * created_before, modified_since, page_start, page_end, limit, cursor, fields} options.
+   */
+  @ReactMethod
+  public void queryAnnotations(int tag, @Nullable ReadableMap query, Promise promise) {
+    resolveDocumentValue(tag, promise, "QUERY_ANNOTATIONS_FAIL",
+      context -> mPDFViewInstance.queryAnnotations(context, query));
+  }
+
+  /**
+   * Sets how ink and line geometry is returned: "nested" point arrays, "flat" coordinate arrays
+   * with stroke offsets, or "base64" little-endian float buffers.
+   */
+  @ReactMethod
+  public void setGeometryEncoding(int tag, @Nullable String encoding, Promise promise) {
+    resolveVoid(promise, "SET_GEOMETRY_ENCODING_FAIL",
+      () -> mPDFViewInstance.setGeometryEncoding(tag, encoding));
+  }
+
+  /**
+   * Sets how the custom context-menu screenshot is sent: "base64" in the event's image key
+   * (default), or "file" with imagePath, imageWidth and imageHeight of a cache file.
+   */
+  @ReactMethod
+  public void setContextMenuImageOutput(int tag, @Nullable String outputType, Promise promise) {
+    resolveVoid(promise, "SET_CONTEXT_MENU_IMAGE_OUTPUT_FAIL",
+      () -> mPDFViewInstance.setContextMenuImageOutput(tag, outputType));
+  }
+
+  /**
+   * Resolves the annotation creations, updates and deletions recorded after the sequence number
+   * as {changes, latestSeq, hasMore, truncated}.
+   */
+  @ReactMethod
+  public void getAnnotationChangesSince(int tag, double sinceSeq, int limit, Promise promise) {
+    resolveDocumentValue(tag, promise, "GET_ANNOTATION_CHANGES_FAIL",
+      context -> mPDFViewInstance.getAnnotationChangesSince(context, (long) sinceSeq, limit));
   }
 
   /**
@@ -834,7 +1015,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void setTextWidgetText(int tag, int pageIndex, String uuid, String text, Promise promise){
-    resolveVoid(promise, () -> mPDFViewInstance.setTextWidgetText(tag, pageIndex, uuid, text));
+    resolveDocumentWriteVoid(tag, promise,
+      () -> mPDFViewInstance.setTextWidgetText(tag, pageIndex, uuid, text));
   }
 
   /**
@@ -842,7 +1024,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void updateAp(int tag, int pageIndex, String uuid, Promise promise){
-    resolveVoid(promise, () -> mPDFViewInstance.updateAp(tag, pageIndex, uuid));
+    resolveDocumentWriteVoid(tag, promise, () -> mPDFViewInstance.updateAp(tag, pageIndex, uuid));
   }
 
   /**
@@ -850,7 +1032,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void setWidgetIsChecked(int tag, int pageIndex, String uuid, boolean isChecked, Promise promise){
-    resolveVoid(promise,
+    resolveDocumentWriteVoid(tag, promise,
       () -> mPDFViewInstance.setWidgetIsChecked(tag, pageIndex, uuid, isChecked));
   }
 
@@ -859,7 +1041,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void addWidgetImageSignature(int tag, int pageIndex, String uuid, String imagePath, Promise promise){
-    resolveValue(promise, "ADD_WIDGET_IMAGE_SIGNATURE_FAIL",
+    resolveDocumentWrite(tag, promise, "ADD_WIDGET_IMAGE_SIGNATURE_FAIL",
       () -> mPDFViewInstance.addWidgetImageSignature(tag, pageIndex, uuid, imagePath));
   }
 
@@ -868,7 +1050,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeAnnotation(int tag, int pageIndex, String uuid, Promise promise) {
-    resolveValue(promise, "REMOVE_ANNOTATION_FAIL",
+    resolveDocumentWrite(tag, promise, "REMOVE_ANNOTATION_FAIL",
       () -> mPDFViewInstance.removeAnnotation(tag, pageIndex, uuid));
   }
 
@@ -878,7 +1060,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
   @ReactMethod
   public void addAnnotationReply(int tag, int pageIndex, String uuid, String content,
     String title, Promise promise) {
-    resolveValue(promise, "ANNOTATION_REPLY_FAIL",
+    resolveDocumentWrite(tag, promise, "ANNOTATION_REPLY_FAIL",
       () -> mPDFViewInstance.addAnnotationReply(tag, pageIndex, uuid, content, title));
   }
 
@@ -897,7 +1079,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
   @ReactMethod
   public void updateAnnotationReply(int tag, int pageIndex, String uuid, String content,
     String title, @Nullable ReadableMap identity, Promise promise) {
-    resolveValue(promise, "ANNOTATION_REPLY_FAIL",
+    resolveDocumentWrite(tag, promise, "ANNOTATION_REPLY_FAIL",
       () -> mPDFViewInstance.updateAnnotationReply(tag, pageIndex, uuid,
         identityString(identity, "native_id"), identityString(identity, "reply_key"),
         identityString(identity, "parent_uuid"), content, title));
@@ -910,7 +1092,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
   public void removeAnnotationReply(int tag, int pageIndex, String uuid,
     @Nullable ReadableMap identity,
     Promise promise) {
-    resolveValue(promise, "ANNOTATION_REPLY_FAIL",
+    resolveDocumentWrite(tag, promise, "ANNOTATION_REPLY_FAIL",
       () -> mPDFViewInstance.removeAnnotationReply(tag, pageIndex, uuid,
         identityString(identity, "native_id"), identityString(identity, "reply_key"),
         identityString(identity, "parent_uuid")));
@@ -921,7 +1103,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeAllAnnotationReplies(int tag, int pageIndex, String uuid, Promise promise) {
-    resolveValue(promise, "ANNOTATION_REPLY_FAIL",
+    resolveDocumentWrite(tag, promise, "ANNOTATION_REPLY_FAIL",
       () -> mPDFViewInstance.removeAllAnnotationReplies(tag, pageIndex, uuid));
   }
 
@@ -931,7 +1113,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
   @ReactMethod
   public void setAnnotationMarkState(int tag, int pageIndex, String uuid, String state,
     @Nullable ReadableMap identity, Promise promise) {
-    resolveValue(promise, "ANNOTATION_REPLY_FAIL",
+    resolveDocumentWrite(tag, promise, "ANNOTATION_REPLY_FAIL",
       () -> mPDFViewInstance.setAnnotationMarkState(tag, pageIndex, uuid,
         identityString(identity, "native_id"), identityString(identity, "reply_key"),
         identityString(identity, "parent_uuid"), state));
@@ -956,7 +1138,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
   @ReactMethod
   public void setAnnotationReviewState(int tag, int pageIndex, String uuid, String state,
     @Nullable ReadableMap identity, Promise promise) {
-    resolveValue(promise, "ANNOTATION_REPLY_FAIL",
+    resolveDocumentWrite(tag, promise, "ANNOTATION_REPLY_FAIL",
       () -> mPDFViewInstance.setAnnotationReviewState(tag, pageIndex, uuid,
         identityString(identity, "native_id"), identityString(identity, "reply_key"),
         identityString(identity, "parent_uuid"), state));
@@ -980,7 +1162,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeWidget(int tag, int pageIndex, String uuid, Promise promise){
-    resolveValue(promise, "REMOVE_WIDGET_FAIL",
+    resolveDocumentWrite(tag, promise, "REMOVE_WIDGET_FAIL",
       () -> mPDFViewInstance.removeWidget(tag, pageIndex, uuid));
   }
 
@@ -989,7 +1171,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void insertBlankPage(int tag, int pageIndex, int width, int height, Promise promise){
-    resolveValue(promise, "INSERT_BLANK_PAGE_FAIL",
+    resolveDocumentWrite(tag, promise, "INSERT_BLANK_PAGE_FAIL",
       () -> mPDFViewInstance.insertBlankPage(tag, pageIndex, width, height));
   }
 
@@ -1030,7 +1212,10 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void annotationUndo(int tag, Promise promise) {
-    resolveVoid(promise, "ANNOTATION_UNDO_FAIL", () -> mPDFViewInstance.annotationUndo(tag));
+    runDocumentWrite(tag, promise, "ANNOTATION_UNDO_FAIL", () -> {
+      mPDFViewInstance.annotationUndo(tag);
+      promise.resolve(null);
+    });
   }
 
   /**
@@ -1038,7 +1223,10 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void annotationRedo(int tag, Promise promise) {
-    resolveVoid(promise, "ANNOTATION_REDO_FAIL", () -> mPDFViewInstance.annotationRedo(tag));
+    runDocumentWrite(tag, promise, "ANNOTATION_REDO_FAIL", () -> {
+      mPDFViewInstance.annotationRedo(tag);
+      promise.resolve(null);
+    });
   }
 
   /**
@@ -1046,7 +1234,52 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void searchText(int tag, String keywords, int searchOptions, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.searchText(tag, keywords, searchOptions));
+    runOnUiThread(promise, "SEARCH_TEXT_FAIL",
+      () -> mPDFViewInstance.searchText(tag, keywords, searchOptions, promise));
+  }
+
+  /**
+   * Starts a streamed search that reports results through onSearchResults and onSearchComplete.
+   */
+  @ReactMethod
+  public void startSearch(int tag, String keywords, int searchOptions, ReadableMap options,
+    Promise promise) {
+    resolveValue(promise, "SEARCH_TEXT_FAIL",
+      () -> mPDFViewInstance.startSearch(tag, keywords, searchOptions, options));
+  }
+
+  /**
+   * Builds or refreshes the full-text index used to narrow searches.
+   */
+  @ReactMethod
+  public void buildTextIndex(int tag, Promise promise) {
+    runOnUiThread(promise, "BUILD_TEXT_INDEX_FAIL",
+      () -> mPDFViewInstance.buildTextIndex(tag, promise));
+  }
+
+  /**
+   * Returns the full-text index status.
+   */
+  @ReactMethod
+  public void getTextIndexStatus(int tag, Promise promise) {
+    runOnUiThread(promise, "GET_TEXT_INDEX_STATUS_FAIL",
+      () -> mPDFViewInstance.getTextIndexStatus(tag, promise));
+  }
+
+  /**
+   * Drops the full-text index.
+   */
+  @ReactMethod
+  public void dropTextIndex(int tag, Promise promise) {
+    resolveValue(promise, "DROP_TEXT_INDEX_FAIL", () -> mPDFViewInstance.dropTextIndex(tag));
+  }
+
+  /**
+   * Cancels the running search.
+   */
+  @ReactMethod
+  public void cancelSearch(int tag, Promise promise) {
+    resolveVoid(promise, () -> mPDFViewInstance.cancelSearch(tag));
   }
 
   /**
@@ -1082,8 +1315,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getPageText(int tag, int pageIndex, Promise promise) {
-    resolveValue(promise, "GET_PAGE_TEXT_FAIL",
-      () -> mPDFViewInstance.getPageText(tag, pageIndex));
+    resolveDocumentValue(tag, promise, "GET_PAGE_TEXT_FAIL",
+      context -> mPDFViewInstance.getPageText(context, pageIndex));
   }
 
   /**
@@ -1104,6 +1337,15 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
       () -> mPDFViewInstance.getPageTextLines(tag, pageIndex));
   }
 
+  /**
+   * Extracts the text of a page list or range, optionally streaming it to a file.
+   */
+  @ReactMethod
+  public void extractPagesText(int tag, ReadableMap options, Promise promise) {
+    runOnUiThread(promise, "EXTRACT_PAGES_TEXT_FAIL",
+      () -> mPDFViewInstance.extractPagesText(tag, options, promise));
+  }
+
   /**
    * Returns the page size.
    */
@@ -1123,6 +1365,45 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
         drawForm, pageCompression, promise));
   }
 
+  /**
+   * Renders page to a file.
+   */
+  @ReactMethod
+  public void renderPageToFile(int tag, int pageIndex, int width, int height,
+    String backgroundColor, boolean drawAnnot, boolean drawForm, ReadableMap options,
+    Promise promise) {
+    runOnUiThread(promise,
+      () -> mPDFViewInstance.renderPageToFile(tag, pageIndex, width, height, backgroundColor,
+        drawAnnot, drawForm, options, promise));
+  }
+
+  /**
+   * Queues a thumbnail batch reported through onThumbnailRendered and onThumbnailBatchComplete.
+   */
+  @ReactMethod
+  public void renderThumbnails(int tag, ReadableMap options, Promise promise) {
+    runOnUiThread(promise, "RENDER_THUMBNAILS_FAIL",
+      () -> mPDFViewInstance.renderThumbnails(tag, options, promise));
+  }
+
+  /**
+   * Re-prioritizes the running thumbnail batch around the visible pages.
+   */
+  @ReactMethod
+  public void updateThumbnailViewport(int tag, ReadableArray visiblePages, int keepDistance,
+    Promise promise) {
+    resolveVoid(promise,
+      () -> mPDFViewInstance.updateThumbnailViewport(tag, visiblePages, keepDistance));
+  }
+
+  /**
+   * Cancels the running thumbnail batch.
+   */
+  @ReactMethod
+  public void cancelThumbnails(int tag, Promise promise) {
+    resolveValue(promise, "RENDER_THUMBNAILS_FAIL", () -> mPDFViewInstance.cancelThumbnails(tag));
+  }
+
   /**
    * Renders annotation appearance.
    */
@@ -1168,7 +1449,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void editorUndo(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.editorUndo(tag));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.editorUndo(tag));
   }
 
   /**
@@ -1176,7 +1457,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void editorRedo(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.editorRedo(tag));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.editorRedo(tag));
   }
 
   /**
@@ -1256,7 +1537,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void setPageRotation(int tag, int pageIndex, int rotation, Promise promise){
-    runOnUiThread(promise, () -> mPDFViewInstance.setPageRotation(tag, pageIndex, rotation, promise));
+    runDocumentWrite(tag, promise, null,
+      () -> mPDFViewInstance.setPageRotation(tag, pageIndex, rotation, promise));
   }
 
   /**
@@ -1264,7 +1546,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getPageRotation(int tag, int pageIndex, Promise promise){
-    resolveValue(promise, () -> mPDFViewInstance.getPageRotation(tag, pageIndex));
+    resolveDocumentValue(tag, promise,
+      context -> mPDFViewInstance.getPageRotation(context, pageIndex));
   }
 
   /**
@@ -1288,7 +1571,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void insertImagePage(int tag, int pageIndex, String imagePath, float width, float height, Promise promise){
-    runOnUiThread(promise, "INSERT_PAGE_FAIL", () -> {
+    runDocumentWrite(tag, promise, "INSERT_PAGE_FAIL", () -> {
       int pageCount = mPDFViewInstance.getPageCount(tag);
       if (pageIndex < 0 || pageIndex > pageCount){
         rejectPromise(promise, "INSERT_PAGE_FAIL", "Insert page index out of range.");
@@ -1308,7 +1591,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removePages(int tag, ReadableArray pageIndices, Promise promise){
-    resolveValue(promise, "REMOVE_PAGES_FAIL",
+    resolveDocumentWrite(tag, promise, "REMOVE_PAGES_FAIL",
       () -> mPDFViewInstance.removePages(tag, toIntArray(pageIndices)));
   }
 
@@ -1317,7 +1600,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void copyPage(int tag, int pageIndex, int insertIndex, Promise promise) {
-    resolveValue(promise, "COPY_PAGE_FAIL",
+    resolveDocumentWrite(tag, promise, "COPY_PAGE_FAIL",
       () -> mPDFViewInstance.copyPage(tag, pageIndex, insertIndex));
   }
 
@@ -1326,7 +1609,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void movePage(int tag, int fromIndex, int toIndex, Promise promise) {
-    resolveValue(promise, "MOVE_PAGE_FAIL",
+    resolveDocumentWrite(tag, promise, "MOVE_PAGE_FAIL",
       () -> mPDFViewInstance.movePage(tag, fromIndex, toIndex));
   }
 
@@ -1335,7 +1618,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getInfo(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getInfo(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getInfo(context));
   }
 
   /**
@@ -1343,7 +1626,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getMajorVersion(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getMajorVersion(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getMajorVersion(context));
   }
 
   /**
@@ -1351,7 +1634,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getMinorVersion(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getMinorVersion(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getMinorVersion(context));
   }
 
   /**
@@ -1359,7 +1642,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getPermissionsInfo(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getPermissionInfo(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getPermissionInfo(context));
   }
 
   /**
@@ -1367,7 +1650,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getOutlineRoot(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getOutlineRoot(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getOutlineRoot(context));
   }
 
   /**
@@ -1375,8 +1658,14 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void newOutlineRoot(int tag, Promise promise) {
-    resolveRequiredValue(promise, "NEW_OUTLINE_ROOT_FAIL",
-      () -> mPDFViewInstance.newOutlineRoot(tag), "Create outline root failed.");
+    runDocumentWrite(tag, promise, "NEW_OUTLINE_ROOT_FAIL", () -> {
+      WritableMap root = mPDFViewInstance.newOutlineRoot(tag);
+      if (root == null) {
+        rejectPromise(promise, "NEW_OUTLINE_ROOT_FAIL", "Create outline root failed.");
+        return;
+      }
+      promise.resolve(root);
+    });
   }
 
   /**
@@ -1384,7 +1673,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void addOutline(int tag, String parentUuid, String title, int insertIndex, int pageIndex, Promise promise) {
-    resolveValue(promise,
+    resolveDocumentWrite(tag, promise,
       () -> mPDFViewInstance.addOutline(tag, parentUuid, title, insertIndex, pageIndex));
   }
 
@@ -1393,7 +1682,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeOutline(int tag, String uuid, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.removeOutline(tag, uuid));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.removeOutline(tag, uuid));
   }
 
   /**
@@ -1401,7 +1690,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void updateOutline(int tag, String outlineId, String title, int pageIndex, Promise promise) {
-    resolveValue(promise,
+    resolveDocumentWrite(tag, promise,
       () -> mPDFViewInstance.updateOutline(tag, outlineId, title, pageIndex));
   }
 
@@ -1410,7 +1699,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void moveOutline(int tag, String outlineId, String newParentId, int newIndex, Promise promise) {
-    resolveValue(promise,
+    resolveDocumentWrite(tag, promise,
       () -> mPDFViewInstance.moveOutline(tag, outlineId, newParentId, newIndex));
   }
 
@@ -1419,7 +1708,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void getBookmarks(int tag, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.getBookmarks(tag));
+    resolveDocumentValue(tag, promise, context -> mPDFViewInstance.getBookmarks(context));
   }
 
   /**
@@ -1427,7 +1716,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeBookmark(int tag, int pageIndex, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.removeBookmark(tag, pageIndex));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.removeBookmark(tag, pageIndex));
   }
 
   /**
@@ -1435,7 +1724,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void hasBookmark(int tag, int pageIndex, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.hasBookmark(tag, pageIndex));
+    resolveDocumentValue(tag, promise,
+      context -> mPDFViewInstance.hasBookmark(context, pageIndex));
   }
 
   /**
@@ -1443,7 +1733,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void addBookmark(int tag, String title, int pageIndex, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.addBookmark(tag, title, pageIndex));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.addBookmark(tag, title, pageIndex));
   }
 
   /**
@@ -1451,7 +1741,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void updateBookmark(int tag, String uuid, String title, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.updateBookmark(tag, uuid, title));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.updateBookmark(tag, uuid, title));
   }
 
   /**
@@ -1554,7 +1844,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void updateAnnotation(int tag, ReadableMap annotMap, Promise promise) {
-    runOnUiThread(promise, () -> mPDFViewInstance.updateAnnotation(tag, annotMap, promise));
+    runDocumentWrite(tag, promise, null,
+      () -> mPDFViewInstance.updateAnnotation(tag, annotMap, promise));
   }
 
   /**
@@ -1562,7 +1853,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void updateWidget(int tag, ReadableMap widgetMap, Promise promise) {
-    runOnUiThread(promise, () -> mPDFViewInstance.updateWidget(tag, widgetMap, promise));
+    runDocumentWrite(tag, promise, null,
+      () -> mPDFViewInstance.updateWidget(tag, widgetMap, promise));
   }
 
   /**
@@ -1570,7 +1862,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void removeEditArea(int tag, int page, String uuid,String type,  Promise promise) {
-    resolveVoid(promise, () -> mPDFViewInstance.removeEditArea(tag, page, uuid, type));
+    resolveDocumentWriteVoid(tag, promise,
+      () -> mPDFViewInstance.removeEditArea(tag, page, uuid, type));
   }
 
   /**
@@ -1578,7 +1871,7 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void createNewTextArea(int tag, ReadableMap areaMap, Promise promise) {
-    resolveValue(promise, () -> mPDFViewInstance.createNewTextArea(tag, areaMap));
+    resolveDocumentWrite(tag, promise, () -> mPDFViewInstance.createNewTextArea(tag, areaMap));
   }
 
   /**
@@ -1594,7 +1887,8 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void addAnnotations(int tag, ReadableArray annotsArray, Promise promise) {
-    resolveVoid(promise, () -> mPDFViewInstance.addAnnotations(tag, annotsArray));
+    resolveDocumentWriteVoid(tag, promise,
+      () -> mPDFViewInstance.addAnnotations(tag, annotsArray));
   }
 
   /**
@@ -1602,7 +1896,47 @@ public class RnPdfViewModule extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void addWidgets(int tag, ReadableArray widgetsArray, Promise promise) {
-    resolveVoid(promise, () -> mPDFViewInstance.addWidgets(tag, widgetsArray));
+    resolveDocumentWriteVoid(tag, promise,
+      () -> mPDFViewInstance.addWidgets(tag, widgetsArray));
+  }
+
+  /**
+   * Imports the annotations in chunks of {@code chunk_size} without blocking the viewer and
+   * resolves {jobId, cancelled, total, succeeded, failed, durationMs, results}, where each result
+   * carries the created uuid or an error.
+   */
+  @ReactMethod
+  public void importAnnotationsInChunks(int tag, ReadableArray annotsArray,
+    @Nullable ReadableMap options, Promise promise) {
+    runOnUiThread(promise, "IMPORT_ANNOTATIONS_FAIL",
+      () -> mPDFViewInstance.importAnnotationsInChunks(tag, annotsArray, options, promise));
+  }
+
+  /**
+   * Cancels the running chunked annotation import after its current chunk.
+   */
+  @ReactMethod
+  public void cancelAnnotationImport(int tag, Promise promise) {
+    resolveValue(promise, "IMPORT_ANNOTATIONS_FAIL",
+      () -> mPDFViewInstance.cancelAnnotationImport(tag));
+  }
+
+  /**
+   * Returns the queue depth and wait time metrics of the document's background queue.
+   */
+  @ReactMethod
+  public void getDocumentQueueMetrics(int tag, Promise promise) {
+    resolveValue(promise, () -> mPDFViewInstance.getDocumentQueueMetrics(tag));
+  }
+
+  /**
+   * Executes a batch of {op, args} commands in one UI-thread pass and resolves their results.
+   */
+  @ReactMethod
+  public void executeBatch(int tag, ReadableArray commands, @Nullable ReadableMap options,
+    Promise promise) {
+    resolveDocumentWrite(tag, promise, "EXECUTE_BATCH_FAIL",
+      () -> mPDFViewInstance.executeBatch(tag, commands, options));
   }
 
 }
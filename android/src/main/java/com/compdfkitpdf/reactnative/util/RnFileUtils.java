@@ -16,6 +16,9 @@ import android.net.Uri;
 import android.util.Log;
 import androidx.annotation.Nullable;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 
 /**
@@ -142,5 +145,27 @@ public class RnFileUtils {
         }
     }
 
+    /**
+     * Opens an output stream for a file path, file URI or content URI, creating parent folders.
+     */
+    public static OutputStream openOutputStream(Context context, String pathOrUri)
+        throws IOException {
+        if (RnDocumentSourceResolver.isContentSource(pathOrUri)) {
+            OutputStream outputStream = context.getContentResolver()
+                .openOutputStream(Uri.parse(pathOrUri));
+            if (outputStream == null) {
+                throw new IOException("Unable to open output uri: " + pathOrUri);
+            }
+            return outputStream;
+        }
+        File file = new File(RnDocumentSourceResolver.isFileSource(pathOrUri)
+            ? Uri.parse(pathOrUri).getPath() : pathOrUri);
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory: " + parent);
+        }
+        return new FileOutputStream(file);
+    }
+
 
 }
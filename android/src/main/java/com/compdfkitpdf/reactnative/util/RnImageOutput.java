@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ *
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES.
+ * This notice may not be removed from this file.
+ *
+ */
+
+package com.compdfkitpdf.reactnative.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.text.TextUtils;
+import android.util.Base64;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Encodes rendered bitmaps either to Base64 strings or straight to files and content URIs.
+ */
+public final class RnImageOutput {
+
+  public static final String OUTPUT_BASE64 = "base64";
+
+  public static final String OUTPUT_FILE = "file";
+
+  private static final String CACHE_FOLDER = "compdfkit-render";
+
+  static final int MAX_CACHE_FILES = 64;
+
+  static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+
+  private RnImageOutput() {
+  }
+
+  /**
+   * Returns the supported output type, {@code "base64"} when absent.
+   */
+  public static String normalizeOutputType(@Nullable String outputType) {
+    if (TextUtils.isEmpty(outputType) || OUTPUT_BASE64.equals(outputType)) {
+      return OUTPUT_BASE64;
+    }
+    if (OUTPUT_FILE.equals(outputType)) {
+      return OUTPUT_FILE;
+    }
+    throw new IllegalArgumentException("Unsupported output type: " + outputType);
+  }
+
+  /**
+   * Returns the compress format for the compression name, defaulting to PNG.
+   */
+  public static Bitmap.CompressFormat toCompressFormat(@Nullable String compression) {
+    return "jpeg".equals(compression) || "jpg".equals(compression)
+      ? Bitmap.CompressFormat.JPEG
+      : Bitmap.CompressFormat.PNG;
+  }
+
+  /**
+   * Encodes the bitmap as a Base64 string without line wraps.
+   */
+  public static String toBase64(Bitmap bitmap, Bitmap.CompressFormat format, int quality) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    bitmap.compress(format, quality, outputStream);
+    return Base64.encodeToString(outputStream.toByteArray(), Base64.NO_WRAP);
+  }
+
+  /**
+   * Streams the encoded bitmap to the output path, or to a new cache file when none is given,
+   * and returns its path, size and dimensions.
+   */
+  public static WritableMap writeToFile(Context context, Bitmap bitmap,
+    Bitmap.CompressFormat format, int quality, @Nullable String outputPath) throws IOException {
+    String path = TextUtils.isEmpty(outputPath) ? newCacheFile(context, format).getAbsolutePath()
+      : outputPath;
+    long size;
+    try (CountingOutputStream outputStream = new CountingOutputStream(
+      new BufferedOutputStream(RnFileUtils.openOutputStream(context, path)))) {
+      if (!bitmap.compress(format, quality, outputStream)) {
+        throw new IOException("Unable to encode image to: " + path);
+      }
+      outputStream.flush();
+      size = outputStream.count;
+    }
+    WritableMap result = Arguments.createMap();
+    result.putString("path", path);
+    result.putDouble("size", size);
+    result.putInt("width", bitmap.getWidth());
+    result.putInt("height", bitmap.getHeight());
+    return result;
+  }
+
+  /**
+   * Writes already encoded image bytes to the output path, or to a new cache file when none is
+   * given, and returns its path, size and dimensions.
+   */
+  public static WritableMap writeToFile(Context context, byte[] data,
+    Bitmap.CompressFormat format, int width, int height, @Nullable String outputPath)
+    throws IOException {
+    String path = TextUtils.isEmpty(outputPath) ? newCacheFile(context, format).getAbsolutePath()
+      : outputPath;
+    try (OutputStream outputStream = RnFileUtils.openOutputStream(context, path)) {
+      outputStream.write(data);
+    }
+    WritableMap result = Arguments.createMap();
+    result.putString("path", path);
+    result.putDouble("size", data.length);
+    result.putInt("width", width);
+    result.putInt("height", height);
+    return result;
+  }
+
+  /**
+   * Returns a unique file in the render cache folder, first deleting the oldest cached images
+   * when the folder holds more than {@link #MAX_CACHE_FILES} files or {@link #MAX_CACHE_BYTES}.
+   * Callers that keep an image should copy it out of the cache.
+   */
+  private static File newCacheFile(Context context, Bitmap.CompressFormat format) {
+    File folder = new File(context.getCacheDir(), CACHE_FOLDER);
+    trimCache(folder);
+    String extension = format == Bitmap.CompressFormat.JPEG ? ".jpg" : ".png";
+    return new File(folder, UUID.randomUUID() + extension);
+  }
+
+  /**
+   * Deletes the oldest files of the cache folder so one more file fits within the limits.
+   */
+  private static synchronized void trimCache(File folder) {
+    File[] files = folder.listFiles();
+    if (files == null || files.length == 0) {
+      return;
+    }
+    long[] modified = new long[files.length];
+    Integer[] order = new Integer[files.length];
+    for (int i = 0; i < files.length; i++) {
+      modified[i] = files[i].lastModified();
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(modified[a], modified[b]));
+    long[] sizes = new long[files.length];
+    for (int i = 0; i < files.length; i++) {
+      sizes[i] = files[order[i]].length();
+    }
+    int evictions = evictionCount(sizes, MAX_CACHE_FILES, MAX_CACHE_BYTES);
+    for (int i = 0; i < evictions; i++) {
+      files[order[i]].delete();
+    }
+  }
+
+  /**
+   * Returns how many of the files, ordered oldest first, must be deleted so that at most
+   * {@code maxFiles - 1} remain and they take at most {@code maxBytes}.
+   */
+  static int evictionCount(long[] sizesOldestFirst, int maxFiles, long maxBytes) {
+    long totalBytes = 0;
+    for (long size : sizesOldestFirst) {
+      totalBytes += size;
+    }
+    int count = 0;
+    int remaining = sizesOldestFirst.length;
+    while (remaining > 0 && (remaining >= maxFiles || totalBytes > maxBytes)) {
+      totalBytes -= sizesOldestFirst[count];
+      count++;
+      remaining--;
+    }
+    return count;
+  }
+
+  /**
+   * Counts the bytes written through the stream.
+   */
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    long count;
+
+    /**
+     * Creates a new CountingOutputStream instance.
+     */
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    /**
+     * Writes one byte.
+     */
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    /**
+     * Writes a byte range.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
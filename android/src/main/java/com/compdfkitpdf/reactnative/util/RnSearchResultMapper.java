@@ -23,7 +23,6 @@ import com.compdfkit.ui.textsearch.ITextSearcher;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
-import java.util.List;
 
 
 /**
@@ -33,41 +32,24 @@ public class RnSearchResultMapper {
 
 
   /**
-   * Searches for keywords in the given PDF document using the specified text searcher.
-   *
-   * @param document       The PDF document to search within.
-   * @param iTextSearcher  The text searcher to use for searching.
-   * @param keywords       The keywords to search for.
-   * @param searchOptions  Options for the search, such as case sensitivity and whole word matching.
-   * @see com.compdfkit.core.page.CPDFTextSearcher.PDFSearchOptions#PDFSearchCaseInsensitive
-   * @see com.compdfkit.core.page.CPDFTextSearcher.PDFSearchOptions#PDFSearchCaseSensitive
-   * @see com.compdfkit.core.page.CPDFTextSearcher.PDFSearchOptions#PDFSearchMatchWholeWord
-   * @see com.compdfkit.core.page.CPDFTextSearcher.PDFSearchOptions#PDFSearchConsecutive
+   * Converts a matched text range to a search result map.
    */
-  public static WritableArray search(CPDFDocument document, ITextSearcher iTextSearcher, String keywords, int searchOptions) {
-    WritableArray searchResults = Arguments.createArray();
-    iTextSearcher.setSearchConfig(keywords, searchOptions);
-    for (int pageIndex = 0; pageIndex < document.getPageCount(); pageIndex++) {
-      CPDFPage page = document.pageAtIndex(pageIndex);
-      List<CPDFTextRange> textRanges = iTextSearcher.searchKeyword(pageIndex);
-      for (int i = 0; i < textRanges.size(); i++) {
-        CPDFTextRange textRange = textRanges.get(i);
-        WritableMap result = Arguments.createMap();
-        result.putInt("pageIndex", page.getPageNum());
-        result.putInt("location", textRange.location);
-        result.putInt("length", textRange.length);
-        result.putInt("textRangeIndex", i);
-        searchResults.pushMap(result);
-      }
-    }
-    return searchResults;
+  public static WritableMap toSearchResult(int pageIndex, int textRangeIndex, CPDFTextRange textRange) {
+    WritableMap result = Arguments.createMap();
+    result.putInt("pageIndex", pageIndex);
+    result.putInt("location", textRange.location);
+    result.putInt("length", textRange.length);
+    result.putInt("textRangeIndex", textRangeIndex);
+    return result;
   }
 
   /**
-   * Handles selection.
+   * Handles selection. The page is searched with the configured keywords first so the searcher
+   * holds the text ranges that {@code searchBegin} selects from.
    */
   public static void selection(Context context,  @Nullable CPDFViewCtrl pdfView, CPDFDocument document, int pageIndex, int textRangeIndex){
     ITextSearcher iTextSearcher = getTextSearcher(context, pdfView, document);
+    iTextSearcher.searchKeyword(pageIndex);
     iTextSearcher.searchBegin(pageIndex, textRangeIndex);
     if (pdfView != null) {
       pdfView.getCPdfReaderView().invalidateAllChildren();
@@ -0,0 +1,266 @@
+/*
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ *
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES.
+ * This notice may not be removed from this file.
+ *
+ */
+
+package com.compdfkitpdf.reactnative.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted page index over extracted page text, used to narrow keyword searches to candidate pages.
+ */
+public final class RnTextIndex {
+
+  private static final int MAGIC = 0x52545849;
+
+  private static final int VERSION = 1;
+
+  private static final int MAX_TOKEN_LENGTH = 256;
+
+  private final String stamp;
+  private final long[] pageHashes;
+  private final String[][] pageTokens;
+  private final BitSet unindexedPages = new BitSet();
+  private final HashMap<String, BitSet> postings = new HashMap<>();
+
+  /**
+   * Creates an empty index for a document with the given stamp and page count.
+   */
+  public RnTextIndex(String stamp, int pageCount) {
+    this.stamp = stamp;
+    this.pageHashes = new long[pageCount];
+    this.pageTokens = new String[pageCount][];
+  }
+
+  /**
+   * Returns the document stamp the index was built for.
+   */
+  public String getStamp() {
+    return stamp;
+  }
+
+  /**
+   * Returns the page count.
+   */
+  public int getPageCount() {
+    return pageTokens.length;
+  }
+
+  /**
+   * Returns the number of distinct tokens.
+   */
+  public int getTokenCount() {
+    return postings.size();
+  }
+
+  /**
+   * Indexes the page text, reusing the tokens of an identical page from the previous index.
+   *
+   * @return {@code true} when the page was re-tokenized, {@code false} when it was reused.
+   */
+  public boolean putPage(int pageIndex, String text, Map<Long, String[]> previousPages) {
+    String pageText = text == null ? "" : text;
+    long hash = textHash(pageText);
+    String[] tokens = previousPages == null ? null : previousPages.get(hash);
+    boolean tokenized = tokens == null;
+    if (tokenized) {
+      Set<String> tokenSet = tokenize(pageText);
+      tokens = tokenSet.toArray(new String[0]);
+    }
+    setPage(pageIndex, hash, tokens);
+    return tokenized;
+  }
+
+  /**
+   * Returns the tokens of every page keyed by page text hash.
+   */
+  public Map<Long, String[]> pagesByHash() {
+    HashMap<Long, String[]> pages = new HashMap<>();
+    for (int i = 0; i < pageTokens.length; i++) {
+      if (pageTokens[i] != null && !unindexedPages.get(i)) {
+        pages.put(pageHashes[i], pageTokens[i]);
+      }
+    }
+    return pages;
+  }
+
+  /**
+   * Returns pages that may contain every token of the keywords, or {@code null} when the
+   * keywords have no indexable token and every page must be scanned.
+   */
+  public BitSet candidatePages(String keywords) {
+    Set<String> queryTokens = tokenize(keywords == null ? "" : keywords);
+    if (queryTokens.isEmpty()) {
+      return null;
+    }
+    BitSet result = null;
+    for (String queryToken : queryTokens) {
+      BitSet pages = new BitSet(pageTokens.length);
+      for (Map.Entry<String, BitSet> entry : postings.entrySet()) {
+        if (entry.getKey().contains(queryToken)) {
+          pages.or(entry.getValue());
+        }
+      }
+      if (result == null) {
+        result = pages;
+      } else {
+        result.and(pages);
+      }
+    }
+    result.or(unindexedPages);
+    return result;
+  }
+
+  /**
+   * Writes the index to the file, replacing it atomically.
+   */
+  public void writeTo(File file) throws IOException {
+    File parent = file.getParentFile();
+    if (parent != null && !parent.exists() && !parent.mkdirs()) {
+      throw new IOException("Unable to create index folder: " + parent);
+    }
+    File tempFile = new File(file.getPath() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+      new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(stamp);
+      out.writeInt(pageTokens.length);
+      for (int i = 0; i < pageTokens.length; i++) {
+        String[] tokens = pageTokens[i] == null ? new String[0] : pageTokens[i];
+        out.writeLong(pageHashes[i]);
+        out.writeBoolean(unindexedPages.get(i));
+        out.writeInt(tokens.length);
+        for (String token : tokens) {
+          out.writeUTF(token);
+        }
+      }
+    }
+    if (!tempFile.renameTo(file)) {
+      tempFile.delete();
+      throw new IOException("Unable to write index file: " + file);
+    }
+  }
+
+  /**
+   * Reads an index from the file, returning {@code null} when it is missing or unreadable.
+   */
+  public static RnTextIndex readFrom(File file) {
+    if (file == null || !file.isFile()) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(
+      new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return null;
+      }
+      String stamp = in.readUTF();
+      int pageCount = in.readInt();
+      RnTextIndex index = new RnTextIndex(stamp, pageCount);
+      for (int i = 0; i < pageCount; i++) {
+        long hash = in.readLong();
+        boolean unindexed = in.readBoolean();
+        String[] tokens = new String[in.readInt()];
+        for (int t = 0; t < tokens.length; t++) {
+          tokens[t] = in.readUTF();
+        }
+        index.setPage(i, hash, tokens);
+        if (unindexed) {
+          index.unindexedPages.set(i);
+        }
+      }
+      return index;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Splits text into lower-case word tokens; ideographs become single-character tokens.
+   */
+  public static Set<String> tokenize(String text) {
+    LinkedHashSet<String> tokens = new LinkedHashSet<>();
+    StringBuilder word = new StringBuilder();
+    int offset = 0;
+    while (offset < text.length()) {
+      int codePoint = text.codePointAt(offset);
+      offset += Character.charCount(codePoint);
+      if (Character.isIdeographic(codePoint)) {
+        flushToken(word, tokens);
+        tokens.add(new String(Character.toChars(Character.toLowerCase(codePoint))));
+      } else if (Character.isLetterOrDigit(codePoint)) {
+        word.appendCodePoint(Character.toLowerCase(codePoint));
+      } else {
+        flushToken(word, tokens);
+      }
+    }
+    flushToken(word, tokens);
+    return tokens;
+  }
+
+  /**
+   * Returns the 64-bit FNV-1a hash of the text.
+   */
+  static long textHash(String text) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < text.length(); i++) {
+      hash ^= text.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Adds the buffered word to the token set and clears the buffer.
+   */
+  private static void flushToken(StringBuilder word, Set<String> tokens) {
+    if (word.length() > 0) {
+      tokens.add(word.toString());
+      word.setLength(0);
+    }
+  }
+
+  /**
+   * Stores the page tokens and updates the postings.
+   */
+  private void setPage(int pageIndex, long hash, String[] tokens) {
+    ArrayList<String> indexedTokens = new ArrayList<>(tokens.length);
+    for (String token : tokens) {
+      if (token.length() > MAX_TOKEN_LENGTH) {
+        // Oversized runs are kept out of the postings; the page is always scanned instead.
+        unindexedPages.set(pageIndex);
+      } else {
+        indexedTokens.add(token);
+      }
+    }
+    pageHashes[pageIndex] = hash;
+    pageTokens[pageIndex] = indexedTokens.toArray(new String[0]);
+    for (String token : indexedTokens) {
+      BitSet pages = postings.get(token);
+      if (pages == null) {
+        pages = new BitSet(pageTokens.length);
+        postings.put(token, pages);
+      }
+      pages.set(pageIndex);
+    }
+  }
+}
@@ -50,7 +50,9 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -84,6 +86,15 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
   private static final String EVENT_CONTENT_EDITOR_STYLE_DIALOG_DISMISSED = "onContentEditorStyleDialogDismissed";
   private static final String EVENT_INTERCEPT_ANNOTATION_ACTION = "onInterceptAnnotationAction";
   private static final String EVENT_INTERCEPT_WIDGET_ACTION = "onInterceptWidgetAction";
+  public static final String EVENT_SEARCH_RESULTS = "onSearchResults";
+  public static final String EVENT_SEARCH_COMPLETE = "onSearchComplete";
+  public static final String EVENT_THUMBNAIL_RENDERED = "onThumbnailRendered";
+  public static final String EVENT_THUMBNAIL_BATCH_COMPLETE = "onThumbnailBatchComplete";
+  public static final String EVENT_SPLIT_PROGRESS = "onSplitProgress";
+  public static final String EVENT_MERGE_PROGRESS = "onMergeProgress";
+  public static final String EVENT_AUTO_SAVE_CHECKPOINT = "onAutoSaveCheckpoint";
+  public static final String EVENT_FLATTEN_PROGRESS = "onFlattenProgress";
+  public static final String EVENT_ANNOTATION_IMPORT_PROGRESS = "onAnnotationImportProgress";
   private static final String CUSTOM_EVENT_SEARCH_BACK_BUTTON_TAPPED = "SearchBackButtonTapped";
 
   private static final String EVENT_ADD_WATERMARK_DIALOG_DISMISSED = "onAddWatermarkDialogDismissed";
@@ -117,6 +128,96 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
 
   private RnPageCodec pageUtil = new RnPageCodec();
 
+  private OnPageContentChangeListener pageContentChangeListener;
+
+  private OnDocumentChangeListener documentChangeListener;
+
+  /**
+   * Pages whose annotations the viewer created or selected since the document was loaded; an
+   * annotation undo or redo can only change one of these.
+   */
+  private final Set<Integer> annotationHistoryPages = new LinkedHashSet<>();
+
+  /**
+   * Receives pages whose rendered content changed through viewer interaction.
+   */
+  public interface OnPageContentChangeListener {
+
+    /**
+     * Handles a changed page, or every page when the page index is -1.
+     */
+    void onPageContentChanged(CPDFDocument document, int pageIndex);
+  }
+
+  /**
+   * Sets the listener notified when page content changes.
+   */
+  public void setOnPageContentChangeListener(OnPageContentChangeListener listener) {
+    this.pageContentChangeListener = listener;
+  }
+
+  /**
+   * Receives the moments the view's document is loaded, replaced or released.
+   */
+  public interface OnDocumentChangeListener {
+
+    /**
+     * Handles a document that was loaded, replaced or released by the view.
+     */
+    void onDocumentChanged(RnPdfView view);
+  }
+
+  /**
+   * Sets the listener notified when the view's document changes.
+   */
+  public void setOnDocumentChangeListener(OnDocumentChangeListener listener) {
+    this.documentChangeListener = listener;
+  }
+
+  /**
+   * Notifies the document change listener.
+   */
+  private void notifyDocumentChanged() {
+    annotationHistoryPages.clear();
+    if (documentChangeListener != null) {
+      documentChangeListener.onDocumentChanged(this);
+    }
+  }
+
+  /**
+   * Drops the indexed annotations of the page and notifies the page content listener.
+   */
+  private void notifyPageContentChanged(int pageIndex) {
+    if (pageIndex < 0) {
+      pageUtil.invalidateAllAnnotations();
+    } else {
+      pageUtil.invalidateAnnotations(pageIndex);
+    }
+    if (pageContentChangeListener != null && documentFragment != null
+      && documentFragment.pdfView != null) {
+      CPDFDocument document = documentFragment.pdfView.getCPdfReaderView().getPDFDocument();
+      if (document != null) {
+        pageContentChangeListener.onPageContentChanged(document, pageIndex);
+      }
+    }
+  }
+
+  /**
+   * Invalidates and reconciles the pages an annotation undo or redo may have changed, or every
+   * page when the viewer has not reported any annotation page yet.
+   */
+  private void notifyAnnotationHistoryChanged() {
+    if (annotationHistoryPages.isEmpty()) {
+      notifyPageContentChanged(-1);
+      pageUtil.reconcileAnnotationChanges();
+      return;
+    }
+    for (int page : annotationHistoryPages) {
+      notifyPageContentChanged(page);
+      pageUtil.reconcileAnnotationChanges(page);
+    }
+  }
+
   /**
    * Sets the up.
    */
@@ -202,6 +303,7 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
       addView(fragmentView, ViewGroup.LayoutParams.MATCH_PARENT,
         ViewGroup.LayoutParams.MATCH_PARENT);
       documentFragment.setInitListener((pdfView) -> {
+        notifyDocumentChanged();
         try {
           documentFragment.pdfView.indicatorView.setRNMeasureLayout(true);
           emitNullEvent(EVENT_DOCUMENT_READY);
@@ -243,6 +345,7 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
             WritableMap historyState = createEvent();
             historyState.putBoolean("canUndo", cpdfUndoManager.canUndo());
             historyState.putBoolean("canRedo", cpdfUndoManager.canRedo());
+            notifyAnnotationHistoryChanged();
             emitMapEvent(EVENT_ANNOTATION_HISTORY_CHANGED, historyState);
           });
         pdfView.addEditStatusChangeListener(new OnEditStatusChangeListener() {
@@ -263,6 +366,7 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
             historyState.putBoolean("canUndo", canUndo);
             historyState.putBoolean("canRedo", canRedo);
             historyState.putInt("pageIndex", pageIndex);
+            notifyPageContentChanged(pageIndex);
             emitMapEvent(EVENT_CONTENT_EDITOR_HISTORY_CHANGED, historyState);
           }
 
@@ -277,9 +381,13 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
 
         CPDFReaderView readerView = pdfView.getCPdfReaderView();
         documentFragment.setAddAnnotCallback((cpdfPageView, cpdfBaseAnnot) -> {
+          annotationHistoryPages.add(cpdfPageView.getPageNum());
+          notifyPageContentChanged(cpdfPageView.getPageNum());
           WritableMap annotData = getAnnotData(
             documentFragment.pdfView.getCPdfReaderView()
               .getPDFDocument(), cpdfBaseAnnot.onGetAnnotation());
+          pageUtil.recordAnnotationCreated(cpdfPageView.getPageNum(),
+            cpdfBaseAnnot.onGetAnnotation());
           if (cpdfBaseAnnot.getAnnotType() == Type.WIDGET) {
             emitMapEvent(EVENT_FORM_FIELDS_CREATED, annotData);
           } else {
@@ -297,6 +405,8 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
             WritableMap annotData = getAnnotData(
               documentFragment.pdfView.getCPdfReaderView()
                 .getPDFDocument(), cpdfBaseAnnot.onGetAnnotation());
+            annotationHistoryPages.add(cpdfPageView.getPageNum());
+            pageUtil.trackAnnotationPage(cpdfPageView.getPageNum());
             if (cpdfBaseAnnot.getAnnotType() == Type.WIDGET) {
               emitMapEvent(EVENT_FORM_FIELDS_SELECTED, annotData);
             } else {
@@ -470,6 +580,7 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
     Log.i("ComPDFKit", "RnPdfView-onDetachedFromWindow()");
     getViewTreeObserver().removeOnGlobalLayoutListener(mOnGlobalLayoutListener);
     pageUtil.setDocument(null);
+    notifyDocumentChanged();
   }
 
   /**
@@ -586,9 +697,13 @@ public class RnPdfView extends FrameLayout implements CPDFCustomEventCallback {
   }
 
   /**
-   * Emits map event.
+   * Emits map event. Called from worker threads as well, so it is dropped once the view has no
+   * React context.
    */
-  private void emitMapEvent(String eventName, WritableMap value) {
+  public void emitMapEvent(String eventName, WritableMap value) {
+    if (themedReactContext == null) {
+      return;
+    }
     WritableMap event = createEvent();
     event.putMap(eventName, value);
     emitEvent(event);
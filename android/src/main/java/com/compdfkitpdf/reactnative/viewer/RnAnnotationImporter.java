@@ -0,0 +1,219 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.util.SparseArray;
+import com.compdfkit.core.annotation.CPDFAnnotation;
+import com.compdfkit.tools.common.utils.annotation.CAnnotationCreationContext;
+import com.compdfkitpdf.reactnative.view.RnPdfView;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts large annotation lists in chunks. Each chunk is inserted into the displayed document
+ * and shown on screen in one write on the main thread; the next chunk is queued only after
+ * that, so rendering, input and other document work run between chunks. At most one import runs
+ * per view.
+ */
+final class RnAnnotationImporter {
+
+  static final int DEFAULT_CHUNK_SIZE = 50;
+
+  private final RnDocumentExecutor documentExecutor;
+  private final RnRenderCache renderCache;
+  private final AtomicInteger nextJobId = new AtomicInteger(1);
+  private final HashMap<Integer, Job> jobsByTag = new HashMap<>();
+
+  /**
+   * Creates a new RnAnnotationImporter instance.
+   */
+  RnAnnotationImporter(RnDocumentExecutor documentExecutor, RnRenderCache renderCache) {
+    this.documentExecutor = documentExecutor;
+    this.renderCache = renderCache;
+  }
+
+  /**
+   * Starts importing the items into the view's document and returns the job id. The promise
+   * resolves with one result per item once every chunk ran or the job was cancelled.
+   */
+  int start(int tag, RnPdfViewContext context, ReadableArray items, int chunkSize,
+    Promise promise) {
+    Job job = new Job(nextJobId.getAndIncrement(), tag, context, items, Math.max(1, chunkSize),
+      promise);
+    synchronized (this) {
+      if (jobsByTag.containsKey(tag)) {
+        throw new IllegalStateException("An annotation import is already running for tag: " + tag);
+      }
+      jobsByTag.put(tag, job);
+    }
+    runChunk(job);
+    return job.id;
+  }
+
+  /**
+   * Stops the view's import after the running chunk, returning whether one was running.
+   */
+  boolean cancel(int tag) {
+    Job job;
+    synchronized (this) {
+      job = jobsByTag.get(tag);
+    }
+    if (job == null) {
+      return false;
+    }
+    job.cancelled = true;
+    return true;
+  }
+
+  /**
+   * Inserts the next chunk, shows it and reports progress on the main thread, then queues the
+   * following chunk behind whatever document work arrived meanwhile.
+   */
+  private void runChunk(Job job) {
+    RnPdfViewContext context = job.context;
+    documentExecutor.executeWriteOnMain(context.document, () -> {
+      int start = job.next;
+      int end = Math.min(job.total, start + job.chunkSize);
+      SparseArray<List<CPDFAnnotation>> addedByPage = new SparseArray<>();
+      CAnnotationCreationContext.runProgrammatic(() -> {
+        for (int index = start; index < end && !job.cancelled; index++) {
+          job.results[index] = insert(job, index, addedByPage);
+          job.next = index + 1;
+        }
+        if (context.readerView != null) {
+          context.pageUtil.addToPageViews(context.readerView, addedByPage);
+        }
+      });
+      for (int i = 0; i < addedByPage.size(); i++) {
+        renderCache.invalidatePage(context.document, addedByPage.keyAt(i));
+      }
+      if (context.view != null) {
+        WritableMap progress = Arguments.createMap();
+        progress.putInt("jobId", job.id);
+        progress.putInt("completed", job.next);
+        progress.putInt("total", job.total);
+        progress.putInt("succeeded", job.succeeded);
+        progress.putInt("failed", job.failed);
+        context.view.emitMapEvent(RnPdfView.EVENT_ANNOTATION_IMPORT_PROGRESS, progress);
+      }
+      if (job.cancelled || job.next >= job.total) {
+        finish(job);
+      } else {
+        runChunk(job);
+      }
+    });
+  }
+
+  /**
+   * Inserts one item and returns its result.
+   */
+  private WritableMap insert(Job job, int index, SparseArray<List<CPDFAnnotation>> addedByPage) {
+    WritableMap result = Arguments.createMap();
+    result.putInt("index", index);
+    try {
+      ReadableMap item = job.items.getMap(index);
+      if (item == null) {
+        throw new IllegalArgumentException("Item is not an annotation");
+      }
+      CPDFAnnotation annotation = job.context.pageUtil.insertAnnotation(item);
+      int pageIndex = item.getInt("page");
+      List<CPDFAnnotation> added = addedByPage.get(pageIndex);
+      if (added == null) {
+        added = new ArrayList<>();
+        addedByPage.put(pageIndex, added);
+      }
+      added.add(annotation);
+      result.putBoolean("success", true);
+      result.putInt("page", pageIndex);
+      result.putString("uuid", String.valueOf(annotation.getAnnotPtr()));
+      job.succeeded++;
+    } catch (Exception e) {
+      result.putBoolean("success", false);
+      result.putString("error", e.getMessage() == null ? e.toString() : e.getMessage());
+      job.failed++;
+    }
+    return result;
+  }
+
+  /**
+   * Releases the view's slot and resolves the per-item results. Items skipped by cancellation
+   * report the error {@code "cancelled"}.
+   */
+  private void finish(Job job) {
+    synchronized (this) {
+      if (jobsByTag.get(job.tag) == job) {
+        jobsByTag.remove(job.tag);
+      }
+    }
+    WritableArray results = Arguments.createArray();
+    for (int index = 0; index < job.total; index++) {
+      WritableMap result = job.results[index];
+      if (result == null) {
+        result = Arguments.createMap();
+        result.putInt("index", index);
+        result.putBoolean("success", false);
+        result.putString("error", "cancelled");
+      }
+      results.pushMap(result);
+    }
+    WritableMap summary = Arguments.createMap();
+    summary.putInt("jobId", job.id);
+    summary.putBoolean("cancelled", job.next < job.total);
+    summary.putInt("total", job.total);
+    summary.putInt("succeeded", job.succeeded);
+    summary.putInt("failed", job.failed);
+    summary.putDouble("durationMs", (System.nanoTime() - job.startedAt) / 1_000_000d);
+    summary.putArray("results", results);
+    job.promise.resolve(summary);
+  }
+
+  /**
+   * One import and its progress. Fields are only touched by one queued task at a time.
+   */
+  private static final class Job {
+
+    final int id;
+    final int tag;
+    final RnPdfViewContext context;
+    final ReadableArray items;
+    final int total;
+    final int chunkSize;
+    final Promise promise;
+    final WritableMap[] results;
+    final long startedAt = System.nanoTime();
+    volatile boolean cancelled;
+    volatile int next;
+    volatile int succeeded;
+    volatile int failed;
+
+    /**
+     * Creates a new Job instance.
+     */
+    Job(int id, int tag, RnPdfViewContext context, ReadableArray items, int chunkSize,
+      Promise promise) {
+      this.id = id;
+      this.tag = tag;
+      this.context = context;
+      this.items = items;
+      this.total = items.size();
+      this.chunkSize = chunkSize;
+      this.promise = promise;
+      this.results = new WritableMap[total];
+    }
+  }
+}
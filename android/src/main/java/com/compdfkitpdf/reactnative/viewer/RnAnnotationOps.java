@@ -33,6 +33,7 @@ import com.compdfkit.ui.proxy.CPDFBaseAnnotImpl;
 import com.compdfkit.ui.proxy.form.CPDFSignatureWidgetImpl;
 import com.compdfkit.ui.reader.CPDFPageView;
 import com.compdfkit.ui.reader.CPDFReaderView.ViewMode;
+import com.compdfkitpdf.reactnative.codec.RnAnnotationQuery;
 import com.compdfkitpdf.reactnative.util.RnAttrUtils;
 import com.compdfkitpdf.reactnative.util.RnEditAreaMapper;
 import com.compdfkitpdf.reactnative.util.RnEnumConverter;
@@ -53,11 +54,14 @@ final class RnAnnotationOps {
 
   private final ReactApplicationContext reactContext;
 
+  private final RnRenderCache renderCache;
+
   /**
    * Creates a new RnAnnotationOps instance.
    */
-  RnAnnotationOps(ReactApplicationContext reactContext) {
+  RnAnnotationOps(ReactApplicationContext reactContext, RnRenderCache renderCache) {
     this.reactContext = reactContext;
+    this.renderCache = renderCache;
   }
 
   private boolean isAvailable(@Nullable RnPdfViewContext context) {
@@ -86,6 +90,42 @@ final class RnAnnotationOps {
     return context.pageUtil.getWidgets(pageIndex);
   }
 
+  /**
+   * Returns one page of the annotations matching the query across the document.
+   */
+  WritableMap queryAnnotations(RnPdfViewContext context, @Nullable ReadableMap query) {
+    RnAnnotationQuery annotationQuery = RnAnnotationQuery.fromMap(query);
+    if (!isAvailable(context)) {
+      WritableMap result = Arguments.createMap();
+      result.putArray("items", Arguments.createArray());
+      result.putNull("nextCursor");
+      result.putInt("scannedPages", 0);
+      return result;
+    }
+    return context.pageUtil.queryAnnotations(annotationQuery);
+  }
+
+  /**
+   * Sets how ink and line geometry is written by annotation reads.
+   */
+  void setGeometryEncoding(RnPdfViewContext context, @Nullable String encoding) {
+    context.pageUtil.setGeometryEncoding(encoding);
+  }
+
+  /**
+   * Sets how the context-menu screenshot is reported.
+   */
+  void setContextMenuImageOutput(RnPdfViewContext context, @Nullable String outputType) {
+    context.pageUtil.setContextMenuImageOutput(outputType);
+  }
+
+  /**
+   * Returns the annotation changes recorded after the sequence number.
+   */
+  WritableMap getAnnotationChangesSince(RnPdfViewContext context, long sinceSeq, int limit) {
+    return context.pageUtil.getAnnotationChangesSince(sinceSeq, limit);
+  }
+
   /**
    * Sets the text widget text.
    */
@@ -94,6 +134,7 @@ final class RnAnnotationOps {
       return;
     }
     context.pageUtil.setTextWidgetText(pageIndex, uuid, text);
+    renderCache.invalidatePage(context.document, pageIndex);
   }
 
   /**
@@ -103,6 +144,7 @@ final class RnAnnotationOps {
     if (!isAvailable(context)) {
       return;
     }
+    renderCache.invalidatePage(context.document, pageIndex);
     CPDFPageView pageView = (CPDFPageView) context.readerView.getChild(pageIndex);
     if (pageView == null) {
       return;
@@ -130,6 +172,7 @@ final class RnAnnotationOps {
       return;
     }
     context.pageUtil.setChecked(pageIndex, uuid, checked);
+    renderCache.invalidatePage(context.document, pageIndex);
   }
 
   /**
@@ -140,6 +183,7 @@ final class RnAnnotationOps {
     if (!isAvailable(context)) {
       return false;
     }
+    renderCache.invalidatePage(context.document, pageIndex);
     return context.pageUtil.addWidgetImageSignature(pageIndex, uuid, imagePath);
   }
 
@@ -154,10 +198,14 @@ final class RnAnnotationOps {
     if (annotation == null) {
       return false;
     }
+    renderCache.invalidatePage(context.document, pageIndex);
     CPDFPageView pageView = (CPDFPageView) context.readerView.getChild(pageIndex);
     if (pageView != null) {
+      String type = context.pageUtil.getAnnotationTypeName(annotation);
       CPDFBaseAnnotImpl baseAnnot = pageView.getAnnotImpl(annotation);
       pageView.deleteAnnotation(baseAnnot);
+      context.pageUtil.invalidateAnnotations(pageIndex);
+      context.pageUtil.recordAnnotationRemoved(pageIndex, uuid, type);
       return true;
     }
     return context.pageUtil.deleteAnnotation(pageIndex, uuid);
@@ -793,29 +841,39 @@ final class RnAnnotationOps {
       promise.reject("UPDATE_ANNOTATION_FAIL", "DocumentView is unavailable");
       return;
     }
+    try {
+      applyAnnotationUpdate(context, annotMap, true);
+      promise.resolve(true);
+    } catch (Exception e) {
+      promise.reject("UPDATE_ANNOTATION_FAIL", e.getMessage());
+    }
+  }
+
+  /**
+   * Applies the annotation attributes, refreshing its page view when requested.
+   */
+  void applyAnnotationUpdate(RnPdfViewContext context, ReadableMap annotMap, boolean refreshView) {
     int pageIndex = annotMap.getInt("page");
     String uuid = annotMap.getString("uuid");
     CPDFAnnotation annotation = context.pageUtil.getAnnotation(pageIndex, uuid);
     if (annotation == null || !annotation.isValid()) {
-      promise.reject("UPDATE_ANNOTATION_FAIL", "not found this annotation");
+      throw new IllegalArgumentException("not found this annotation");
+    }
+    context.pageUtil.updateAnnotation(annotation, annotMap);
+    renderCache.invalidatePage(context.document, pageIndex);
+    if (!refreshView) {
       return;
     }
-    try {
-      context.pageUtil.updateAnnotation(annotation, annotMap);
-      CPDFPageView pageView = (CPDFPageView) context.readerView.getChild(pageIndex);
-      if (pageView != null) {
-        CPDFBaseAnnotImpl annotImpl = pageView.getAnnotImpl(annotation);
-        if (annotImpl != null) {
-          annotImpl.onAnnotAttrChange();
-          pageView.invalidate();
-        } else {
-          pageView.addAnnotation(annotation, false);
-          pageView.invalidate();
-        }
+    CPDFPageView pageView = (CPDFPageView) context.readerView.getChild(pageIndex);
+    if (pageView != null) {
+      CPDFBaseAnnotImpl annotImpl = pageView.getAnnotImpl(annotation);
+      if (annotImpl != null) {
+        annotImpl.onAnnotAttrChange();
+        pageView.invalidate();
+      } else {
+        pageView.addAnnotation(annotation, false);
+        pageView.invalidate();
       }
-      promise.resolve(true);
-    } catch (Exception e) {
-      promise.reject("UPDATE_ANNOTATION_FAIL", e.getMessage());
     }
   }
 
@@ -827,26 +885,38 @@ final class RnAnnotationOps {
       promise.reject("UPDATE_WIDGET_FAIL", "DocumentView is unavailable");
       return;
     }
+    try {
+      applyWidgetUpdate(context, widgetMap, true);
+      promise.resolve(true);
+    } catch (IllegalArgumentException e) {
+      promise.reject("UPDATE_WIDGET_FAIL", e.getMessage());
+    } catch (Exception e) {
+      promise.reject("UPDATE_ANNOTATION_FAIL", e.getMessage());
+    }
+  }
+
+  /**
+   * Applies the widget attributes, refreshing its page view when requested.
+   */
+  void applyWidgetUpdate(RnPdfViewContext context, ReadableMap widgetMap, boolean refreshView) {
     int pageIndex = widgetMap.getInt("page");
     String uuid = widgetMap.getString("uuid");
     CPDFAnnotation annotation = context.pageUtil.getAnnotation(pageIndex, uuid);
     if (annotation == null || !annotation.isValid()) {
-      promise.reject("UPDATE_WIDGET_FAIL", "not found this widget");
+      throw new IllegalArgumentException("not found this widget");
+    }
+    context.pageUtil.updateWidget(annotation, widgetMap);
+    renderCache.invalidatePage(context.document, pageIndex);
+    if (!refreshView) {
       return;
     }
-    try {
-      context.pageUtil.updateWidget(annotation, widgetMap);
-      CPDFPageView pageView = (CPDFPageView) context.readerView.getChild(pageIndex);
-      if (pageView != null) {
-        CPDFBaseAnnotImpl annotImpl = pageView.getAnnotImpl(annotation);
-        if (annotImpl != null) {
-          annotImpl.onAnnotAttrChange();
-          pageView.invalidate();
-        }
+    CPDFPageView pageView = (CPDFPageView) context.readerView.getChild(pageIndex);
+    if (pageView != null) {
+      CPDFBaseAnnotImpl annotImpl = pageView.getAnnotImpl(annotation);
+      if (annotImpl != null) {
+        annotImpl.onAnnotAttrChange();
+        pageView.invalidate();
       }
-      promise.resolve(true);
-    } catch (Exception e) {
-      promise.reject("UPDATE_ANNOTATION_FAIL", e.getMessage());
     }
   }
 
@@ -859,6 +929,7 @@ final class RnAnnotationOps {
     }
     CAnnotationCreationContext.runProgrammatic(
       () -> context.pageUtil.addAnnotations(context.readerView, annotationsArray));
+    renderCache.invalidateDocument(context.document);
   }
 
   /**
@@ -870,5 +941,6 @@ final class RnAnnotationOps {
     }
     CAnnotationCreationContext.runProgrammatic(
       () -> context.pageUtil.addWidgets(context.readerView, widgetsArray));
+    renderCache.invalidateDocument(context.document);
   }
 }
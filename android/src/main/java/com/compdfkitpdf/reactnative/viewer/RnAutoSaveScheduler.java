@@ -0,0 +1,359 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkit.ui.reader.CPDFReaderView;
+import com.compdfkitpdf.reactnative.view.RnPdfView;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import java.io.File;
+
+/**
+ * Writes checkpoint copies of a view's document to a side file after edits settle. Bursts of
+ * edits are coalesced into one checkpoint, at most one checkpoint is written at a time, and the
+ * write runs on the document's worker queue instead of the UI thread. Failed checkpoints are
+ * retried with a growing delay, and a checkpoint is deleted once the document itself is saved.
+ * All methods must be called on the main thread.
+ */
+final class RnAutoSaveScheduler {
+
+  static final long DEFAULT_DEBOUNCE_MS = 2000;
+  static final long DEFAULT_MAX_DELAY_MS = 30000;
+  static final long MIN_RETRY_DELAY_MS = 1000;
+  static final long MAX_CHECKPOINT_AGE_MS = 7L * 24 * 60 * 60 * 1000;
+  private static final String CHECKPOINT_FOLDER = "compdfkit-autosave";
+  private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+  private final Context context;
+  private final RnDocumentExecutor documentExecutor;
+  private final RnPdfView view;
+  private final Runnable checkpointRunnable = this::checkpoint;
+  private boolean enabled;
+  private long debounceMs = DEFAULT_DEBOUNCE_MS;
+  private long maxDelayMs = DEFAULT_MAX_DELAY_MS;
+  @Nullable
+  private String checkpointPath;
+  private long dirtySince = -1;
+  private long generation;
+  private boolean writing;
+  private boolean discardWritten;
+  private int failures;
+  @Nullable
+  private String lastCheckpointPath;
+  private long lastCheckpointAt;
+
+  /**
+   * Creates a new RnAutoSaveScheduler instance.
+   */
+  RnAutoSaveScheduler(Context context, RnDocumentExecutor documentExecutor, RnPdfView view) {
+    this.context = context;
+    this.documentExecutor = documentExecutor;
+    this.view = view;
+  }
+
+  /**
+   * Applies the {@code enabled}, {@code debounce_ms}, {@code max_delay_ms} and
+   * {@code checkpoint_path} options.
+   */
+  void configure(boolean enabled, long debounceMs, long maxDelayMs,
+    @Nullable String checkpointPath) {
+    this.enabled = enabled;
+    this.debounceMs = Math.max(0, debounceMs);
+    this.maxDelayMs = Math.max(this.debounceMs, maxDelayMs);
+    this.checkpointPath = TextUtils.isEmpty(checkpointPath) ? null : checkpointPath;
+    MAIN_HANDLER.removeCallbacks(checkpointRunnable);
+    if (enabled && dirtySince >= 0 && !writing) {
+      schedule(SystemClock.uptimeMillis());
+    }
+  }
+
+  /**
+   * Records an edit and schedules a checkpoint once edits settle.
+   */
+  void markDirty() {
+    generation++;
+    long now = SystemClock.uptimeMillis();
+    if (dirtySince < 0) {
+      dirtySince = now;
+    }
+    if (enabled && !writing) {
+      schedule(now);
+    }
+  }
+
+  /**
+   * Forgets pending edits and deletes the checkpoint after the document itself was saved. A
+   * checkpoint that is still being written is deleted once it is done.
+   */
+  void onDocumentSaved() {
+    reset();
+    failures = 0;
+    if (writing) {
+      discardWritten = true;
+      return;
+    }
+    CPDFDocument document = currentDocument();
+    if (document != null) {
+      checkpointFile(document).delete();
+    }
+    lastCheckpointPath = null;
+  }
+
+  /**
+   * Writes a checkpoint now when there are unsaved edits. Returns whether one was started.
+   */
+  boolean flush() {
+    MAIN_HANDLER.removeCallbacks(checkpointRunnable);
+    return checkpoint();
+  }
+
+  /**
+   * Forgets pending edits after the view's document was replaced or released.
+   */
+  void reset() {
+    MAIN_HANDLER.removeCallbacks(checkpointRunnable);
+    dirtySince = -1;
+    generation++;
+  }
+
+  /**
+   * Stops scheduling checkpoints.
+   */
+  void release() {
+    enabled = false;
+    reset();
+  }
+
+  /**
+   * Returns the auto-save state of the view.
+   */
+  WritableMap status() {
+    CPDFDocument document = currentDocument();
+    return toStatusMap(enabled, dirtySince >= 0, writing, debounceMs, maxDelayMs, failures,
+      lastCheckpointPath, lastCheckpointAt, document == null ? null : checkpointFile(document));
+  }
+
+  /**
+   * Returns the auto-save state of a view that was never configured, with the default
+   * checkpoint of the document, so a checkpoint left by a crashed session can be found before
+   * auto-save is enabled again.
+   */
+  static WritableMap defaultStatus(Context context, @Nullable CPDFDocument document) {
+    return toStatusMap(false, false, false, DEFAULT_DEBOUNCE_MS, DEFAULT_MAX_DELAY_MS, 0, null, 0,
+      document == null ? null : defaultCheckpointFile(context, document));
+  }
+
+  /**
+   * Builds the status map returned by {@link #status()}. The checkpoint file is where the
+   * checkpoints of the current document are written, whether or not one exists yet.
+   */
+  private static WritableMap toStatusMap(boolean enabled, boolean dirty, boolean writing,
+    long debounceMs, long maxDelayMs, int failures, @Nullable String lastCheckpointPath,
+    long lastCheckpointAt, @Nullable File checkpoint) {
+    boolean checkpointExists = checkpoint != null && checkpoint.isFile();
+    WritableMap map = Arguments.createMap();
+    map.putBoolean("enabled", enabled);
+    map.putBoolean("dirty", dirty);
+    map.putBoolean("writing", writing);
+    map.putDouble("debounceMs", debounceMs);
+    map.putDouble("maxDelayMs", maxDelayMs);
+    map.putInt("failures", failures);
+    map.putString("lastCheckpointPath", lastCheckpointPath);
+    map.putDouble("lastCheckpointAt", lastCheckpointAt);
+    map.putString("checkpointPath", checkpoint == null ? null : checkpoint.getAbsolutePath());
+    map.putBoolean("checkpointExists", checkpointExists);
+    map.putDouble("checkpointModifiedAt", checkpointExists ? checkpoint.lastModified() : 0);
+    return map;
+  }
+
+  /**
+   * Returns how long to wait before the next checkpoint: the debounce delay, shortened so that
+   * edits older than {@code maxDelayMs} are not held back by a steady stream of new ones.
+   */
+  static long nextDelay(long now, long dirtySince, long debounceMs, long maxDelayMs) {
+    return Math.max(0, Math.min(debounceMs, dirtySince + maxDelayMs - now));
+  }
+
+  /**
+   * Returns how long to wait before retrying after {@code failures} checkpoints in a row failed:
+   * the debounce delay, at least {@link #MIN_RETRY_DELAY_MS}, doubled for every further failure
+   * and capped at the larger of that base and {@code maxDelayMs}.
+   */
+  static long retryDelay(int failures, long debounceMs, long maxDelayMs) {
+    long base = Math.max(MIN_RETRY_DELAY_MS, debounceMs);
+    long cap = Math.max(base, maxDelayMs);
+    int shift = Math.min(Math.max(0, failures - 1), 20);
+    return Math.min(cap, base << shift);
+  }
+
+  /**
+   * Deletes default checkpoints older than {@link #MAX_CHECKPOINT_AGE_MS} and temporary files
+   * left behind by interrupted writes. Runs on the calling thread.
+   */
+  static void pruneCheckpoints(Context context) {
+    File[] files = new File(context.getFilesDir(), CHECKPOINT_FOLDER).listFiles();
+    if (files == null) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    for (File file : files) {
+      if (file.getName().endsWith(".tmp") || now - file.lastModified() > MAX_CHECKPOINT_AGE_MS) {
+        file.delete();
+      }
+    }
+  }
+
+  /**
+   * Returns the default checkpoint file of the document.
+   */
+  static File defaultCheckpointFile(Context context, CPDFDocument document) {
+    File folder = new File(context.getFilesDir(), CHECKPOINT_FOLDER);
+    return new File(folder,
+      RnTextIndexManager.sha1(RnTextIndexManager.documentKey(document)) + ".pdf");
+  }
+
+  /**
+   * Restarts the checkpoint timer.
+   */
+  private void schedule(long now) {
+    long delay = nextDelay(now, dirtySince, debounceMs, maxDelayMs);
+    if (failures > 0) {
+      delay = Math.max(delay, retryDelay(failures, debounceMs, maxDelayMs));
+    }
+    MAIN_HANDLER.removeCallbacks(checkpointRunnable);
+    MAIN_HANDLER.postDelayed(checkpointRunnable, delay);
+  }
+
+  /**
+   * Returns the document shown by the view, or null when none is open.
+   */
+  @Nullable
+  private CPDFDocument currentDocument() {
+    try {
+      CPDFReaderView readerView = view.getCPDFReaderView();
+      return readerView == null ? null : readerView.getPDFDocument();
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the file checkpoints of the document are written to.
+   */
+  private File checkpointFile(CPDFDocument document) {
+    return checkpointPath != null ? new File(checkpointPath)
+      : defaultCheckpointFile(context, document);
+  }
+
+  /**
+   * Starts writing a checkpoint of the current document state.
+   */
+  private boolean checkpoint() {
+    if (dirtySince < 0 || writing) {
+      return false;
+    }
+    CPDFDocument document = currentDocument();
+    if (document == null) {
+      return false;
+    }
+    File target = checkpointFile(document);
+    long snapshot = generation;
+    long startedAt = SystemClock.uptimeMillis();
+    writing = true;
+    CPDFDocument source = document;
+    documentExecutor.executeRead(source, () -> {
+      String error = null;
+      int pageCount = 0;
+      try {
+        pageCount = source.getPageCount();
+        writeCheckpoint(source, pageCount, target);
+      } catch (Exception e) {
+        error = e.getMessage() == null ? e.toString() : e.getMessage();
+      }
+      String finalError = error;
+      int finalPageCount = pageCount;
+      MAIN_HANDLER.post(() -> onCheckpointFinished(snapshot, startedAt, target, finalPageCount,
+        finalError));
+    });
+    return true;
+  }
+
+  /**
+   * Copies every page into a temporary file next to the target and moves it into place, so a
+   * crash during the write keeps the previous checkpoint intact.
+   */
+  private void writeCheckpoint(CPDFDocument source, int pageCount, File target)
+    throws Exception {
+    File folder = target.getParentFile();
+    if (folder != null && !folder.exists() && !folder.mkdirs()) {
+      throw new IllegalStateException("Unable to create " + folder.getAbsolutePath());
+    }
+    int[] pages = new int[pageCount];
+    for (int i = 0; i < pageCount; i++) {
+      pages[i] = i;
+    }
+    File temp = new File(target.getAbsolutePath() + ".tmp");
+    if (!RnDocumentSplitter.writePages(context, source, pages, temp.getAbsolutePath())) {
+      temp.delete();
+      throw new IllegalStateException("Unable to write checkpoint");
+    }
+    if (!temp.renameTo(target)) {
+      temp.delete();
+      throw new IllegalStateException("Unable to move checkpoint to " + target.getAbsolutePath());
+    }
+  }
+
+  /**
+   * Records the finished checkpoint, reports it and schedules the next one for edits made
+   * while it was written, or a retry after a failed write.
+   */
+  private void onCheckpointFinished(long snapshot, long startedAt, File target, int pageCount,
+    @Nullable String error) {
+    writing = false;
+    long now = SystemClock.uptimeMillis();
+    boolean success = error == null;
+    if (discardWritten) {
+      // The document was saved while this checkpoint was written, so it is already stale.
+      discardWritten = false;
+      target.delete();
+      lastCheckpointPath = null;
+    } else if (success) {
+      lastCheckpointPath = target.getAbsolutePath();
+      lastCheckpointAt = System.currentTimeMillis();
+    }
+    failures = success ? 0 : failures + 1;
+    if (success && generation == snapshot) {
+      dirtySince = -1;
+    } else if (success && dirtySince >= 0) {
+      // Edits made during the write start a new window.
+      dirtySince = startedAt;
+    }
+    WritableMap result = Arguments.createMap();
+    result.putBoolean("success", success);
+    result.putString("checkpointPath", target.getAbsolutePath());
+    result.putInt("pageCount", pageCount);
+    result.putDouble("durationMs", now - startedAt);
+    result.putBoolean("dirty", dirtySince >= 0);
+    if (!success) {
+      result.putString("error", error);
+    }
+    view.emitMapEvent(RnPdfView.EVENT_AUTO_SAVE_CHECKPOINT, result);
+    if (enabled && dirtySince >= 0) {
+      schedule(now);
+    }
+  }
+}
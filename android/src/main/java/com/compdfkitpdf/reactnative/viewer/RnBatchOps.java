@@ -0,0 +1,220 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Runs a list of {@code {op, args}} commands against one view in a single pass, so scripted
+ * workflows cross the bridge once instead of once per item.
+ */
+final class RnBatchOps {
+
+  private final RnDocumentOps documentOps;
+  private final RnViewerOps viewerOps;
+  private final RnAnnotationOps annotationOps;
+
+  /**
+   * Creates a new RnBatchOps instance.
+   */
+  RnBatchOps(RnDocumentOps documentOps, RnViewerOps viewerOps, RnAnnotationOps annotationOps) {
+    this.documentOps = documentOps;
+    this.viewerOps = viewerOps;
+    this.annotationOps = annotationOps;
+  }
+
+  /**
+   * Executes the commands in order and returns one result per command. Supported options are
+   * {@code stop_on_error} (default false) and {@code reload_pages} (default true), which reloads
+   * the view once after the batch when any command changed the document.
+   */
+  WritableArray execute(RnPdfViewContext context, ReadableArray commands,
+    @Nullable ReadableMap options) {
+    boolean stopOnError = getBoolean(options, "stop_on_error", false);
+    boolean reloadPages = getBoolean(options, "reload_pages", true);
+    WritableArray results = Arguments.createArray();
+    boolean changed = false;
+    boolean stopped = false;
+    int size = commands == null ? 0 : commands.size();
+    for (int i = 0; i < size; i++) {
+      ReadableMap command = commands.getType(i) == ReadableType.Map ? commands.getMap(i) : null;
+      String op = command == null ? null : getString(command, "op");
+      WritableMap result = Arguments.createMap();
+      result.putString("op", op);
+      if (stopped) {
+        result.putBoolean("success", false);
+        result.putBoolean("skipped", true);
+        results.pushMap(result);
+        continue;
+      }
+      ReadableMap args = command != null && command.hasKey("args")
+        && command.getType("args") == ReadableType.Map ? command.getMap("args") : null;
+      try {
+        if (op == null) {
+          throw new IllegalArgumentException("Missing op at index " + i);
+        }
+        putValue(result, "result", dispatch(context, op, args == null ? Arguments.createMap()
+          : args, reloadPages));
+        result.putBoolean("success", true);
+        changed |= isMutation(op);
+      } catch (Exception e) {
+        result.putBoolean("success", false);
+        result.putString("error", e.getMessage() == null ? e.toString() : e.getMessage());
+        stopped = stopOnError;
+      }
+      results.pushMap(result);
+    }
+    if (changed && reloadPages) {
+      documentOps.reloadPages(context);
+    }
+    return results;
+  }
+
+  /**
+   * Runs one command and returns its value.
+   */
+  @Nullable
+  private Object dispatch(RnPdfViewContext context, String op, ReadableMap args,
+    boolean deferRefresh) throws Exception {
+    switch (op) {
+      case "getPageCount":
+        return documentOps.getPageCount(context);
+      case "getPageRotation":
+        return documentOps.getPageRotation(context, getInt(args, "page_index"));
+      case "getCurrentPageIndex":
+        return viewerOps.getCurrentPageIndex(context);
+      case "hasChange":
+        return viewerOps.hasChange(context);
+      case "getAnnotations":
+        return annotationOps.getAnnotations(context, getInt(args, "page_index"));
+      case "getForms":
+        return annotationOps.getForms(context, getInt(args, "page_index"));
+      case "setTextWidgetText":
+        annotationOps.setTextWidgetText(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "text"));
+        return null;
+      case "setWidgetIsChecked":
+        annotationOps.setWidgetIsChecked(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getBoolean(args, "checked", false));
+        return null;
+      case "updateAp":
+        annotationOps.updateAp(context, getInt(args, "page_index"), getString(args, "uuid"));
+        return null;
+      case "addWidgetImageSignature":
+        return annotationOps.addWidgetImageSignature(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "image_path"));
+      case "removeAnnotation":
+      case "removeWidget":
+        return annotationOps.removeAnnotation(context, getInt(args, "page_index"),
+          getString(args, "uuid"));
+      case "updateAnnotation":
+        annotationOps.applyAnnotationUpdate(context, args, !deferRefresh);
+        return true;
+      case "updateWidget":
+        annotationOps.applyWidgetUpdate(context, args, !deferRefresh);
+        return true;
+      case "setAnnotationMarkState":
+        return annotationOps.setAnnotationMarkState(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "native_id"), getString(args, "reply_key"),
+          getString(args, "parent_uuid"), getString(args, "state"));
+      case "getAnnotationMarkState":
+        return annotationOps.getAnnotationMarkState(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "native_id"), getString(args, "reply_key"),
+          getString(args, "parent_uuid"));
+      case "setAnnotationReviewState":
+        return annotationOps.setAnnotationReviewState(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "native_id"), getString(args, "reply_key"),
+          getString(args, "parent_uuid"), getString(args, "state"));
+      case "getAnnotationReviewState":
+        return annotationOps.getAnnotationReviewState(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "native_id"), getString(args, "reply_key"),
+          getString(args, "parent_uuid"));
+      case "addAnnotationReply":
+        return annotationOps.addAnnotationReply(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "content"), getString(args, "title"));
+      case "getAnnotationReplies":
+        return annotationOps.getAnnotationReplies(context, getInt(args, "page_index"),
+          getString(args, "uuid"));
+      case "updateAnnotationReply":
+        return annotationOps.updateAnnotationReply(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "native_id"), getString(args, "reply_key"),
+          getString(args, "parent_uuid"), getString(args, "content"), getString(args, "title"));
+      case "removeAnnotationReply":
+        return annotationOps.removeAnnotationReply(context, getInt(args, "page_index"),
+          getString(args, "uuid"), getString(args, "native_id"), getString(args, "reply_key"),
+          getString(args, "parent_uuid"));
+      case "removeAllAnnotationReplies":
+        return annotationOps.removeAllAnnotationReplies(context, getInt(args, "page_index"),
+          getString(args, "uuid"));
+      default:
+        throw new IllegalArgumentException("Unsupported batch op: " + op);
+    }
+  }
+
+  /**
+   * Returns whether the op changes the document and needs the final reload.
+   */
+  private static boolean isMutation(String op) {
+    return !op.startsWith("get") && !"hasChange".equals(op);
+  }
+
+  /**
+   * Stores a command result of any supported type under the key.
+   */
+  private static void putValue(WritableMap map, String key, @Nullable Object value) {
+    if (value == null) {
+      map.putNull(key);
+    } else if (value instanceof Boolean) {
+      map.putBoolean(key, (Boolean) value);
+    } else if (value instanceof Integer) {
+      map.putInt(key, (Integer) value);
+    } else if (value instanceof Number) {
+      map.putDouble(key, ((Number) value).doubleValue());
+    } else if (value instanceof WritableMap) {
+      map.putMap(key, (WritableMap) value);
+    } else if (value instanceof WritableArray) {
+      map.putArray(key, (WritableArray) value);
+    } else {
+      map.putString(key, value.toString());
+    }
+  }
+
+  /**
+   * Returns the required int argument.
+   */
+  private static int getInt(ReadableMap args, String key) {
+    if (!args.hasKey(key) || args.isNull(key)) {
+      throw new IllegalArgumentException("Missing argument: " + key);
+    }
+    return args.getInt(key);
+  }
+
+  /**
+   * Returns the string argument, or {@code null} when absent.
+   */
+  @Nullable
+  private static String getString(ReadableMap args, String key) {
+    return args.hasKey(key) && !args.isNull(key) ? args.getString(key) : null;
+  }
+
+  /**
+   * Returns the boolean argument, or the fallback when absent.
+   */
+  private static boolean getBoolean(@Nullable ReadableMap args, String key, boolean fallback) {
+    return args != null && args.hasKey(key) && !args.isNull(key) ? args.getBoolean(key)
+      : fallback;
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.graphics.Bitmap;
+import android.util.SparseArray;
+import java.util.ArrayDeque;
+
+/**
+ * Keeps rendered bitmaps in allocation-size buckets so later renders can reconfigure and reuse them.
+ */
+final class RnBitmapPool {
+
+  private static final Bitmap.Config CONFIG = Bitmap.Config.ARGB_8888;
+
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final long maxPooledBytes;
+  private final SparseArray<ArrayDeque<Bitmap>> buckets = new SparseArray<>();
+  private long pooledBytes;
+
+  /**
+   * Creates a new RnBitmapPool instance.
+   */
+  RnBitmapPool(long maxPooledBytes) {
+    this.maxPooledBytes = maxPooledBytes;
+  }
+
+  /**
+   * Returns a mutable bitmap of the size, reusing a pooled allocation when one is large enough.
+   */
+  Bitmap acquire(int width, int height) {
+    long required = (long) width * height * BYTES_PER_PIXEL;
+    int bucket = bucketFor(required);
+    Bitmap bitmap = null;
+    synchronized (this) {
+      ArrayDeque<Bitmap> bitmaps = buckets.get(bucket);
+      if (bitmaps != null && !bitmaps.isEmpty()) {
+        bitmap = bitmaps.pop();
+        pooledBytes -= bitmap.getAllocationByteCount();
+      }
+    }
+    if (bitmap != null && !bitmap.isRecycled() && bitmap.getAllocationByteCount() >= required) {
+      bitmap.reconfigure(width, height, CONFIG);
+      bitmap.eraseColor(0);
+      return bitmap;
+    }
+    return Bitmap.createBitmap(width, height, CONFIG);
+  }
+
+  /**
+   * Returns the bitmap to the pool, recycling it when the pool budget is exhausted.
+   */
+  void release(Bitmap bitmap) {
+    if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+      return;
+    }
+    int allocation = bitmap.getAllocationByteCount();
+    synchronized (this) {
+      if (pooledBytes + allocation <= maxPooledBytes) {
+        // Bucket by the largest size the allocation can hold so acquire never under-sizes.
+        int bucket = bucketFloor(allocation);
+        ArrayDeque<Bitmap> bitmaps = buckets.get(bucket);
+        if (bitmaps == null) {
+          bitmaps = new ArrayDeque<>();
+          buckets.put(bucket, bitmaps);
+        }
+        bitmaps.push(bitmap);
+        pooledBytes += allocation;
+        return;
+      }
+    }
+    bitmap.recycle();
+  }
+
+  /**
+   * Recycles every pooled bitmap.
+   */
+  synchronized void clear() {
+    for (int i = 0; i < buckets.size(); i++) {
+      for (Bitmap bitmap : buckets.valueAt(i)) {
+        bitmap.recycle();
+      }
+    }
+    buckets.clear();
+    pooledBytes = 0L;
+  }
+
+  /**
+   * Returns the power-of-two bucket that can hold the byte count.
+   */
+  static int bucketFor(long byteCount) {
+    int bucket = 0;
+    while ((1L << bucket) < byteCount) {
+      bucket++;
+    }
+    return bucket;
+  }
+
+  /**
+   * Returns the largest power-of-two bucket the byte count fully covers.
+   */
+  static int bucketFloor(long byteCount) {
+    int bucket = 0;
+    while ((1L << (bucket + 1)) <= byteCount) {
+      bucket++;
+    }
+    return bucket;
+  }
+}
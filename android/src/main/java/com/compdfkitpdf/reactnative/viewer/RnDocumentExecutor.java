@@ -0,0 +1,295 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.document.CPDFDocument;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Orders the background work of each document: every task, read or write, runs alone and in
+ * submission order, so a write is never overtaken by reads queued after it and no read overlaps
+ * a change made on the main thread. Reads are kept exclusive because the SDK does not document
+ * concurrent access to one native document, so every pipeline that reads a document - searches,
+ * text extraction, index builds, renders, thumbnails and splits - makes its native calls from
+ * inside one task that covers the whole job and keeps only document-free work, such as encoding
+ * and file output, on its own threads.
+ */
+final class RnDocumentExecutor {
+
+  private static final String TAG = "ComPDFKitRN";
+
+  /**
+   * A task that holds its slot until it calls {@code done}, for work that finishes in a callback.
+   */
+  interface CompletableTask {
+
+    /**
+     * Starts the work and calls {@code done} once it finished or failed.
+     */
+    void run(Runnable done);
+  }
+
+  private final Executor workerExecutor;
+  private final Executor mainExecutor;
+  private final Handler timeoutHandler = new Handler(Looper.getMainLooper());
+  private final WeakHashMap<CPDFDocument, DocumentQueue> queues = new WeakHashMap<>();
+
+  /**
+   * Creates a new RnDocumentExecutor instance backed by a shared worker pool.
+   */
+  RnDocumentExecutor() {
+    this(RnWorkerPool.newPool("document", RnWorkerPool.defaultWorkerCount()),
+      new Handler(Looper.getMainLooper())::post);
+  }
+
+  /**
+   * Creates a new RnDocumentExecutor instance.
+   */
+  RnDocumentExecutor(Executor workerExecutor, Executor mainExecutor) {
+    this.workerExecutor = workerExecutor;
+    this.mainExecutor = mainExecutor;
+  }
+
+  /**
+   * Runs a task that only reads the document on a worker thread.
+   */
+  void executeRead(CPDFDocument document, Runnable task) {
+    queueOf(document).submit(new Job(sync(task), false, workerExecutor));
+  }
+
+  /**
+   * Runs a task that changes or saves the document on a worker thread, alone.
+   */
+  void executeWrite(CPDFDocument document, Runnable task) {
+    queueOf(document).submit(new Job(sync(task), true, workerExecutor));
+  }
+
+  /**
+   * Runs a task that changes the document together with its views on the main thread, alone.
+   */
+  void executeWriteOnMain(CPDFDocument document, Runnable task) {
+    queueOf(document).submit(new Job(sync(task), true, mainExecutor));
+  }
+
+  /**
+   * Starts a task that changes the document on the main thread and keeps every other task of the
+   * document waiting until it calls {@code done}.
+   */
+  void executeAsyncWriteOnMain(CPDFDocument document, CompletableTask task) {
+    queueOf(document).submit(new Job(task, true, mainExecutor));
+  }
+
+  /**
+   * Like {@link #executeAsyncWriteOnMain(CPDFDocument, CompletableTask)}, but releases the slot
+   * after {@code timeoutMs} when the task never calls {@code done}, so a lost callback cannot
+   * block the document forever.
+   */
+  void executeAsyncWriteOnMain(CPDFDocument document, long timeoutMs, CompletableTask task) {
+    queueOf(document).submit(new Job(task, true, mainExecutor, timeoutMs));
+  }
+
+  /**
+   * Returns the queue depth, running tasks and wait times of the document.
+   */
+  WritableMap metrics(@Nullable CPDFDocument document) {
+    DocumentQueue queue;
+    synchronized (queues) {
+      queue = document == null ? null : queues.get(document);
+    }
+    WritableMap map = Arguments.createMap();
+    if (queue == null) {
+      map.putInt("queueDepth", 0);
+      map.putInt("activeReads", 0);
+      map.putBoolean("writing", false);
+      map.putDouble("completedTasks", 0);
+      map.putDouble("averageWaitMs", 0);
+      map.putDouble("maxWaitMs", 0);
+      return map;
+    }
+    synchronized (queue) {
+      map.putInt("queueDepth", queue.pending.size());
+      map.putInt("activeReads", queue.activeReads);
+      map.putBoolean("writing", queue.writing);
+      map.putDouble("completedTasks", queue.completed);
+      map.putDouble("averageWaitMs", queue.started == 0 ? 0
+        : toMillis(queue.totalWaitNanos) / queue.started);
+      map.putDouble("maxWaitMs", toMillis(queue.maxWaitNanos));
+    }
+    return map;
+  }
+
+  /**
+   * Returns the queue of the document, creating it on first use.
+   */
+  private DocumentQueue queueOf(CPDFDocument document) {
+    synchronized (queues) {
+      DocumentQueue queue = queues.get(document);
+      if (queue == null) {
+        queue = new DocumentQueue();
+        queues.put(document, queue);
+      }
+      return queue;
+    }
+  }
+
+  /**
+   * Wraps a task that is done when it returns.
+   */
+  private static CompletableTask sync(Runnable task) {
+    return done -> {
+      task.run();
+      done.run();
+    };
+  }
+
+  /**
+   * Converts nanoseconds to fractional milliseconds.
+   */
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /**
+   * Tracks the pending and running tasks of one document.
+   */
+  private final class DocumentQueue {
+
+    final ArrayDeque<Job> pending = new ArrayDeque<>();
+    int activeReads;
+    boolean writing;
+    long started;
+    long completed;
+    long totalWaitNanos;
+    long maxWaitNanos;
+
+    /**
+     * Queues the job and starts whatever may run now.
+     */
+    void submit(Job job) {
+      List<Job> ready;
+      synchronized (this) {
+        pending.add(job);
+        ready = takeReady();
+      }
+      dispatch(ready);
+    }
+
+    /**
+     * Releases the job's slot and starts whatever may run now.
+     */
+    void finish(Job job) {
+      List<Job> ready;
+      synchronized (this) {
+        if (job.write) {
+          writing = false;
+        } else {
+          activeReads--;
+        }
+        completed++;
+        ready = takeReady();
+      }
+      dispatch(ready);
+    }
+
+    /**
+     * Removes the job at the head of the queue when nothing is running.
+     */
+    private List<Job> takeReady() {
+      List<Job> ready = new ArrayList<>();
+      long now = System.nanoTime();
+      if (!writing && activeReads == 0 && !pending.isEmpty()) {
+        Job head = pending.poll();
+        if (head.write) {
+          writing = true;
+        } else {
+          activeReads++;
+        }
+        long waitNanos = now - head.enqueuedAt;
+        started++;
+        totalWaitNanos += waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        ready.add(head);
+      }
+      return ready;
+    }
+
+    /**
+     * Starts the jobs on their executors.
+     */
+    private void dispatch(List<Job> ready) {
+      for (Job job : ready) {
+        job.executor.execute(() -> {
+          AtomicBoolean released = new AtomicBoolean();
+          Runnable done = () -> {
+            if (released.compareAndSet(false, true)) {
+              finish(job);
+            }
+          };
+          if (job.timeoutMs > 0) {
+            timeoutHandler.postDelayed(() -> {
+              if (!released.get()) {
+                Log.w(TAG, "Document task did not finish within " + job.timeoutMs
+                  + " ms, releasing the document");
+                done.run();
+              }
+            }, job.timeoutMs);
+          }
+          try {
+            job.task.run(done);
+          } catch (RuntimeException e) {
+            Log.e(TAG, "Document task failed", e);
+            done.run();
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * One queued task.
+   */
+  private static final class Job {
+
+    final CompletableTask task;
+    final boolean write;
+    final Executor executor;
+    final long timeoutMs;
+    final long enqueuedAt = System.nanoTime();
+
+    /**
+     * Creates a new Job instance without a timeout.
+     */
+    Job(CompletableTask task, boolean write, Executor executor) {
+      this(task, write, executor, 0L);
+    }
+
+    /**
+     * Creates a new Job instance.
+     */
+    Job(CompletableTask task, boolean write, Executor executor, long timeoutMs) {
+      this.task = task;
+      this.write = write;
+      this.executor = executor;
+      this.timeoutMs = timeoutMs;
+    }
+  }
+}
@@ -19,6 +19,7 @@ import android.os.Looper;
 import android.text.TextUtils;
 import android.util.Log;
 import androidx.annotation.Nullable;
+import androidx.documentfile.provider.DocumentFile;
 import com.compdfkit.core.annotation.CPDFAnnotation;
 import com.compdfkit.core.common.CPDFDocumentException;
 import com.compdfkit.core.document.CPDFDocument;
@@ -36,12 +37,12 @@ import com.compdfkit.tools.common.utils.print.CPDFPrintUtils;
 import com.compdfkit.tools.common.utils.threadpools.CThreadPoolUtils;
 import com.compdfkit.tools.common.views.pdfview.CPDFPageIndicatorView;
 import com.compdfkit.tools.common.views.pdfview.CPDFViewCtrl;
-import com.compdfkit.tools.common.views.pdfview.CPDFViewCtrl.COnSaveCallback;
-import com.compdfkit.tools.common.views.pdfview.CPDFViewCtrl.COnSaveError;
 import com.compdfkitpdf.reactnative.util.RnDocumentInfoMapper;
 import com.compdfkitpdf.reactnative.util.RnDocumentSourceResolver;
+import com.compdfkitpdf.reactnative.view.RnPdfView;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableArray;
@@ -49,8 +50,10 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -59,15 +62,60 @@ import java.util.UUID;
 final class RnDocumentOps {
 
   private static final String ERROR_WATERMARK_FAIL = "WATERMARK_FAIL";
+  static final String SAVE_MODE_AUTO = "auto";
+  static final String SAVE_MODE_INCREMENTAL = "incremental";
+  static final String SAVE_MODE_FULL = "full";
   private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+  private static final long SAVE_CALLBACK_TIMEOUT_MS = 2 * 60 * 1000L;
 
   private final ReactApplicationContext reactContext;
 
+  private final RnRenderCache renderCache;
+
+  private final RnDocumentExecutor documentExecutor;
+
+  private final RnDocumentSplitter documentSplitter;
+
+  @Nullable
+  private OnDocumentSavedListener onDocumentSavedListener;
+
+  /**
+   * Receives documents that were written back to their file on the main thread.
+   */
+  interface OnDocumentSavedListener {
+
+    /**
+     * Called after the document of the context was saved successfully.
+     */
+    void onDocumentSaved(RnPdfViewContext context);
+  }
+
   /**
    * Creates a new RnDocumentOps instance.
    */
-  RnDocumentOps(ReactApplicationContext reactContext) {
+  RnDocumentOps(ReactApplicationContext reactContext, RnRenderCache renderCache,
+    RnDocumentExecutor documentExecutor) {
     this.reactContext = reactContext;
+    this.renderCache = renderCache;
+    this.documentExecutor = documentExecutor;
+    this.documentSplitter = new RnDocumentSplitter(reactContext);
+  }
+
+  /**
+   * Sets the listener told about successful saves.
+   */
+  void setOnDocumentSavedListener(@Nullable OnDocumentSavedListener listener) {
+    this.onDocumentSavedListener = listener;
+  }
+
+  /**
+   * Tells the listener on the main thread that the document of the context was saved.
+   */
+  private void notifyDocumentSaved(RnPdfViewContext context) {
+    OnDocumentSavedListener listener = onDocumentSavedListener;
+    if (listener != null) {
+      MAIN_HANDLER.post(() -> listener.onDocumentSaved(context));
+    }
   }
 
   /**
@@ -97,13 +145,44 @@ final class RnDocumentOps {
   }
 
   /**
-   * Saves the current document state.
+   * Saves the current document state. The save holds the document's write slot until the viewer
+   * reports the result, so queued reads never see a half-written file, or until
+   * {@link #SAVE_CALLBACK_TIMEOUT_MS} passed without a result.
    */
-  void save(RnPdfViewContext context, COnSaveCallback saveCallback, COnSaveError error) {
-    if (isReaderAvailable(context)) {
-      context.viewCtrl.savePDF(saveCallback, error);
-    } else {
-      error.error(new Exception("save() Unable to find DocumentView"));
+  void save(RnPdfViewContext context, Promise promise) {
+    if (!isReaderAvailable(context) || context.document == null) {
+      promise.reject("SAVE_FAIL", "save() Unable to find DocumentView");
+      return;
+    }
+    documentExecutor.executeAsyncWriteOnMain(context.document, SAVE_CALLBACK_TIMEOUT_MS, done ->
+      context.viewCtrl.savePDF((s, uri) -> {
+        done.run();
+        notifyDocumentSaved(context);
+        promise.resolve(true);
+      }, e -> {
+        done.run();
+        promise.reject("SAVE_FAIL", e);
+      }));
+  }
+
+  /**
+   * Removes all annotations and drops the renders and indexed annotations that showed them.
+   */
+  boolean removeAllAnnotations(@Nullable RnPdfViewContext context) {
+    if (!isDocumentAvailable(context)) {
+      return false;
+    }
+    try {
+      boolean result = context.document.removeAllAnnotations();
+      if (result) {
+        invalidatePages(context);
+        if (context.readerView != null) {
+          context.readerView.invalidateAllChildren();
+        }
+      }
+      return result;
+    } catch (Exception e) {
+      return false;
     }
   }
 
@@ -124,7 +203,10 @@ final class RnDocumentOps {
         + CFileUtils.getFileNameNoExtension(context.document.getFileName()));
     cacheFile.mkdirs();
     boolean importResult = context.document.importAnnotations(xfdf, cacheFile.getAbsolutePath());
-    context.readerView.reloadPages();
+    invalidatePages(context);
+    if (context.readerView != null) {
+      context.readerView.reloadPages();
+    }
     return importResult;
   }
 
@@ -149,9 +231,10 @@ final class RnDocumentOps {
   }
 
   /**
-   * Opens the requested document or resource.
+   * Opens the requested document or resource, running {@code onOpened} before resolving.
    */
-  void open(RnPdfViewContext context, String filePath, String password, int pageIndex, Promise promise) {
+  void open(RnPdfViewContext context, String filePath, String password, int pageIndex,
+    Runnable onOpened, Promise promise) {
     if (!isReaderAvailable(context)) {
       promise.reject("OPEN_FAIL", "DocumentView is unavailable");
       return;
@@ -159,10 +242,16 @@ final class RnDocumentOps {
     String resolvedFilePath = RnDocumentSourceResolver.resolveOpenDocumentSource(reactContext, filePath);
     if (RnDocumentSourceResolver.isUriSource(resolvedFilePath)) {
       context.viewCtrl.openPDF(RnDocumentSourceResolver.parseUri(resolvedFilePath), password, pageIndex,
-        () -> promise.resolve(true));
+        () -> {
+          onOpened.run();
+          promise.resolve(true);
+        });
       return;
     }
-    context.viewCtrl.openPDF(resolvedFilePath, password, pageIndex, () -> promise.resolve(true));
+    context.viewCtrl.openPDF(resolvedFilePath, password, pageIndex, () -> {
+      onOpened.run();
+      promise.resolve(true);
+    });
   }
 
   /**
@@ -240,34 +329,169 @@ final class RnDocumentOps {
    */
   void saveAs(RnPdfViewContext context, String savePath, boolean removeSecurity, boolean fontSubSet,
     Promise result) {
-    if (!isReaderAvailable(context) || !isDocumentAvailable(context)) {
+    if (!isDocumentAvailable(context)) {
       result.reject("SAVE_FAIL", "DocumentView is unavailable");
       return;
     }
     CPDFDocument document = context.document;
-    context.viewCtrl.exitEditMode();
-    CThreadPoolUtils.getInstance().executeIO(() -> {
-      try {
+    documentExecutor.executeAsyncWriteOnMain(document, done -> {
+      if (context.viewCtrl != null) {
+        context.viewCtrl.exitEditMode();
+      }
+      CThreadPoolUtils.getInstance().executeIO(() -> {
         boolean saveResult;
-        if (RnDocumentSourceResolver.isContentSource(savePath)) {
-          saveResult = document.saveAs(Uri.parse(savePath), removeSecurity, fontSubSet);
-        } else {
-          saveResult = document.saveAs(savePath, removeSecurity, false, fontSubSet);
+        try {
+          if (RnDocumentSourceResolver.isContentSource(savePath)) {
+            saveResult = document.saveAs(Uri.parse(savePath), removeSecurity, fontSubSet);
+          } else {
+            saveResult = document.saveAs(savePath, removeSecurity, false, fontSubSet);
+          }
+        } catch (CPDFDocumentException e) {
+          done.run();
+          result.reject("SAVE_FAIL",
+            "The current saved directory is: " + savePath
+              + ", please make sure you have write permission to this directory");
+          return;
+        } catch (RuntimeException e) {
+          done.run();
+          result.reject("SAVE_FAIL", e);
+          return;
         }
-        CThreadPoolUtils.getInstance().executeMain(() -> {
-          if (document.shouleReloadDocument()) {
-            document.reload();
+        // Reload before releasing the document so no queued task sees the pre-reload state.
+        MAIN_HANDLER.post(() -> {
+          try {
+            if (document.shouleReloadDocument()) {
+              document.reload();
+            }
+          } finally {
+            done.run();
           }
+          if (saveResult) {
+            notifyDocumentSaved(context);
+          }
+          result.resolve(saveResult);
         });
-        result.resolve(saveResult);
-      } catch (CPDFDocumentException e) {
-        result.reject("SAVE_FAIL",
-          "The current saved directory is: " + savePath
-            + ", please make sure you have write permission to this directory");
+      });
+    });
+  }
+
+  /**
+   * Saves the document in place and resolves {@code {success, mode, bytesWritten, fileSize,
+   * durationMs, reloaded}}. Supported options are {@code mode} ({@code "auto"},
+   * {@code "incremental"} or {@code "full"}), {@code remove_security} and {@code font_subset}.
+   * Incremental saves append the changes to the file; full saves rewrite and compact it. The
+   * document stays locked from the save until it has been reloaded.
+   */
+  void saveDocument(RnPdfViewContext context, @Nullable ReadableMap options, Promise promise) {
+    if (!isDocumentAvailable(context)) {
+      promise.reject("SAVE_FAIL", "Document unavailable");
+      return;
+    }
+    CPDFDocument document = context.document;
+    String path = document.getAbsolutePath();
+    if (TextUtils.isEmpty(path) && document.getUri() == null) {
+      promise.reject("SAVE_FAIL", "The document has no file to save to, use saveAs instead");
+      return;
+    }
+    boolean removeSecurity = getBoolean(options, "remove_security", false);
+    boolean fontSubset = getBoolean(options, "font_subset", true);
+    String mode;
+    try {
+      mode = resolveSaveMode(getString(options, "mode", SAVE_MODE_AUTO), removeSecurity,
+        canAppend(document));
+    } catch (IllegalArgumentException e) {
+      promise.reject("SAVE_FAIL", e.getMessage());
+      return;
+    }
+    PDFDocumentSaveType saveType = removeSecurity
+      ? PDFDocumentSaveType.PDFDocumentSaveRemoveSecurity
+      : SAVE_MODE_INCREMENTAL.equals(mode)
+        ? PDFDocumentSaveType.PDFDocumentSaveIncremental
+        : PDFDocumentSaveType.PDFDocumentSaveNoIncremental;
+    documentExecutor.executeAsyncWriteOnMain(document, done -> {
+      if (context.viewCtrl != null) {
+        context.viewCtrl.exitEditMode();
       }
+      CThreadPoolUtils.getInstance().executeIO(() -> {
+        long sizeBefore = documentFileSize(document);
+        long start = System.nanoTime();
+        boolean saveResult;
+        try {
+          saveResult = document.save(saveType, fontSubset);
+        } catch (Exception e) {
+          done.run();
+          promise.reject("SAVE_FAIL", "An exception occurs when saving the document, "
+            + e.getMessage());
+          return;
+        }
+        double durationMs = (System.nanoTime() - start) / 1_000_000d;
+        long sizeAfter = documentFileSize(document);
+        boolean reload = document.shouleReloadDocument();
+        MAIN_HANDLER.post(() -> {
+          try {
+            if (reload) {
+              document.reload();
+              reloadPagesIfAttached(context);
+            }
+          } finally {
+            done.run();
+          }
+          if (saveResult) {
+            notifyDocumentSaved(context);
+          }
+          WritableMap map = Arguments.createMap();
+          map.putBoolean("success", saveResult);
+          map.putString("mode", mode);
+          map.putDouble("bytesWritten", SAVE_MODE_INCREMENTAL.equals(mode)
+            ? Math.max(0L, sizeAfter - sizeBefore) : sizeAfter);
+          map.putDouble("fileSize", sizeAfter);
+          map.putDouble("durationMs", durationMs);
+          map.putBoolean("reloaded", reload);
+          promise.resolve(map);
+        });
+      });
     });
   }
 
+  /**
+   * Returns the save mode used for the requested one. {@code "auto"} appends only when the
+   * document allows it, and removing security always needs a full rewrite.
+   */
+  static String resolveSaveMode(@Nullable String requested, boolean removeSecurity,
+    boolean canAppend) {
+    if (requested == null || SAVE_MODE_AUTO.equals(requested)) {
+      return canAppend && !removeSecurity ? SAVE_MODE_INCREMENTAL : SAVE_MODE_FULL;
+    }
+    if (SAVE_MODE_INCREMENTAL.equals(requested)) {
+      return removeSecurity ? SAVE_MODE_FULL : SAVE_MODE_INCREMENTAL;
+    }
+    if (SAVE_MODE_FULL.equals(requested)) {
+      return SAVE_MODE_FULL;
+    }
+    throw new IllegalArgumentException("Unsupported save mode: " + requested);
+  }
+
+  /**
+   * Returns whether changes can be appended to the document's file: it must be an unencrypted
+   * local file that can be written in place.
+   */
+  private boolean canAppend(CPDFDocument document) {
+    String path = document.getAbsolutePath();
+    return !TextUtils.isEmpty(path) && new File(path).canWrite() && !document.isEncrypted();
+  }
+
+  /**
+   * Returns the size of the document's file, or 0 when unknown.
+   */
+  private long documentFileSize(CPDFDocument document) {
+    if (!TextUtils.isEmpty(document.getAbsolutePath())) {
+      return new File(document.getAbsolutePath()).length();
+    }
+    DocumentFile file = document.getUri() == null ? null
+      : DocumentFile.fromSingleUri(reactContext, document.getUri());
+    return file == null ? 0L : file.length();
+  }
+
   /**
    * Handles print.
    */
@@ -308,7 +532,7 @@ final class RnDocumentOps {
       return;
     }
     CPDFDocument document = context.document;
-    CThreadPoolUtils.getInstance().executeIO(() -> {
+    documentExecutor.executeWrite(document, () -> {
       try {
         if (!TextUtils.isEmpty(userPassword)) {
           document.setUserPassword(userPassword);
@@ -396,7 +620,10 @@ final class RnDocumentOps {
         + CFileUtils.getFileNameNoExtension(context.document.getFileName()));
     cacheFile.mkdirs();
     boolean importResult = context.document.importWidgets(xfdf, cacheFile.getAbsolutePath());
-    context.readerView.reloadPages();
+    invalidatePages(context);
+    if (context.readerView != null) {
+      context.readerView.reloadPages();
+    }
     return importResult;
   }
 
@@ -431,6 +658,7 @@ final class RnDocumentOps {
     try {
       CPDFDocument document = context.document;
       boolean success = document.flattenAllPages(PDFFlattenOption.FLAT_NORMALDISPLAY);
+      invalidatePages(context);
       if (!success) {
         promise.reject("FLATTEN_FAIL", "Flatten all pages failed.");
         return;
@@ -454,6 +682,156 @@ final class RnDocumentOps {
     }
   }
 
+  /**
+   * Saves a copy of the whole document to the path with the selected pages (all pages when
+   * empty) flattened and every other page copied unchanged in its place, leaving the open
+   * document unchanged. The copy is built on a worker thread; pages are flattened
+   * {@code chunk_size} (default 20) at a time and each chunk is reported through
+   * {@code onFlattenProgress}.
+   */
+  void flattenPages(RnPdfViewContext context, @Nullable int[] pages, String savePath,
+    @Nullable ReadableMap options, Promise promise) {
+    if (!isDocumentAvailable(context)) {
+      promise.reject("FLATTEN_FAIL", "Document unavailable");
+      return;
+    }
+    if (TextUtils.isEmpty(savePath)) {
+      promise.reject("FLATTEN_FAIL", "save_path is empty");
+      return;
+    }
+    CPDFDocument document = context.document;
+    int[] selection;
+    try {
+      selection = resolvePageSelection(pages, document.getPageCount());
+    } catch (IllegalArgumentException e) {
+      promise.reject("FLATTEN_FAIL", e.getMessage());
+      return;
+    }
+    boolean fontSubset = getBoolean(options, "font_subset", true);
+    int chunkSize = Math.max(1, (int) getDouble(options, "chunk_size", 20));
+    RnPdfView view = context.view;
+    documentExecutor.executeRead(document, () -> {
+      long start = System.nanoTime();
+      boolean[] mask = selectionMask(selection, document.getPageCount());
+      int total = 0;
+      for (boolean selected : mask) {
+        total += selected ? 1 : 0;
+      }
+      CPDFDocument output = CPDFDocument.createDocument(reactContext);
+      try {
+        int completed = 0;
+        for (int[] run : pageRuns(mask, chunkSize)) {
+          if (!mask[run[0]]) {
+            output.importPages(document, run, output.getPageCount());
+            continue;
+          }
+          flattenChunk(document, run, output);
+          completed += run.length;
+          if (view != null) {
+            WritableMap progress = Arguments.createMap();
+            progress.putString("savePath", savePath);
+            progress.putInt("completed", completed);
+            progress.putInt("total", total);
+            view.emitMapEvent(RnPdfView.EVENT_FLATTEN_PROGRESS, progress);
+          }
+        }
+        boolean saveResult;
+        if (RnDocumentSourceResolver.isContentSource(savePath)) {
+          saveResult = output.saveAs(Uri.parse(savePath), false, fontSubset);
+        } else {
+          saveResult = output.saveAs(savePath, false, false, fontSubset);
+        }
+        WritableMap result = Arguments.createMap();
+        result.putBoolean("success", saveResult);
+        result.putString("savePath", savePath);
+        result.putInt("pageCount", output.getPageCount());
+        result.putInt("flattenedPages", total);
+        result.putDouble("durationMs", (System.nanoTime() - start) / 1_000_000d);
+        promise.resolve(result);
+      } catch (CPDFDocumentException e) {
+        promise.reject("FLATTEN_FAIL", e.getErrType().name());
+      } catch (Exception e) {
+        promise.reject("FLATTEN_FAIL", e.getMessage());
+      } finally {
+        output.close();
+      }
+    });
+  }
+
+  /**
+   * Copies the pages into a scratch document, flattens it and appends the result to the output.
+   */
+  private void flattenChunk(CPDFDocument source, int[] pages, CPDFDocument output)
+    throws CPDFDocumentException {
+    CPDFDocument scratch = CPDFDocument.createDocument(reactContext);
+    try {
+      scratch.importPages(source, pages, 0);
+      if (!scratch.flattenAllPages(PDFFlattenOption.FLAT_NORMALDISPLAY)) {
+        throw new IllegalStateException("Flatten pages failed.");
+      }
+      int[] flattened = new int[scratch.getPageCount()];
+      for (int i = 0; i < flattened.length; i++) {
+        flattened[i] = i;
+      }
+      output.importPages(scratch, flattened, output.getPageCount());
+    } finally {
+      scratch.close();
+    }
+  }
+
+  /**
+   * Returns which of the document's pages are selected.
+   */
+  static boolean[] selectionMask(int[] selection, int pageCount) {
+    boolean[] mask = new boolean[pageCount];
+    for (int pageIndex : selection) {
+      mask[pageIndex] = true;
+    }
+    return mask;
+  }
+
+  /**
+   * Splits the document into runs of consecutive pages that are all selected or all unselected,
+   * in page order. Selected runs hold at most {@code chunkSize} pages.
+   */
+  static List<int[]> pageRuns(boolean[] mask, int chunkSize) {
+    List<int[]> runs = new ArrayList<>();
+    int start = 0;
+    while (start < mask.length) {
+      int end = start + 1;
+      while (end < mask.length && mask[end] == mask[start]
+        && (!mask[start] || end - start < chunkSize)) {
+        end++;
+      }
+      int[] run = new int[end - start];
+      for (int i = 0; i < run.length; i++) {
+        run[i] = start + i;
+      }
+      runs.add(run);
+      start = end;
+    }
+    return runs;
+  }
+
+  /**
+   * Returns the selected pages, or every page when none are selected.
+   */
+  static int[] resolvePageSelection(@Nullable int[] pages, int pageCount) {
+    if (pages == null || pages.length == 0) {
+      int[] all = new int[pageCount];
+      for (int i = 0; i < pageCount; i++) {
+        all[i] = i;
+      }
+      return all;
+    }
+    for (int pageIndex : pages) {
+      if (!isValidSourcePageIndex(pageIndex, pageCount)) {
+        throw new IllegalArgumentException("Invalid page index: " + pageIndex);
+      }
+    }
+    return pages.clone();
+  }
+
   /**
    * Handles reload pages.
    */
@@ -477,11 +855,150 @@ final class RnDocumentOps {
    */
   void importDocument(RnPdfViewContext context, String filePath, String password, int[] pages,
     int insertPosition, Promise promise) {
-    try {
-      if (!isReaderAvailable(context) || !isDocumentAvailable(context)) {
-        promise.reject("IMPORT_DOCUMENT_FAIL", "DocumentView is unavailable");
+    if (!isReaderAvailable(context) || !isDocumentAvailable(context)) {
+      promise.reject("IMPORT_DOCUMENT_FAIL", "DocumentView is unavailable");
+      return;
+    }
+    // Pages change under the views, so this runs on the main thread but still waits for
+    // running saves and exports of the document.
+    documentExecutor.executeWriteOnMain(context.document,
+      () -> importPages(context, filePath, password, pages, insertPosition, promise));
+  }
+
+  /**
+   * Imports an ordered list of {file_path, password, pages} sources into the document. The
+   * sources are opened and copied into a staging document on a worker thread, emitting
+   * onMergeProgress per source; the staged pages then go into the displayed document in one
+   * import on the main thread, followed by a single reload.
+   */
+  void mergeDocuments(RnPdfViewContext context, ReadableArray sources,
+    @Nullable ReadableMap options, Promise promise) {
+    if (!isReaderAvailable(context) || !isDocumentAvailable(context)) {
+      promise.reject("MERGE_DOCUMENTS_FAIL", "DocumentView is unavailable");
+      return;
+    }
+    int total = sources == null ? 0 : sources.size();
+    List<ReadableMap> sourceMaps = new ArrayList<>(total);
+    for (int i = 0; i < total; i++) {
+      ReadableMap source = sources.getMap(i);
+      if (source == null || TextUtils.isEmpty(getString(source, "file_path", null))) {
+        promise.reject("MERGE_DOCUMENTS_FAIL", "file_path is empty at source " + i);
+        return;
+      }
+      sourceMaps.add(source);
+    }
+    int requestedPosition = options != null && options.hasKey("insert_position")
+      && !options.isNull("insert_position") ? options.getInt("insert_position") : -1;
+    CPDFDocument document = context.document;
+    CThreadPoolUtils.getInstance().executeIO(() -> {
+      CPDFDocument staging;
+      try {
+        staging = CPDFDocument.createDocument(reactContext);
+      } catch (Exception e) {
+        promise.reject("MERGE_DOCUMENTS_FAIL", e.getMessage());
         return;
       }
+      WritableArray results = Arguments.createArray();
+      int failed = 0;
+      for (int i = 0; i < total; i++) {
+        ReadableMap source = sourceMaps.get(i);
+        String filePath = getString(source, "file_path", null);
+        WritableMap result = Arguments.createMap();
+        result.putInt("sourceIndex", i);
+        result.putString("filePath", filePath);
+        int imported = 0;
+        try {
+          imported = importSource(staging, filePath, getString(source, "password", ""),
+            source.hasKey("pages") && !source.isNull("pages") ? source.getArray("pages") : null,
+            staging.getPageCount());
+          result.putBoolean("success", true);
+        } catch (Exception e) {
+          failed++;
+          result.putBoolean("success", false);
+          result.putString("error", String.valueOf(e.getMessage()));
+        }
+        result.putInt("importedPages", imported);
+        WritableMap progress = Arguments.createMap();
+        progress.merge(result);
+        progress.putInt("completed", i + 1);
+        progress.putInt("total", total);
+        results.pushMap(result);
+        if (context.view != null) {
+          context.view.emitMapEvent(RnPdfView.EVENT_MERGE_PROGRESS, progress);
+        }
+      }
+      int failedSources = failed;
+      documentExecutor.executeWriteOnMain(document, () -> {
+        try {
+          int stagedPages = staging.getPageCount();
+          if (stagedPages > 0) {
+            int insertPosition = requestedPosition < 0 ? document.getPageCount()
+              : Math.min(requestedPosition, document.getPageCount());
+            int[] pages = new int[stagedPages];
+            for (int i = 0; i < stagedPages; i++) {
+              pages[i] = i;
+            }
+            boolean imported = document.importPages(staging, pages, insertPosition);
+            invalidatePages(context);
+            context.readerView.reloadPages();
+            updatePageIndicatorView(document, context.viewCtrl);
+            if (!imported) {
+              promise.reject("MERGE_DOCUMENTS_FAIL", "import pages fail");
+              return;
+            }
+          }
+          WritableMap summary = Arguments.createMap();
+          summary.putBoolean("success", failedSources == 0);
+          summary.putInt("importedPages", stagedPages);
+          summary.putInt("pageCount", document.getPageCount());
+          summary.putArray("sources", results);
+          promise.resolve(summary);
+        } catch (Exception e) {
+          promise.reject("MERGE_DOCUMENTS_FAIL", e.getMessage());
+        } finally {
+          staging.close();
+        }
+      });
+    });
+  }
+
+  /**
+   * Opens one merge source, imports the selected pages into the target document at the position
+   * and returns how many pages were imported.
+   */
+  private int importSource(CPDFDocument target, String filePath, String password,
+    @Nullable ReadableArray pagesArray, int insertPosition) {
+    String sourcePath = RnDocumentSourceResolver.getImportFilePath(reactContext, filePath);
+    CPDFDocument source = new CPDFDocument(reactContext);
+    try {
+      PDFDocumentError error = source.open(sourcePath, password);
+      if (error != PDFDocumentError.PDFDocumentErrorSuccess) {
+        throw new IllegalStateException("open import document fail, error:" + error.name());
+      }
+      int pageCount = source.getPageCount();
+      boolean allPages = pagesArray == null || pagesArray.size() == 0;
+      int[] pages = new int[allPages ? pageCount : pagesArray.size()];
+      for (int j = 0; j < pages.length; j++) {
+        pages[j] = allPages ? j : pagesArray.getInt(j);
+        if (!isValidSourcePageIndex(pages[j], pageCount)) {
+          throw new IllegalArgumentException("Invalid page index: " + pages[j]);
+        }
+      }
+      if (pages.length > 0 && !target.importPages(source, pages, insertPosition)) {
+        throw new IllegalStateException("import pages fail");
+      }
+      return pages.length;
+    } finally {
+      source.close();
+    }
+  }
+
+  /**
+   * Imports the pages into the document and reloads the reader.
+   */
+  private void importPages(RnPdfViewContext context, String filePath, String password,
+    int[] pages, int insertPosition, Promise promise) {
+    try {
       CPDFDocument document = context.document;
       CPDFDocument importDocument = new CPDFDocument(reactContext);
       String importDocumentPath = RnDocumentSourceResolver.getImportFilePath(reactContext, filePath);
@@ -501,6 +1018,7 @@ final class RnDocumentOps {
         insertPosition = document.getPageCount();
       }
       boolean importResult = document.importPages(importDocument, pages, insertPosition);
+      invalidatePages(context);
       promise.resolve(importResult);
       context.readerView.reloadPages();
       updatePageIndicatorView(document, context.viewCtrl);
@@ -527,18 +1045,10 @@ final class RnDocumentOps {
         }
       }
       int[] finalPages = pages;
-      CThreadPoolUtils.getInstance().executeIO(() -> {
+      documentExecutor.executeRead(document, () -> {
         try {
-          CPDFDocument newDocument = CPDFDocument.createDocument(reactContext);
-          newDocument.importPages(document, finalPages, 0);
-          boolean saveResult;
-          if (RnDocumentSourceResolver.isContentSource(savePath)) {
-            saveResult = newDocument.saveAs(Uri.parse(savePath), false, true);
-          } else {
-            saveResult = newDocument.saveAs(savePath, false, false, true);
-          }
-          promise.resolve(saveResult);
-          newDocument.close();
+          promise.resolve(
+            RnDocumentSplitter.writePages(reactContext, document, finalPages, savePath));
         } catch (CPDFDocumentException e) {
           promise.reject("SPLIT_DOCUMENT_FAIL", "error:" + e.getErrType().name());
         }
@@ -548,6 +1058,61 @@ final class RnDocumentOps {
     }
   }
 
+  /**
+   * Writes each {pages, save_path} job to its own file on background threads, reporting every
+   * finished file through onSplitProgress, and resolves the results in job order.
+   */
+  void splitDocumentPages(RnPdfViewContext context, ReadableArray jobsArray,
+    @Nullable ReadableMap options, Promise promise) {
+    if (!isDocumentAvailable(context)) {
+      promise.reject("SPLIT_DOCUMENT_FAIL", "Document unavailable");
+      return;
+    }
+    CPDFDocument document = context.document;
+    int pageCount = document.getPageCount();
+    List<RnDocumentSplitter.Job> jobs = new ArrayList<>();
+    for (int i = 0; jobsArray != null && i < jobsArray.size(); i++) {
+      ReadableMap job = jobsArray.getMap(i);
+      String savePath = job == null ? null : getString(job, "save_path", null);
+      if (TextUtils.isEmpty(savePath)) {
+        promise.reject("SPLIT_DOCUMENT_FAIL", "save_path is empty at job " + i);
+        return;
+      }
+      ReadableArray pagesArray = job.hasKey("pages") && !job.isNull("pages")
+        ? job.getArray("pages") : null;
+      int[] pages = new int[pagesArray == null || pagesArray.size() == 0 ? pageCount
+        : pagesArray.size()];
+      for (int j = 0; j < pages.length; j++) {
+        pages[j] = pagesArray == null || pagesArray.size() == 0 ? j : pagesArray.getInt(j);
+        if (!isValidSourcePageIndex(pages[j], pageCount)) {
+          promise.reject("SPLIT_DOCUMENT_FAIL", "Invalid page index: " + pages[j]);
+          return;
+        }
+      }
+      jobs.add(new RnDocumentSplitter.Job(pages, savePath));
+    }
+    int parallelism = options != null && options.hasKey("max_parallel")
+      && !options.isNull("max_parallel")
+      ? options.getInt("max_parallel")
+      : documentSplitter.defaultParallelism();
+    RnPdfView view = context.view;
+    documentExecutor.executeRead(document, () -> {
+      try {
+        promise.resolve(documentSplitter.split(document, jobs, parallelism,
+          progress -> {
+            if (view != null) {
+              view.emitMapEvent(RnPdfView.EVENT_SPLIT_PROGRESS, progress);
+            }
+          }));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        promise.reject("SPLIT_DOCUMENT_FAIL", "Split was interrupted");
+      } catch (Exception e) {
+        promise.reject("SPLIT_DOCUMENT_FAIL", "error:" + e.getMessage());
+      }
+    });
+  }
+
   /**
    * Extracts document images into the specified directory.
    */
@@ -573,7 +1138,7 @@ final class RnDocumentOps {
       }
     }
 
-    CThreadPoolUtils.getInstance().executeIO(() -> {
+    documentExecutor.executeRead(document, () -> {
       try {
         File outputDirectory = new File(directoryPath);
         if (outputDirectory.exists() && !outputDirectory.isDirectory()) {
@@ -661,6 +1226,7 @@ final class RnDocumentOps {
       return false;
     }
     CPDFPage page = context.document.insertBlankPage(pageIndex, width, height);
+    invalidatePages(context);
     boolean isValid = page != null && page.isValid();
     if (isValid) {
       context.readerView.reloadPages();
@@ -682,6 +1248,7 @@ final class RnDocumentOps {
     Log.d("ComPDFKit", "insertImagePage source:" + imagePath);
     CPDFPage page = context.document.insertPageWithImagePath(pageIndex, width, height,
       resolvedImagePath, PDFDocumentImageMode.PDFDocumentImageModeScaleAspectFit);
+    invalidatePages(context);
     boolean isValid = page != null && page.isValid();
     if (isValid) {
       updatePageIndicatorView(context.document, context.viewCtrl);
@@ -696,7 +1263,9 @@ final class RnDocumentOps {
     if (!isDocumentAvailable(context)) {
       return false;
     }
-    return context.document.removePages(pages);
+    boolean removed = context.document.removePages(pages);
+    invalidatePages(context);
+    return removed;
   }
 
   void createWatermark(RnPdfViewContext context, ReadableMap info, Promise promise) {
@@ -715,7 +1284,7 @@ final class RnDocumentOps {
       return;
     }
     if (type == CPDFWatermark.Type.WATERMARK_TYPE_IMG) {
-      loadImageInfo(info, promise, imageInfo -> {
+      loadImageInfo(context, info, promise, imageInfo -> {
         CPDFWatermark watermark = context.document.createWatermark(type);
         if (watermark == null || !applyWatermark(info, watermark, imageInfo)) {
           promise.reject(ERROR_WATERMARK_FAIL, "Failed to create watermark");
@@ -794,7 +1363,7 @@ final class RnDocumentOps {
     }
     if (watermark.getType() == CPDFWatermark.Type.WATERMARK_TYPE_IMG
       && !TextUtils.isEmpty(getString(info, "image_path", ""))) {
-      loadImageInfo(info, promise, imageInfo -> {
+      loadImageInfo(context, info, promise, imageInfo -> {
         boolean success = applyWatermark(info, watermark, imageInfo);
         if (success) {
           success = watermark.update();
@@ -935,15 +1504,30 @@ final class RnDocumentOps {
     }
   }
 
-  private void loadImageInfo(ReadableMap info, Promise promise, ImageCallback callback) {
+  /**
+   * Decodes the watermark image and hands it to the callback. Without a view the caller already
+   * holds the document's write slot on a worker thread, so the image is decoded and applied
+   * there; otherwise decoding moves off the main thread and the callback is posted back.
+   */
+  private void loadImageInfo(RnPdfViewContext context, ReadableMap info, Promise promise,
+    ImageCallback callback) {
     String imagePath = getString(info, "image_path", "");
     if (TextUtils.isEmpty(imagePath)) {
       promise.reject(ERROR_WATERMARK_FAIL, "Image path is empty");
       return;
     }
+    if (context.readerView == null) {
+      ImageInfo imageInfo = decodeImageInfo(imagePath);
+      if (imageInfo == null) {
+        promise.reject(ERROR_WATERMARK_FAIL, "Failed to decode image");
+        return;
+      }
+      callback.onImageLoaded(imageInfo);
+      return;
+    }
     CThreadPoolUtils.getInstance().executeIO(() -> {
       ImageInfo imageInfo = decodeImageInfo(imagePath);
-      MAIN_HANDLER.post(() -> {
+      documentExecutor.executeWriteOnMain(context.document, () -> {
         if (imageInfo == null) {
           promise.reject(ERROR_WATERMARK_FAIL, "Failed to decode image");
           return;
@@ -1057,7 +1641,20 @@ final class RnDocumentOps {
     return map != null && map.hasKey(key) && !map.isNull(key) ? map.getBoolean(key) : defaultValue;
   }
 
+  /**
+   * Drops the cached renders and indexed annotations and resets the change log after pages were
+   * restructured or their annotations replaced in bulk.
+   */
+  private void invalidatePages(RnPdfViewContext context) {
+    renderCache.invalidateDocument(context.document);
+    context.pageUtil.invalidateAllAnnotations();
+    context.pageUtil.recordAnnotationsReset();
+  }
+
   private void reloadPagesIfAttached(RnPdfViewContext context) {
+    if (context != null) {
+      renderCache.invalidateDocument(context.document);
+    }
     if (context != null && context.readerView != null) {
       context.readerView.reloadPages2();
     }
@@ -1110,6 +1707,7 @@ final class RnDocumentOps {
       return false;
     }
     CPDFPage copiedPage = document.copyPage(pageIndex, normalizedInsertIndex);
+    invalidatePages(context);
     boolean copied = copiedPage != null && copiedPage.isValid();
     if (copied) {
       context.readerView.reloadPages();
@@ -1125,7 +1723,9 @@ final class RnDocumentOps {
     if (!isDocumentAvailable(context)) {
       return false;
     }
-    return context.document.movePage(fromIndex, toIndex);
+    boolean moved = context.document.movePage(fromIndex, toIndex);
+    invalidatePages(context);
+    return moved;
   }
 
   /**
@@ -1142,6 +1742,7 @@ final class RnDocumentOps {
       return;
     }
     boolean setRotationResult = cpdfPage.setRotation(rotation);
+    renderCache.invalidatePage(context.document, pageIndex);
     promise.resolve(setRotationResult);
   }
 
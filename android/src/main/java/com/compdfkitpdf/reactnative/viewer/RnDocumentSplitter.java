@@ -0,0 +1,195 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.content.Context;
+import android.net.Uri;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.common.CPDFDocumentException;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkitpdf.reactnative.util.RnDocumentSourceResolver;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes page sets of one document to separate files. The pages are copied from the source one
+ * file at a time, and the copies are saved several at a time.
+ */
+final class RnDocumentSplitter {
+
+  /**
+   * Receives the result of each finished file on split threads, or on the calling thread when
+   * its pages could not be copied.
+   */
+  interface Listener {
+
+    /**
+     * Handles one written or failed file.
+     */
+    void onJobFinished(WritableMap progress);
+  }
+
+  /**
+   * One output file and the pages written to it.
+   */
+  static final class Job {
+
+    final int[] pages;
+    final String savePath;
+
+    /**
+     * Creates a new Job instance.
+     */
+    Job(int[] pages, String savePath) {
+      this.pages = pages;
+      this.savePath = savePath;
+    }
+  }
+
+  private final Context context;
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Creates a new RnDocumentSplitter instance.
+   */
+  RnDocumentSplitter(Context context) {
+    this.context = context;
+    this.executor = RnWorkerPool.newPool("split", RnWorkerPool.defaultWorkerCount());
+  }
+
+  /**
+   * Returns the number of files written at once when the caller does not choose.
+   */
+  int defaultParallelism() {
+    return executor.getMaximumPoolSize();
+  }
+
+  /**
+   * Writes every job with at most {@code parallelism} files in flight and returns the results
+   * in job order. Pages are copied out of the source one job at a time on the calling thread,
+   * which holds the source's document slot, and only the saves of the copies run in parallel.
+   * Blocks until all jobs finished.
+   */
+  WritableArray split(CPDFDocument source, List<Job> jobs, int parallelism, Listener listener)
+    throws InterruptedException {
+    int total = jobs.size();
+    WritableMap[] results = new WritableMap[total];
+    int workers = Math.max(1, Math.min(Math.min(parallelism, executor.getMaximumPoolSize()),
+      total));
+    Semaphore inFlight = new Semaphore(workers);
+    AtomicInteger completed = new AtomicInteger();
+    CountDownLatch finished = new CountDownLatch(total);
+    for (int i = 0; i < total; i++) {
+      int index = i;
+      Job job = jobs.get(index);
+      inFlight.acquire();
+      CPDFDocument copy;
+      try {
+        copy = copyPages(context, source, job.pages);
+      } catch (Exception e) {
+        finish(results, index, job, false, e, completed, listener);
+        inFlight.release();
+        finished.countDown();
+        continue;
+      }
+      executor.execute(() -> {
+        boolean success = false;
+        Exception failure = null;
+        try {
+          success = save(copy, job.savePath);
+        } catch (Exception e) {
+          failure = e;
+        } finally {
+          copy.close();
+        }
+        try {
+          finish(results, index, job, success, failure, completed, listener);
+        } finally {
+          inFlight.release();
+          finished.countDown();
+        }
+      });
+    }
+    finished.await();
+    WritableArray array = Arguments.createArray();
+    for (WritableMap result : results) {
+      array.pushMap(result);
+    }
+    return array;
+  }
+
+  /**
+   * Stores the result of the job and reports it with the overall progress.
+   */
+  private static void finish(WritableMap[] results, int index, Job job, boolean success,
+    @Nullable Exception error, AtomicInteger completed, Listener listener) {
+    WritableMap result = Arguments.createMap();
+    result.putInt("jobIndex", index);
+    result.putString("savePath", job.savePath);
+    result.putBoolean("success", success);
+    if (error != null) {
+      result.putString("error", error instanceof CPDFDocumentException
+        ? ((CPDFDocumentException) error).getErrType().name()
+        : String.valueOf(error.getMessage()));
+    }
+    results[index] = result;
+    WritableMap progress = Arguments.createMap();
+    progress.merge(result);
+    progress.putInt("completed", completed.incrementAndGet());
+    progress.putInt("total", results.length);
+    listener.onJobFinished(progress);
+  }
+
+  /**
+   * Copies the pages of the source into a new document saved at the path.
+   */
+  static boolean writePages(Context context, CPDFDocument source, int[] pages, String savePath)
+    throws CPDFDocumentException {
+    CPDFDocument newDocument = copyPages(context, source, pages);
+    try {
+      return save(newDocument, savePath);
+    } finally {
+      newDocument.close();
+    }
+  }
+
+  /**
+   * Returns a new document holding the pages of the source. Reads the source, so it must run
+   * inside the source's document slot and never concurrently with another copy.
+   */
+  private static CPDFDocument copyPages(Context context, CPDFDocument source, int[] pages)
+    throws CPDFDocumentException {
+    CPDFDocument newDocument = CPDFDocument.createDocument(context);
+    try {
+      newDocument.importPages(source, pages, 0);
+      return newDocument;
+    } catch (Exception e) {
+      newDocument.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Saves a copied document to the path or content URI.
+   */
+  private static boolean save(CPDFDocument document, String savePath)
+    throws CPDFDocumentException {
+    if (RnDocumentSourceResolver.isContentSource(savePath)) {
+      return document.saveAs(Uri.parse(savePath), false, true);
+    }
+    return document.saveAs(savePath, false, false, true);
+  }
+}
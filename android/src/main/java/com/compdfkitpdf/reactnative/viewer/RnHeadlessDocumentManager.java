@@ -0,0 +1,306 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkit.core.document.CPDFDocument.PDFDocumentError;
+import com.compdfkit.tools.common.utils.threadpools.CThreadPoolUtils;
+import com.compdfkitpdf.reactnative.util.RnDocumentSourceResolver;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opens documents by handle and runs document operations on them without any view. At most
+ * {@code maxOpenDocuments} stay open; the least recently used one is closed once its queued
+ * work has finished.
+ */
+public class RnHeadlessDocumentManager {
+
+  private static final int DEFAULT_MAX_OPEN_DOCUMENTS = 4;
+
+  private final ReactApplicationContext reactContext;
+  private final RnDocumentExecutor documentExecutor;
+  private final RnDocumentOps documentOps;
+  private final LinkedHashMap<String, RnPdfViewContext> documents =
+    new LinkedHashMap<>(16, 0.75f, true);
+  private int maxOpenDocuments = DEFAULT_MAX_OPEN_DOCUMENTS;
+
+  /**
+   * Creates a new RnHeadlessDocumentManager instance that shares the view manager's render cache.
+   */
+  public RnHeadlessDocumentManager(ReactApplicationContext reactContext,
+    RnPdfViewManager viewManager) {
+    this.reactContext = reactContext;
+    this.documentExecutor = new RnDocumentExecutor();
+    this.documentOps = new RnDocumentOps(reactContext, viewManager.renderCache, documentExecutor);
+  }
+
+  /**
+   * Sets how many documents may stay open, closing the least recently used beyond it.
+   */
+  public void setMaxOpenDocuments(int maxOpenDocuments) {
+    List<RnPdfViewContext> evicted;
+    synchronized (documents) {
+      this.maxOpenDocuments = Math.max(1, maxOpenDocuments);
+      evicted = trimLocked();
+    }
+    closeAll(evicted);
+  }
+
+  /**
+   * Opens the document on a background thread and resolves its handle.
+   */
+  public void open(String filePath, @Nullable String password, Promise promise) {
+    if (TextUtils.isEmpty(filePath)) {
+      promise.reject("OPEN_DOCUMENT_FAIL", "file_path is empty");
+      return;
+    }
+    CThreadPoolUtils.getInstance().executeIO(() -> {
+      try {
+        String path = RnDocumentSourceResolver.getImportFilePath(reactContext, filePath);
+        CPDFDocument document = new CPDFDocument(reactContext);
+        PDFDocumentError error = document.open(path, password == null ? "" : password);
+        if (error != PDFDocumentError.PDFDocumentErrorSuccess) {
+          document.close();
+          promise.reject("OPEN_DOCUMENT_FAIL", "open document fail, error:" + error.name());
+          return;
+        }
+        String handle = UUID.randomUUID().toString();
+        List<RnPdfViewContext> evicted;
+        synchronized (documents) {
+          documents.put(handle, new RnPdfViewContext(document));
+          evicted = trimLocked();
+        }
+        closeAll(evicted);
+        promise.resolve(handle);
+      } catch (Exception e) {
+        promise.reject("OPEN_DOCUMENT_FAIL", e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Closes the document once its queued work has finished.
+   */
+  public boolean close(String handle) {
+    RnPdfViewContext context;
+    synchronized (documents) {
+      context = documents.remove(handle);
+    }
+    if (context == null) {
+      return false;
+    }
+    closeLater(context);
+    return true;
+  }
+
+  /**
+   * Closes every open document.
+   */
+  public void closeAll() {
+    List<RnPdfViewContext> closed;
+    synchronized (documents) {
+      closed = new ArrayList<>(documents.values());
+      documents.clear();
+    }
+    closeAll(closed);
+  }
+
+  /**
+   * Returns the handles of the open documents, most recently used last.
+   */
+  public List<String> getOpenHandles() {
+    synchronized (documents) {
+      return new ArrayList<>(documents.keySet());
+    }
+  }
+
+  /**
+   * Resolves the page count.
+   */
+  public void getPageCount(String handle, Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentExecutor.executeRead(context.document,
+        () -> promise.resolve(documentOps.getPageCount(context)));
+    }
+  }
+
+  /**
+   * Flattens all pages and saves the document to the path.
+   */
+  public void flattenAllPages(String handle, String savePath, boolean fontSubset,
+    Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentExecutor.executeWrite(context.document,
+        () -> documentOps.flattenAllPages(context, savePath, fontSubset, promise));
+    }
+  }
+
+  /**
+   * Saves a copy of the document with the selected pages flattened to the path.
+   */
+  public void flattenPages(String handle, int[] pages, String savePath,
+    @Nullable ReadableMap options, Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentOps.flattenPages(context, pages, savePath, options, promise);
+    }
+  }
+
+  /**
+   * Adds a text or image watermark.
+   */
+  public void createWatermark(String handle, ReadableMap info, Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentExecutor.executeWrite(context.document,
+        () -> documentOps.createWatermark(context, info, promise));
+    }
+  }
+
+  /**
+   * Saves the document to the path.
+   */
+  public void saveAs(String handle, String savePath, boolean removeSecurity, boolean fontSubset,
+    Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentOps.saveAs(context, savePath, removeSecurity, fontSubset, promise);
+    }
+  }
+
+  /**
+   * Writes each {pages, save_path} job to its own file.
+   */
+  public void splitDocumentPages(String handle, ReadableArray jobs, @Nullable ReadableMap options,
+    Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentOps.splitDocumentPages(context, jobs, options, promise);
+    }
+  }
+
+  /**
+   * Extracts the images of the pages into the directory.
+   */
+  public void extractImages(String handle, String directoryPath, int[] pages, Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentOps.extractImages(context, directoryPath, pages, promise);
+    }
+  }
+
+  /**
+   * Exports the annotations to an XFDF file and resolves its path.
+   */
+  public void exportAnnotations(String handle, Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentExecutor.executeRead(context.document, () -> {
+        try {
+          promise.resolve(documentOps.exportAnnotations(context));
+        } catch (Exception e) {
+          promise.reject("EXPORT_ANNOTATIONS_FAIL", e.getMessage());
+        }
+      });
+    }
+  }
+
+  /**
+   * Imports the annotations of an XFDF file.
+   */
+  public void importAnnotations(String handle, String xfdfFilePath, Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentExecutor.executeWrite(context.document, () -> {
+        try {
+          promise.resolve(documentOps.importAnnotations(context, xfdfFilePath));
+        } catch (Exception e) {
+          promise.reject("IMPORT_ANNOTATIONS_FAIL", e.getMessage());
+        }
+      });
+    }
+  }
+
+  /**
+   * Exports the form fields to an XFDF file and resolves its path.
+   */
+  public void exportWidgets(String handle, Promise promise) {
+    RnPdfViewContext context = require(handle, promise);
+    if (context != null) {
+      documentExecutor.executeRead(context.document, () -> {
+        try {
+          promise.resolve(documentOps.exportWidgets(context));
+        } catch (Exception e) {
+          promise.reject("EXPORT_WIDGETS_FAIL", e.getMessage());
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the context of the handle, marking it recently used, or rejects the promise.
+   */
+  @Nullable
+  private RnPdfViewContext require(String handle, Promise promise) {
+    RnPdfViewContext context;
+    synchronized (documents) {
+      context = handle == null ? null : documents.get(handle);
+    }
+    if (context == null) {
+      promise.reject("DOCUMENT_NOT_OPEN", "No open document for handle: " + handle);
+    }
+    return context;
+  }
+
+  /**
+   * Removes the least recently used documents beyond the limit.
+   */
+  private List<RnPdfViewContext> trimLocked() {
+    List<RnPdfViewContext> evicted = new ArrayList<>();
+    Iterator<Map.Entry<String, RnPdfViewContext>> iterator = documents.entrySet().iterator();
+    while (documents.size() > maxOpenDocuments && iterator.hasNext()) {
+      evicted.add(iterator.next().getValue());
+      iterator.remove();
+    }
+    return evicted;
+  }
+
+  /**
+   * Closes the documents once their queued work has finished.
+   */
+  private void closeAll(List<RnPdfViewContext> contexts) {
+    for (RnPdfViewContext context : contexts) {
+      closeLater(context);
+    }
+  }
+
+  /**
+   * Queues the close behind the document's pending work.
+   */
+  private void closeLater(RnPdfViewContext context) {
+    documentExecutor.executeWrite(context.document, () -> {
+      context.pageUtil.setDocument(null);
+      context.document.close();
+    });
+  }
+}
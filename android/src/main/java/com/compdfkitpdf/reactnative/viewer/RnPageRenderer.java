@@ -0,0 +1,273 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.graphics.Bitmap;
+import android.graphics.RectF;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.document.CPDFDocument;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Renders pages on the document queue into pooled bitmaps and encodes them on bounded worker
+ * threads, sharing one render between identical concurrent requests.
+ */
+final class RnPageRenderer {
+
+  private static final int MAX_RENDER_WORKERS = 2;
+
+  private static final int POOL_MEMORY_FRACTION = 16;
+
+  /**
+   * Describes one page render.
+   */
+  static final class Request {
+
+    final CPDFDocument document;
+    final int pageIndex;
+    final int width;
+    final int height;
+    final int backgroundColor;
+    final boolean drawAnnot;
+    final boolean drawForm;
+
+    /**
+     * Creates a new Request instance.
+     */
+    Request(CPDFDocument document, int pageIndex, int width, int height, int backgroundColor,
+      boolean drawAnnot, boolean drawForm) {
+      this.document = document;
+      this.pageIndex = pageIndex;
+      this.width = width;
+      this.height = height;
+      this.backgroundColor = backgroundColor;
+      this.drawAnnot = drawAnnot;
+      this.drawForm = drawForm;
+    }
+
+    /**
+     * Returns the key shared by requests that produce the same pixels.
+     */
+    String key() {
+      return RnRenderCache.documentId(document) + "|" + pageIndex + "|" + width + "x" + height
+        + "|" + Integer.toHexString(backgroundColor) + "|" + drawAnnot + "|" + drawForm;
+    }
+  }
+
+  /**
+   * Consumes a rendered bitmap. The bitmap is returned to the pool afterwards and must not be kept.
+   */
+  interface Consumer {
+
+    /**
+     * Handles the rendered bitmap on the render thread.
+     */
+    void onRendered(Bitmap bitmap) throws Exception;
+
+    /**
+     * Handles a failed render.
+     */
+    void onError(Exception e);
+  }
+
+  /**
+   * Consumes an encoded render, either cached or freshly rendered.
+   */
+  interface EncodedConsumer {
+
+    /**
+     * Handles the encoded render on a render thread.
+     */
+    void onEncoded(RnRenderCache.Entry entry) throws Exception;
+
+    /**
+     * Handles a failed render.
+     */
+    void onError(Exception e);
+  }
+
+  private final RnBitmapPool bitmapPool;
+  private final RnRenderCache renderCache;
+  private final RnDocumentExecutor documentExecutor;
+  private final ThreadPoolExecutor executor;
+  private final ConcurrentHashMap<String, List<Consumer>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new RnPageRenderer instance.
+   */
+  RnPageRenderer(RnRenderCache renderCache, RnDocumentExecutor documentExecutor) {
+    this.renderCache = renderCache;
+    this.documentExecutor = documentExecutor;
+    this.bitmapPool = new RnBitmapPool(Runtime.getRuntime().maxMemory() / POOL_MEMORY_FRACTION);
+    this.executor = RnWorkerPool.newPool("render",
+      Math.min(MAX_RENDER_WORKERS, RnWorkerPool.defaultWorkerCount()));
+  }
+
+  /**
+   * Queues the render, joining an identical render that is already queued or running.
+   */
+  void render(Request request, Consumer consumer) {
+    String key = request.key();
+    synchronized (inFlight) {
+      List<Consumer> waiting = inFlight.get(key);
+      if (waiting != null) {
+        waiting.add(consumer);
+        return;
+      }
+      waiting = new ArrayList<>();
+      waiting.add(consumer);
+      inFlight.put(key, waiting);
+    }
+    documentExecutor.executeRead(request.document, () -> {
+      Bitmap bitmap = null;
+      Exception error = null;
+      try {
+        bitmap = renderBitmap(request);
+      } catch (Exception e) {
+        error = e;
+      }
+      Bitmap rendered = bitmap;
+      Exception failure = error;
+      executor.execute(() -> deliver(key, rendered, failure));
+    });
+  }
+
+  /**
+   * Serves the encoded render from the render cache, rendering and caching it on a miss.
+   */
+  void renderEncoded(Request request, Bitmap.CompressFormat format, int quality,
+    EncodedConsumer consumer) {
+    String encoding = (format == Bitmap.CompressFormat.JPEG ? "jpeg" : "png") + quality;
+    documentExecutor.executeRead(request.document, () -> {
+      RnRenderCache.Slot slot;
+      RnRenderCache.Entry cached;
+      try {
+        slot = renderCache.slot(request, encoding);
+        cached = renderCache.get(slot);
+      } catch (Exception e) {
+        executor.execute(() -> consumer.onError(e));
+        return;
+      }
+      if (cached != null) {
+        executor.execute(() -> {
+          try {
+            consumer.onEncoded(cached);
+          } catch (Exception e) {
+            consumer.onError(e);
+          }
+        });
+        return;
+      }
+      render(request, new Consumer() {
+        /**
+         * Handles on rendered.
+         */
+        @Override
+        public void onRendered(Bitmap bitmap) throws Exception {
+          ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+          bitmap.compress(format, quality, outputStream);
+          RnRenderCache.Entry entry = new RnRenderCache.Entry(outputStream.toByteArray(),
+            bitmap.getWidth(), bitmap.getHeight());
+          renderCache.put(slot, entry);
+          consumer.onEncoded(entry);
+        }
+
+        /**
+         * Handles on error.
+         */
+        @Override
+        public void onError(Exception e) {
+          consumer.onError(e);
+        }
+      });
+    });
+  }
+
+  /**
+   * Hands the rendered bitmap, or the failure, to every consumer waiting on the key.
+   */
+  private void deliver(String key, @Nullable Bitmap bitmap, @Nullable Exception error) {
+    List<Consumer> consumers;
+    synchronized (inFlight) {
+      consumers = inFlight.remove(key);
+    }
+    if (consumers == null) {
+      consumers = new ArrayList<>();
+    }
+    try {
+      for (Consumer consumer : consumers) {
+        if (error != null) {
+          consumer.onError(error);
+          continue;
+        }
+        try {
+          consumer.onRendered(bitmap);
+        } catch (Exception e) {
+          consumer.onError(e);
+        }
+      }
+    } finally {
+      bitmapPool.release(bitmap);
+    }
+  }
+
+  /**
+   * Renders the page into a pooled bitmap.
+   */
+  private Bitmap renderBitmap(Request request) {
+    CPDFDocument document = request.document;
+    if (request.pageIndex < 0 || request.pageIndex >= document.getPageCount()) {
+      throw new IllegalArgumentException("Invalid page index: " + request.pageIndex);
+    }
+    int[] size = resolveSize(document, request.pageIndex, request.width, request.height);
+    Bitmap bitmap = bitmapPool.acquire(size[0], size[1]);
+    try {
+      if (!renderInto(request, bitmap)) {
+        throw new IllegalStateException("Failed to render page " + request.pageIndex);
+      }
+      return bitmap;
+    } catch (RuntimeException e) {
+      bitmapPool.release(bitmap);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the render size, deriving a missing side from the page aspect ratio.
+   */
+  private static int[] resolveSize(CPDFDocument document, int pageIndex, int width, int height) {
+    if (width > 0 && height > 0) {
+      return new int[]{width, height};
+    }
+    RectF pageSize = document.getPageSize(pageIndex);
+    float pageWidth = Math.max(1f, pageSize.width());
+    float pageHeight = Math.max(1f, pageSize.height());
+    if (width > 0) {
+      return new int[]{width, Math.max(1, Math.round(width * pageHeight / pageWidth))};
+    }
+    if (height > 0) {
+      return new int[]{Math.max(1, Math.round(height * pageWidth / pageHeight)), height};
+    }
+    return new int[]{Math.max(1, Math.round(pageWidth)), Math.max(1, Math.round(pageHeight))};
+  }
+
+  /**
+   * Draws the page over the full bitmap.
+   */
+  private boolean renderInto(Request request, Bitmap bitmap) {
+    return request.document.renderPageBitmap(request.pageIndex, bitmap, 0, 0,
+      bitmap.getWidth(), bitmap.getHeight(), request.backgroundColor, 255, 0,
+      request.drawAnnot, request.drawForm);
+  }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.content.Context;
+import android.net.Uri;
+import androidx.annotation.Nullable;
+import androidx.documentfile.provider.DocumentFile;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkitpdf.reactnative.util.RnDocumentSourceResolver;
+import com.compdfkitpdf.reactnative.util.RnFileUtils;
+import com.compdfkitpdf.reactnative.util.RnPageTextMapper;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.json.JSONObject;
+
+/**
+ * Extracts the text of many pages on the document queue, returning batches or streaming to a file.
+ */
+final class RnPageTextExtractor {
+
+  static final String EXTRACT_PAGES_TEXT_FAIL = "EXTRACT_PAGES_TEXT_FAIL";
+
+  static final String FORMAT_JSON_LINES = "jsonl";
+
+  static final String FORMAT_TEXT = "text";
+
+  private static final String PAGE_SEPARATOR = "\f";
+
+  /**
+   * Picks the pages to extract once the extraction holds the document.
+   */
+  interface PageSelection {
+
+    /**
+     * Returns the page indexes to extract from a document with the given page count.
+     */
+    int[] resolve(int pageCount);
+  }
+
+  private final Context context;
+  private final RnDocumentExecutor documentExecutor;
+
+  /**
+   * Creates a new RnPageTextExtractor instance.
+   */
+  RnPageTextExtractor(Context context, RnDocumentExecutor documentExecutor) {
+    this.context = context;
+    this.documentExecutor = documentExecutor;
+  }
+
+  /**
+   * Resolves the text of the pages, optionally with their text lines, in page order.
+   */
+  void extract(CPDFDocument document, PageSelection selection, boolean includeLines,
+    Promise promise) {
+    documentExecutor.executeRead(document, () -> {
+      try {
+        int[] pages = selection.resolve(document.getPageCount());
+        WritableArray results = Arguments.createArray();
+        for (int pageIndex : pages) {
+          WritableMap page = Arguments.createMap();
+          page.putInt("pageIndex", pageIndex);
+          page.putString("text", RnPageTextMapper.getPageText(document, pageIndex));
+          if (includeLines) {
+            page.putArray("lines", RnPageTextMapper.getPageTextLines(document, pageIndex));
+          }
+          results.pushMap(page);
+        }
+        promise.resolve(results);
+      } catch (Exception e) {
+        promise.reject(EXTRACT_PAGES_TEXT_FAIL, e);
+      }
+    });
+  }
+
+  /**
+   * Streams the text of the pages as UTF-8 to the output path and resolves the file summary. A
+   * file path is written through a temporary file renamed once every page is written, so a
+   * failed extraction never leaves a partial file behind.
+   */
+  void extractToFile(CPDFDocument document, PageSelection selection, String outputPath,
+    String format, Promise promise) {
+    boolean jsonLines = !FORMAT_TEXT.equals(format);
+    documentExecutor.executeRead(document, () -> {
+      int[] pages;
+      long bytesWritten = 0L;
+      try {
+        pages = selection.resolve(document.getPageCount());
+      } catch (Exception e) {
+        promise.reject(EXTRACT_PAGES_TEXT_FAIL, e);
+        return;
+      }
+      File outputFile = RnDocumentSourceResolver.isContentSource(outputPath) ? null
+        : new File(RnDocumentSourceResolver.isFileSource(outputPath)
+          ? Uri.parse(outputPath).getPath() : outputPath);
+      File tempFile = outputFile == null ? null : new File(outputFile.getPath() + ".tmp");
+      try (OutputStream outputStream = new BufferedOutputStream(RnFileUtils.openOutputStream(
+        context, tempFile == null ? outputPath : tempFile.getPath()))) {
+        for (int i = 0; i < pages.length; i++) {
+          String text = RnPageTextMapper.getPageText(document, pages[i]);
+          String record = jsonLines
+            ? "{\"pageIndex\":" + pages[i] + ",\"text\":" + JSONObject.quote(text) + "}\n"
+            : (i == 0 ? "" : PAGE_SEPARATOR) + text;
+          byte[] data = record.getBytes(StandardCharsets.UTF_8);
+          outputStream.write(data);
+          bytesWritten += data.length;
+        }
+      } catch (Exception e) {
+        discardPartialOutput(outputPath, tempFile);
+        promise.reject(EXTRACT_PAGES_TEXT_FAIL, e);
+        return;
+      }
+      if (tempFile != null && !tempFile.renameTo(outputFile)) {
+        tempFile.delete();
+        promise.reject(EXTRACT_PAGES_TEXT_FAIL, "Unable to write text file: " + outputPath);
+        return;
+      }
+      WritableMap result = Arguments.createMap();
+      result.putString("path", outputPath);
+      result.putString("format", jsonLines ? FORMAT_JSON_LINES : FORMAT_TEXT);
+      result.putInt("pageCount", pages.length);
+      result.putDouble("size", bytesWritten);
+      promise.resolve(result);
+    });
+  }
+
+  /**
+   * Deletes what a failed extraction wrote: the temporary file of a file path, or the document
+   * behind a content URI, which cannot be written through a temporary file.
+   */
+  private void discardPartialOutput(String outputPath, @Nullable File tempFile) {
+    if (tempFile != null) {
+      tempFile.delete();
+      return;
+    }
+    try {
+      DocumentFile file = DocumentFile.fromSingleUri(context, Uri.parse(outputPath));
+      if (file != null) {
+        file.delete();
+      }
+    } catch (Exception ignored) {
+    }
+  }
+
+  /**
+   * Resolves the requested pages from an explicit list or an inclusive start/end range.
+   */
+  static int[] resolvePages(List<?> pages, int startPage, int endPage, int pageCount) {
+    if (pages != null) {
+      int[] pageIndexes = new int[pages.size()];
+      for (int i = 0; i < pageIndexes.length; i++) {
+        Object value = pages.get(i);
+        int pageIndex = value instanceof Number ? ((Number) value).intValue() : -1;
+        if (pageIndex < 0 || pageIndex >= pageCount) {
+          throw new IllegalArgumentException("Invalid page index: " + value);
+        }
+        pageIndexes[i] = pageIndex;
+      }
+      return pageIndexes;
+    }
+    int first = Math.max(0, startPage);
+    int last = endPage < 0 ? pageCount - 1 : Math.min(endPage, pageCount - 1);
+    if (first > last) {
+      return new int[0];
+    }
+    int[] pageIndexes = new int[last - first + 1];
+    for (int i = 0; i < pageIndexes.length; i++) {
+      pageIndexes[i] = first + i;
+    }
+    return pageIndexes;
+  }
+}
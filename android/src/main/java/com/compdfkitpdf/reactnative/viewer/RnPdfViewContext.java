@@ -16,9 +16,11 @@ import com.compdfkitpdf.reactnative.codec.RnPageCodec;
 import com.compdfkitpdf.reactnative.view.RnPdfView;
 
 /**
- * Bundles the native viewer objects associated with a single React Native view instance.
+ * Bundles the native viewer objects associated with a single React Native view instance. One
+ * instance is kept per view tag and reused until the view opens another document or detaches.
+ * Outside this package it is only a handle passed back to {@link RnPdfViewManager}.
  */
-final class RnPdfViewContext {
+public final class RnPdfViewContext {
 
   final RnPdfView view;
   final CPDFReaderView readerView;
@@ -37,4 +39,25 @@ final class RnPdfViewContext {
     this.pageUtil.setDocument(document);
     this.viewCtrl = view.documentFragment == null ? null : view.documentFragment.pdfView;
   }
+
+  /**
+   * Creates a headless context for a document that is not shown by any view.
+   */
+  RnPdfViewContext(CPDFDocument document) {
+    this.view = null;
+    this.readerView = null;
+    this.document = document;
+    this.pageUtil = new RnPageCodec();
+    this.pageUtil.setDocument(document);
+    this.viewCtrl = null;
+  }
+
+  /**
+   * Returns whether the view still shows the document this context was built for.
+   */
+  boolean isCurrent() {
+    return document != null && view != null && readerView != null
+      && view.getCPDFReaderView() == readerView
+      && readerView.getPDFDocument() == document;
+  }
 }
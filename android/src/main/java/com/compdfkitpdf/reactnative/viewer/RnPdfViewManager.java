@@ -10,6 +10,7 @@
 package com.compdfkitpdf.reactnative.viewer;
 
 import android.app.Activity;
+import android.os.Looper;
 import android.util.Log;
 import android.util.SparseArray;
 import android.view.View;
@@ -20,9 +21,8 @@ import com.compdfkit.core.document.CPDFDocument.PDFDocumentPermissions;
 import com.compdfkit.tools.common.pdf.CPDFConfigurationUtils;
 import com.compdfkit.tools.common.pdf.config.CPDFConfiguration;
 import com.compdfkit.tools.common.pdf.config.CPDFWatermarkConfig;
+import com.compdfkit.tools.common.utils.threadpools.CThreadPoolUtils;
 import com.compdfkit.tools.common.views.pdfview.CPreviewMode;
-import com.compdfkit.tools.common.views.pdfview.CPDFViewCtrl.COnSaveCallback;
-import com.compdfkit.tools.common.views.pdfview.CPDFViewCtrl.COnSaveError;
 import com.compdfkit.ui.reader.CPDFReaderView;
 import com.compdfkitpdf.reactnative.view.RnPdfView;
 import com.facebook.react.bridge.Promise;
@@ -46,22 +46,45 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
 
   private SparseArray<RnPdfView> mDocumentViews = new SparseArray<>();
 
+  private final SparseArray<RnPdfViewContext> mViewContexts = new SparseArray<>();
+
+  private final Object mViewLock = new Object();
+
+  private final SparseArray<RnAutoSaveScheduler> mAutoSavers = new SparseArray<>();
+
+  private boolean mCheckpointsPruned;
+
   private final RnDocumentOps documentOps;
   private final RnOutlineBookmarkOps outlineBookmarkOps;
   private final RnViewerOps viewerOps;
   private final RnSearchRenderOps searchRenderOps;
   private final RnAnnotationOps annotationOps;
+  private final RnBatchOps batchOps;
+  private final RnAnnotationImporter annotationImporter;
+  private final RnDocumentExecutor documentExecutor;
+  final RnRenderCache renderCache;
 
   /**
    * Creates a new RnPdfViewManager instance.
    */
   public RnPdfViewManager(ReactApplicationContext context) {
     this.reactContext = context;
-    this.documentOps = new RnDocumentOps(context);
+    this.renderCache = new RnRenderCache(context);
+    this.documentExecutor = new RnDocumentExecutor();
+    this.documentOps = new RnDocumentOps(context, renderCache, documentExecutor);
+    this.documentOps.setOnDocumentSavedListener(viewContext -> {
+      RnAutoSaveScheduler autoSaver = viewContext.view == null ? null
+        : mAutoSavers.get(viewContext.view.getId());
+      if (autoSaver != null) {
+        autoSaver.onDocumentSaved();
+      }
+    });
     this.outlineBookmarkOps = new RnOutlineBookmarkOps();
     this.viewerOps = new RnViewerOps(context);
-    this.searchRenderOps = new RnSearchRenderOps(context);
-    this.annotationOps = new RnAnnotationOps(context);
+    this.searchRenderOps = new RnSearchRenderOps(context, renderCache, documentExecutor);
+    this.annotationOps = new RnAnnotationOps(context, renderCache);
+    this.batchOps = new RnBatchOps(documentOps, viewerOps, annotationOps);
+    this.annotationImporter = new RnAnnotationImporter(documentExecutor, renderCache);
   }
 
   /**
@@ -80,7 +103,9 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
     @Override
     public void onViewAttachedToWindow(View v) {
       RnPdfView documentView = (RnPdfView) v;
-      mDocumentViews.put(v.getId(), documentView);
+      synchronized (mViewLock) {
+        mDocumentViews.put(v.getId(), documentView);
+      }
       try {
         CPDFReaderView readerView = documentView.getCPDFReaderView();
         if (readerView != null && readerView.getPDFDocument() != null) {
@@ -106,7 +131,16 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
       } catch (Exception e) {
         e.printStackTrace();
       }
-      mDocumentViews.remove(v.getId());
+      synchronized (mViewLock) {
+        mDocumentViews.remove(v.getId());
+        mViewContexts.remove(v.getId());
+      }
+      RnAutoSaveScheduler autoSaver = mAutoSavers.get(v.getId());
+      if (autoSaver != null) {
+        autoSaver.release();
+        mAutoSavers.remove(v.getId());
+      }
+      annotationImporter.cancel(v.getId());
     }
   };
 
@@ -122,6 +156,25 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
       RnPdfView pdfView = new RnPdfView(fragmentActivity);
       pdfView.setup(themedReactContext, fragmentActivity.getSupportFragmentManager());
       pdfView.addOnAttachStateChangeListener(mOnAttachStateChangeListener);
+      pdfView.setOnDocumentChangeListener(view -> {
+        cacheContext(view);
+        RnAutoSaveScheduler autoSaver = mAutoSavers.get(view.getId());
+        if (autoSaver != null) {
+          autoSaver.reset();
+        }
+        annotationImporter.cancel(view.getId());
+      });
+      pdfView.setOnPageContentChangeListener((document, pageIndex) -> {
+        if (pageIndex < 0) {
+          renderCache.invalidateDocument(document);
+        } else {
+          renderCache.invalidatePage(document, pageIndex);
+        }
+        RnAutoSaveScheduler autoSaver = mAutoSavers.get(pdfView.getId());
+        if (autoSaver != null) {
+          autoSaver.markDirty();
+        }
+      });
       return pdfView;
     } else {
       throw new IllegalStateException("RnPdfView can only be used in FragmentActivity subclasses");
@@ -172,23 +225,51 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   }
 
   /**
-   * Finds context.
+   * Finds the context of the tag. Off the main thread this only returns the context cached when
+   * the view's document became ready, since building one reads the view and resets the page
+   * codec. On the main thread a missing or outdated context is rebuilt.
    */
   @Nullable
   private RnPdfViewContext findContext(int tag) {
-    RnPdfView view = mDocumentViews.get(tag);
-    if (view == null) {
-      return null;
+    RnPdfView view;
+    synchronized (mViewLock) {
+      view = mDocumentViews.get(tag);
+      if (view == null) {
+        return null;
+      }
+      RnPdfViewContext cached = mViewContexts.get(tag);
+      if (Looper.myLooper() != Looper.getMainLooper()) {
+        return cached != null && cached.view == view ? cached : null;
+      }
+      if (cached != null && cached.view == view && cached.isCurrent()) {
+        return cached;
+      }
     }
+    return cacheContext(view);
+  }
+
+  /**
+   * Builds and caches the context of the view's current document, or drops the cached context
+   * when the view shows no document. Must run on the main thread.
+   */
+  @Nullable
+  private RnPdfViewContext cacheContext(RnPdfView view) {
+    RnPdfViewContext context = null;
     try {
       CPDFReaderView readerView = view.getCPDFReaderView();
-      if (readerView == null || readerView.getPDFDocument() == null) {
-        return null;
+      if (readerView != null && readerView.getPDFDocument() != null) {
+        context = new RnPdfViewContext(view);
       }
-      RnPdfViewContext context = new RnPdfViewContext(view);
-      return context.document == null ? null : context;
     } catch (Exception e) {
-      return null;
+      context = null;
+    }
+    synchronized (mViewLock) {
+      if (context == null || context.document == null) {
+        mViewContexts.remove(view.getId());
+        return null;
+      }
+      mViewContexts.put(view.getId(), context);
+      return context;
     }
   }
 
@@ -204,11 +285,47 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   }
 
 
+  /**
+   * A read of a view's document that receives the context resolved when it was queued.
+   */
+  public interface DocumentTask {
+
+    /**
+     * Runs the read.
+     */
+    void run(RnPdfViewContext context);
+  }
+
+  /**
+   * Runs a document-only read of the view on the serialized worker queue of its document instead
+   * of the UI thread. The context is resolved on the calling thread and handed to the task, so
+   * workers never look up the view.
+   */
+  public void runOnDocumentThread(int tag, DocumentTask task) {
+    RnPdfViewContext context = requireContext(tag);
+    documentExecutor.executeRead(context.document, () -> task.run(context));
+  }
+
+  /**
+   * Runs a change to the view's document on the main thread once earlier document work finished,
+   * keeping later reads waiting until it returns.
+   */
+  public void runDocumentWrite(int tag, Runnable task) {
+    documentExecutor.executeWriteOnMain(requireContext(tag).document, task);
+  }
+
+  /**
+   * Returns the queue depth and wait time metrics of the view's document queue.
+   */
+  public WritableMap getDocumentQueueMetrics(int tag) {
+    return documentExecutor.metrics(requireContext(tag).document);
+  }
+
   /**
    * Saves the current document state.
    */
-  public void save(int tag, COnSaveCallback saveCallback, COnSaveError error) {
-    documentOps.save(findContext(tag), saveCallback, error);
+  public void save(int tag, Promise promise) {
+    documentOps.save(findContext(tag), promise);
   }
 
   /**
@@ -228,19 +345,7 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
    * Removes all annotations.
    */
   public boolean removeAllAnnotations(int tag) {
-    try {
-      RnPdfViewContext context = findContext(tag);
-      if (context != null) {
-        boolean result = context.document.removeAllAnnotations();
-        if (result) {
-          context.readerView.invalidateAllChildren();
-        }
-        return result;
-      }
-      return false;
-    } catch (Exception e) {
-      return false;
-    }
+    return documentOps.removeAllAnnotations(findContext(tag));
   }
 
   /**
@@ -520,7 +625,12 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
    * Opens the requested document or resource.
    */
   public void open(int tag, String filePath, String password, int pageIndex, Promise promise) {
-    documentOps.open(requireContext(tag), filePath, password, pageIndex, promise);
+    RnPdfViewContext context = requireContext(tag);
+    synchronized (mViewLock) {
+      mViewContexts.remove(tag);
+    }
+    documentOps.open(context, filePath, password, pageIndex, () -> cacheContext(context.view),
+      promise);
   }
 
   /**
@@ -572,6 +682,13 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
     return documentOps.getPageCount(findContext(tag));
   }
 
+  /**
+   * Returns the page count of a context resolved before a document read.
+   */
+  public int getPageCount(RnPdfViewContext context) {
+    return documentOps.getPageCount(context);
+  }
+
   /**
    * Creates a watermark.
    */
@@ -582,8 +699,8 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns the watermark count.
    */
-  public int getWatermarkCount(int tag) {
-    return documentOps.getWatermarkCount(requireContext(tag));
+  public int getWatermarkCount(RnPdfViewContext context) {
+    return documentOps.getWatermarkCount(context);
   }
 
   /**
@@ -596,8 +713,8 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns all watermarks.
    */
-  public WritableArray getWatermarks(int tag, boolean exportImages) {
-    return documentOps.getWatermarks(requireContext(tag), exportImages);
+  public WritableArray getWatermarks(RnPdfViewContext context, boolean exportImages) {
+    return documentOps.getWatermarks(context, exportImages);
   }
 
   /**
@@ -629,6 +746,64 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
     documentOps.saveAs(requireContext(tag), savePath, removeSecurity, fontSubSet, result);
   }
 
+  /**
+   * Configures the auto-save scheduler of the view. Must be called on the main thread.
+   */
+  public void setAutoSave(int tag, @Nullable ReadableMap options) {
+    RnPdfViewContext context = requireContext(tag);
+    RnAutoSaveScheduler autoSaver = mAutoSavers.get(tag);
+    if (autoSaver == null) {
+      if (!mCheckpointsPruned) {
+        mCheckpointsPruned = true;
+        CThreadPoolUtils.getInstance().executeIO(
+          () -> RnAutoSaveScheduler.pruneCheckpoints(reactContext));
+      }
+      autoSaver = new RnAutoSaveScheduler(reactContext, documentExecutor, context.view);
+      mAutoSavers.put(tag, autoSaver);
+    }
+    boolean enabled = options == null || !options.hasKey("enabled") || options.isNull("enabled")
+      || options.getBoolean("enabled");
+    autoSaver.configure(enabled,
+      getLong(options, "debounce_ms", RnAutoSaveScheduler.DEFAULT_DEBOUNCE_MS),
+      getLong(options, "max_delay_ms", RnAutoSaveScheduler.DEFAULT_MAX_DELAY_MS),
+      options != null && options.hasKey("checkpoint_path") && !options.isNull("checkpoint_path")
+        ? options.getString("checkpoint_path") : null);
+  }
+
+  /**
+   * Writes an auto-save checkpoint now when the view has unsaved edits.
+   */
+  public boolean flushAutoSave(int tag) {
+    requireContext(tag);
+    RnAutoSaveScheduler autoSaver = mAutoSavers.get(tag);
+    return autoSaver != null && autoSaver.flush();
+  }
+
+  /**
+   * Returns the auto-save state of the view.
+   */
+  public WritableMap getAutoSaveStatus(int tag) {
+    RnPdfViewContext context = requireContext(tag);
+    RnAutoSaveScheduler autoSaver = mAutoSavers.get(tag);
+    return autoSaver == null ? RnAutoSaveScheduler.defaultStatus(reactContext, context.document)
+      : autoSaver.status();
+  }
+
+  /**
+   * Returns the long option, or the fallback when absent.
+   */
+  private static long getLong(@Nullable ReadableMap options, String key, long fallback) {
+    return options != null && options.hasKey(key) && !options.isNull(key)
+      ? (long) options.getDouble(key) : fallback;
+  }
+
+  /**
+   * Saves the document in place incrementally or as a full rewrite and resolves save metrics.
+   */
+  public void saveDocument(int tag, @Nullable ReadableMap options, Promise promise) {
+    documentOps.saveDocument(requireContext(tag), options, promise);
+  }
+
   /**
    * Handles print.
    */
@@ -685,6 +860,14 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
     documentOps.flattenAllPages(requireContext(tag), savePath, fontSubset, promise);
   }
 
+  /**
+   * Saves a copy of the document with the selected pages flattened in the background.
+   */
+  public void flattenPages(int tag, int[] pages, String savePath, @Nullable ReadableMap options,
+    Promise promise) {
+    documentOps.flattenPages(requireContext(tag), pages, savePath, options, promise);
+  }
+
   /**
    * Handles reload pages.
    */
@@ -709,6 +892,22 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   }
 
 
+  /**
+   * Merges several source documents into the view's document with one reload at the end.
+   */
+  public void mergeDocuments(int tag, ReadableArray sources, @Nullable ReadableMap options,
+    Promise promise) {
+    documentOps.mergeDocuments(requireContext(tag), sources, options, promise);
+  }
+
+  /**
+   * Writes several page sets of the document to separate files in one call.
+   */
+  public void splitDocumentPages(int tag, ReadableArray jobs, @Nullable ReadableMap options,
+    Promise promise) {
+    documentOps.splitDocumentPages(requireContext(tag), jobs, options, promise);
+  }
+
   /**
    * Handles split document page.
    */
@@ -733,15 +932,44 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns the annotations.
    */
-  public WritableArray getAnnotations(int tag, int pageIndex) {
-    return annotationOps.getAnnotations(requireContext(tag), pageIndex);
+  public WritableArray getAnnotations(RnPdfViewContext context, int pageIndex) {
+    return annotationOps.getAnnotations(context, pageIndex);
   }
 
   /**
    * Returns the forms.
    */
-  public WritableArray getForms(int tag, int pageIndex) {
-    return annotationOps.getForms(requireContext(tag), pageIndex);
+  public WritableArray getForms(RnPdfViewContext context, int pageIndex) {
+    return annotationOps.getForms(context, pageIndex);
+  }
+
+  /**
+   * Returns one page of the annotations matching the query across the document.
+   */
+  public WritableMap queryAnnotations(RnPdfViewContext context, @Nullable ReadableMap query) {
+    return annotationOps.queryAnnotations(context, query);
+  }
+
+  /**
+   * Sets how ink and line geometry is written by annotation reads.
+   */
+  public void setGeometryEncoding(int tag, @Nullable String encoding) {
+    annotationOps.setGeometryEncoding(requireContext(tag), encoding);
+  }
+
+  /**
+   * Sets how the context-menu screenshot is reported: Base64 (default) or a cache file.
+   */
+  public void setContextMenuImageOutput(int tag, @Nullable String outputType) {
+    annotationOps.setContextMenuImageOutput(requireContext(tag), outputType);
+  }
+
+  /**
+   * Returns up to {@code limit} annotation changes recorded after {@code sinceSeq}.
+   */
+  public WritableMap getAnnotationChangesSince(RnPdfViewContext context, long sinceSeq,
+    int limit) {
+    return annotationOps.getAnnotationChangesSince(context, sinceSeq, limit);
   }
 
   /**
@@ -944,10 +1172,45 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   }
 
   /**
-   * Searches text.
+   * Searches text in the background and resolves the matches through the promise.
+   */
+  public void searchText(int tag, String keywords, int searchOptions, Promise promise) {
+    searchRenderOps.searchText(requireContext(tag), keywords, searchOptions, promise);
+  }
+
+  /**
+   * Starts a streamed search and returns its search id.
+   */
+  public int startSearch(int tag, String keywords, int searchOptions, ReadableMap options) {
+    return searchRenderOps.startSearch(requireContext(tag), keywords, searchOptions, options);
+  }
+
+  /**
+   * Builds or refreshes the full-text index of the document.
+   */
+  public void buildTextIndex(int tag, Promise promise) {
+    searchRenderOps.buildTextIndex(requireContext(tag), promise);
+  }
+
+  /**
+   * Returns the full-text index status.
    */
-  public WritableArray searchText(int tag, String keywords, int searchOptions) {
-    return searchRenderOps.searchText(requireContext(tag), keywords, searchOptions);
+  public void getTextIndexStatus(int tag, Promise promise) {
+    searchRenderOps.getTextIndexStatus(requireContext(tag), promise);
+  }
+
+  /**
+   * Drops the full-text index of the document.
+   */
+  public boolean dropTextIndex(int tag) {
+    return searchRenderOps.dropTextIndex(requireContext(tag));
+  }
+
+  /**
+   * Cancels the running search.
+   */
+  public void cancelSearch(int tag) {
+    searchRenderOps.cancelSearch(tag);
   }
 
   /**
@@ -974,8 +1237,8 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns all text on a page.
    */
-  public String getPageText(int tag, int pageIndex) {
-    return searchRenderOps.getPageText(requireContext(tag), pageIndex);
+  public String getPageText(RnPdfViewContext context, int pageIndex) {
+    return searchRenderOps.getPageText(context, pageIndex);
   }
 
   /**
@@ -992,6 +1255,13 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
     return searchRenderOps.getPageTextLines(requireContext(tag), pageIndex);
   }
 
+  /**
+   * Extracts the text of many pages in one call.
+   */
+  public void extractPagesText(int tag, ReadableMap options, Promise promise) {
+    searchRenderOps.extractPagesText(requireContext(tag), options, promise);
+  }
+
   /**
    * Returns the page size.
    */
@@ -1008,6 +1278,37 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
       drawAnnot, drawForm, pageCompression, promise);
   }
 
+  /**
+   * Renders page to a file.
+   */
+  public void renderPageToFile(int tag, int pageIndex, int width, int height,
+    String backgroundColor, boolean drawAnnot, boolean drawForm, ReadableMap options,
+    Promise promise) {
+    searchRenderOps.renderPageToFile(requireContext(tag), pageIndex, width, height,
+      backgroundColor, drawAnnot, drawForm, options, promise);
+  }
+
+  /**
+   * Queues a thumbnail batch and resolves its id.
+   */
+  public void renderThumbnails(int tag, ReadableMap options, Promise promise) {
+    searchRenderOps.renderThumbnails(requireContext(tag), options, promise);
+  }
+
+  /**
+   * Re-prioritizes the running thumbnail batch around the visible pages.
+   */
+  public void updateThumbnailViewport(int tag, ReadableArray visiblePages, int keepDistance) {
+    searchRenderOps.updateThumbnailViewport(tag, visiblePages, keepDistance);
+  }
+
+  /**
+   * Cancels the running thumbnail batch.
+   */
+  public boolean cancelThumbnails(int tag) {
+    return searchRenderOps.cancelThumbnails(tag);
+  }
+
   /**
    * Renders annotation appearance.
    */
@@ -1126,8 +1427,8 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns the page rotation.
    */
-  public int getPageRotation(int tag, int pageIndex) {
-    return documentOps.getPageRotation(requireContext(tag), pageIndex);
+  public int getPageRotation(RnPdfViewContext context, int pageIndex) {
+    return documentOps.getPageRotation(context, pageIndex);
   }
 
   /**
@@ -1147,36 +1448,36 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns the info.
    */
-  public WritableMap getInfo(int tag) {
-    return documentOps.getInfo(requireContext(tag));
+  public WritableMap getInfo(RnPdfViewContext context) {
+    return documentOps.getInfo(context);
   }
 
   /**
    * Returns the major version.
    */
-  public int getMajorVersion(int tag) {
-    return documentOps.getMajorVersion(requireContext(tag));
+  public int getMajorVersion(RnPdfViewContext context) {
+    return documentOps.getMajorVersion(context);
   }
 
   /**
    * Returns the minor version.
    */
-  public int getMinorVersion(int tag) {
-    return documentOps.getMinorVersion(requireContext(tag));
+  public int getMinorVersion(RnPdfViewContext context) {
+    return documentOps.getMinorVersion(context);
   }
 
   /**
    * Returns the permission info.
    */
-  public WritableMap getPermissionInfo(int tag) {
-    return documentOps.getPermissionInfo(requireContext(tag));
+  public WritableMap getPermissionInfo(RnPdfViewContext context) {
+    return documentOps.getPermissionInfo(context);
   }
 
   /**
    * Returns the outline root.
    */
-  public WritableMap getOutlineRoot(int tag) {
-    return outlineBookmarkOps.getOutlineRoot(requireContext(tag));
+  public WritableMap getOutlineRoot(RnPdfViewContext context) {
+    return outlineBookmarkOps.getOutlineRoot(context);
   }
 
   /**
@@ -1220,8 +1521,8 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns the bookmarks.
    */
-  public WritableArray getBookmarks(int tag) {
-    return outlineBookmarkOps.getBookmarks(requireContext(tag));
+  public WritableArray getBookmarks(RnPdfViewContext context) {
+    return outlineBookmarkOps.getBookmarks(context);
   }
 
   /**
@@ -1243,8 +1544,8 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
   /**
    * Returns whether the current state has bookmark.
    */
-  public boolean hasBookmark(int tag, int pageIndex) {
-    return outlineBookmarkOps.hasBookmark(findContext(tag), pageIndex);
+  public boolean hasBookmark(RnPdfViewContext context, int pageIndex) {
+    return outlineBookmarkOps.hasBookmark(context, pageIndex);
   }
 
   /**
@@ -1374,5 +1675,27 @@ public class RnPdfViewManager extends ViewGroupManager<RnPdfView> {
     annotationOps.addWidgets(requireContext(tag), widgetsArray);
   }
 
+  /**
+   * Imports the annotations in chunks on the document queue and resolves per-item results.
+   */
+  public void importAnnotationsInChunks(int tag, ReadableArray annotationsArray,
+    @Nullable ReadableMap options, Promise promise) {
+    annotationImporter.start(tag, requireContext(tag), annotationsArray,
+      (int) getLong(options, "chunk_size", RnAnnotationImporter.DEFAULT_CHUNK_SIZE), promise);
+  }
 
+  /**
+   * Cancels the running chunked annotation import of the view.
+   */
+  public boolean cancelAnnotationImport(int tag) {
+    return annotationImporter.cancel(tag);
+  }
+
+  /**
+   * Executes a batch of commands against the view and returns one result per command.
+   */
+  public WritableArray executeBatch(int tag, ReadableArray commands,
+    @Nullable ReadableMap options) {
+    return batchOps.execute(requireContext(tag), commands, options);
+  }
 }
@@ -0,0 +1,399 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.content.Context;
+import android.graphics.BitmapFactory;
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.LruCache;
+import android.util.SparseIntArray;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.document.CPDFDocument;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches encoded page renders in a byte-budgeted memory LRU backed by an on-disk tier, dropping
+ * the renders of a page when its content changes.
+ */
+final class RnRenderCache {
+
+  private static final String TAG = "ComPDFKitRN";
+
+  private static final String CACHE_FOLDER = "compdfkit-render-cache";
+
+  private static final int MEMORY_FRACTION = 16;
+
+  private static final long DISK_BYTES = 64L * 1024 * 1024;
+
+  /**
+   * Holds one encoded render and its pixel size.
+   */
+  static final class Entry {
+
+    final byte[] data;
+    final int width;
+    final int height;
+
+    /**
+     * Creates a new Entry instance.
+     */
+    Entry(byte[] data, int width, int height) {
+      this.data = data;
+      this.width = width;
+      this.height = height;
+    }
+  }
+
+  /**
+   * Identifies where one render is cached.
+   */
+  static final class Slot {
+
+    final CPDFDocument document;
+    final int pageIndex;
+    final int documentVersion;
+    final int pageVersion;
+    final String memoryKey;
+    @Nullable
+    final File diskFile;
+
+    /**
+     * Creates a new Slot instance.
+     */
+    Slot(CPDFDocument document, int pageIndex, int documentVersion, int pageVersion,
+      String memoryKey, @Nullable File diskFile) {
+      this.document = document;
+      this.pageIndex = pageIndex;
+      this.documentVersion = documentVersion;
+      this.pageVersion = pageVersion;
+      this.memoryKey = memoryKey;
+      this.diskFile = diskFile;
+    }
+  }
+
+  private static final AtomicLong NEXT_DOCUMENT_ID = new AtomicLong();
+
+  private static final WeakHashMap<CPDFDocument, Long> DOCUMENT_IDS = new WeakHashMap<>();
+
+  private final Context context;
+  private final long maxDiskBytes;
+  private final LruCache<String, Entry> memory;
+  private final WeakHashMap<CPDFDocument, Versions> versions = new WeakHashMap<>();
+  private final Object diskLock = new Object();
+
+  /**
+   * Creates a new RnRenderCache instance sized from the heap.
+   */
+  RnRenderCache(Context context) {
+    this(context, Runtime.getRuntime().maxMemory() / MEMORY_FRACTION, DISK_BYTES);
+  }
+
+  /**
+   * Creates a new RnRenderCache instance.
+   */
+  RnRenderCache(Context context, long maxMemoryBytes, long maxDiskBytes) {
+    this.context = context;
+    this.maxDiskBytes = maxDiskBytes;
+    this.memory = new LruCache<String, Entry>((int) Math.min(Integer.MAX_VALUE, maxMemoryBytes)) {
+      /**
+       * Returns the size of the entry in bytes.
+       */
+      @Override
+      protected int sizeOf(String key, Entry entry) {
+        return entry.data.length;
+      }
+    };
+  }
+
+  /**
+   * Resolves the cache slots of the render as of now, so a render finishing after an
+   * invalidation is stored under the outdated slot and never served. Reads the document, so it
+   * must run on the document queue.
+   */
+  Slot slot(RnPageRenderer.Request request, String encoding) {
+    int documentVersion;
+    int pageVersion;
+    synchronized (versions) {
+      Versions documentVersions = versions.get(request.document);
+      documentVersion = documentVersions == null ? 0 : documentVersions.document;
+      pageVersion = documentVersions == null ? 0 : documentVersions.pages.get(request.pageIndex);
+    }
+    return new Slot(request.document, request.pageIndex, documentVersion, pageVersion,
+      request.key() + "|" + encoding + "|" + documentVersion + "." + pageVersion,
+      diskFile(request, encoding));
+  }
+
+  /**
+   * Returns the cached render, promoting a disk hit into memory.
+   */
+  @Nullable
+  Entry get(Slot slot) {
+    Entry entry = memory.get(slot.memoryKey);
+    if (entry != null || slot.diskFile == null) {
+      return entry;
+    }
+    entry = readEntry(slot.diskFile);
+    if (entry != null) {
+      memory.put(slot.memoryKey, entry);
+    }
+    return entry;
+  }
+
+  /**
+   * Stores the render in memory and, when the document matched its saved file and the page was
+   * not invalidated since, on disk.
+   */
+  void put(Slot slot, Entry entry) {
+    memory.put(slot.memoryKey, entry);
+    // An edit made while rendering may already be in the pixels.
+    if (slot.diskFile != null && isCurrent(slot)) {
+      writeEntry(slot.diskFile, entry);
+    }
+  }
+
+  /**
+   * Returns whether neither the page nor the document of the slot was invalidated since.
+   */
+  private boolean isCurrent(Slot slot) {
+    synchronized (versions) {
+      Versions documentVersions = versions.get(slot.document);
+      return documentVersions == null
+        ? slot.documentVersion == 0 && slot.pageVersion == 0
+        : documentVersions.document == slot.documentVersion
+          && documentVersions.pages.get(slot.pageIndex) == slot.pageVersion;
+    }
+  }
+
+  /**
+   * Drops the cached renders of one page.
+   */
+  void invalidatePage(@Nullable CPDFDocument document, int pageIndex) {
+    if (document == null) {
+      return;
+    }
+    synchronized (versions) {
+      Versions documentVersions = versionsOf(document);
+      documentVersions.pages.put(pageIndex, documentVersions.pages.get(pageIndex) + 1);
+    }
+    removeFromMemory(documentId(document) + "|" + pageIndex + "|");
+  }
+
+  /**
+   * Drops the cached renders of every page, e.g. after pages were moved, inserted or removed.
+   */
+  void invalidateDocument(@Nullable CPDFDocument document) {
+    if (document == null) {
+      return;
+    }
+    synchronized (versions) {
+      versionsOf(document).document++;
+    }
+    removeFromMemory(documentId(document) + "|");
+  }
+
+  /**
+   * Returns the id of the document, unique for the lifetime of the process, so the memory keys
+   * of two documents never collide the way identity hash codes can.
+   */
+  static long documentId(CPDFDocument document) {
+    synchronized (DOCUMENT_IDS) {
+      Long id = DOCUMENT_IDS.get(document);
+      if (id == null) {
+        id = NEXT_DOCUMENT_ID.incrementAndGet();
+        DOCUMENT_IDS.put(document, id);
+      }
+      return id;
+    }
+  }
+
+  /**
+   * Clears both tiers.
+   */
+  void clear() {
+    memory.evictAll();
+    synchronized (diskLock) {
+      File[] files = cacheFolder().listFiles();
+      if (files != null) {
+        for (File file : files) {
+          file.delete();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the disk file of the render, or {@code null} when the document has unsaved changes
+   * and its pixels may not match the file on disk.
+   */
+  @Nullable
+  private File diskFile(RnPageRenderer.Request request, String encoding) {
+    CPDFDocument document = request.document;
+    if (maxDiskBytes <= 0 || document.hasChanges()) {
+      return null;
+    }
+    String documentKey = RnTextIndexManager.documentKey(document);
+    if (TextUtils.isEmpty(documentKey)) {
+      return null;
+    }
+    String key = documentKey + "|" + RnTextIndexManager.documentStamp(context, document) + "|"
+      + request.pageIndex + "|" + request.width + "x" + request.height + "|"
+      + Integer.toHexString(request.backgroundColor) + "|" + request.drawAnnot + "|"
+      + request.drawForm + "|" + encoding;
+    return new File(cacheFolder(), RnTextIndexManager.sha1(key));
+  }
+
+  /**
+   * Reads a disk entry and marks it recently used.
+   */
+  @Nullable
+  private Entry readEntry(File file) {
+    synchronized (diskLock) {
+      if (!file.isFile()) {
+        return null;
+      }
+      try (InputStream inputStream = new FileInputStream(file)) {
+        byte[] data = new byte[(int) file.length()];
+        int offset = 0;
+        while (offset < data.length) {
+          int read = inputStream.read(data, offset, data.length - offset);
+          if (read < 0) {
+            return null;
+          }
+          offset += read;
+        }
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+          file.delete();
+          return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return new Entry(data, bounds.outWidth, bounds.outHeight);
+      } catch (IOException e) {
+        Log.e(TAG, "Error reading cached render", e);
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Writes a disk entry atomically, then trims the oldest entries beyond the disk budget.
+   */
+  private void writeEntry(File file, Entry entry) {
+    if (entry.data.length > maxDiskBytes) {
+      return;
+    }
+    synchronized (diskLock) {
+      File folder = cacheFolder();
+      if (!folder.exists() && !folder.mkdirs()) {
+        return;
+      }
+      File tmpFile = new File(folder, file.getName() + ".tmp");
+      try (OutputStream outputStream = new FileOutputStream(tmpFile)) {
+        outputStream.write(entry.data);
+      } catch (IOException e) {
+        Log.e(TAG, "Error writing cached render", e);
+        tmpFile.delete();
+        return;
+      }
+      if (!tmpFile.renameTo(file)) {
+        tmpFile.delete();
+        return;
+      }
+      trimDisk(folder);
+    }
+  }
+
+  /**
+   * Deletes the least recently used files until the folder fits the disk budget.
+   */
+  private void trimDisk(File folder) {
+    File[] files = folder.listFiles();
+    if (files == null) {
+      return;
+    }
+    long total = 0L;
+    for (File file : files) {
+      total += file.length();
+    }
+    if (total <= maxDiskBytes) {
+      return;
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      /**
+       * Orders files from least to most recently used.
+       */
+      @Override
+      public int compare(File a, File b) {
+        return Long.compare(a.lastModified(), b.lastModified());
+      }
+    });
+    for (File file : files) {
+      if (total <= maxDiskBytes) {
+        break;
+      }
+      long length = file.length();
+      if (file.delete()) {
+        total -= length;
+      }
+    }
+  }
+
+  /**
+   * Removes the memory entries whose key starts with the prefix.
+   */
+  private void removeFromMemory(String prefix) {
+    for (Map.Entry<String, Entry> entry : memory.snapshot().entrySet()) {
+      if (entry.getKey().startsWith(prefix)) {
+        memory.remove(entry.getKey());
+      }
+    }
+  }
+
+  /**
+   * Returns the cache folder.
+   */
+  private File cacheFolder() {
+    return new File(context.getCacheDir(), CACHE_FOLDER);
+  }
+
+  /**
+   * Returns the versions of the document, creating them on first use.
+   */
+  private Versions versionsOf(CPDFDocument document) {
+    Versions documentVersions = versions.get(document);
+    if (documentVersions == null) {
+      documentVersions = new Versions();
+      versions.put(document, documentVersions);
+    }
+    return documentVersions;
+  }
+
+  /**
+   * Counts the invalidations of a document and its pages.
+   */
+  private static final class Versions {
+
+    int document;
+    final SparseIntArray pages = new SparseIntArray();
+  }
+}
@@ -12,32 +12,27 @@ package com.compdfkitpdf.reactnative.viewer;
 import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.graphics.RectF;
-import android.graphics.drawable.Drawable;
 import android.text.TextUtils;
 import android.util.Base64;
-import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
-import com.bumptech.glide.request.target.CustomTarget;
-import com.bumptech.glide.request.transition.Transition;
 import com.compdfkit.core.annotation.CPDFAnnotation;
 import com.compdfkit.core.document.CPDFDocument;
-import com.compdfkit.tools.common.utils.glide.CPDFWrapper;
-import com.compdfkit.tools.common.utils.glide.wrapper.impl.CPDFDocumentPageWrapper;
 import com.compdfkit.tools.common.utils.threadpools.CThreadPoolUtils;
 import com.compdfkit.ui.textsearch.ITextSearcher;
 import com.compdfkitpdf.reactnative.codec.RnPageCodec;
+import com.compdfkitpdf.reactnative.util.RnImageOutput;
 import com.compdfkitpdf.reactnative.util.RnPageTextMapper;
 import com.compdfkitpdf.reactnative.util.RnSearchResultMapper;
+import com.compdfkitpdf.reactnative.view.RnPdfView;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
-import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Handles search render ops for the native PDF viewer layer.
@@ -47,13 +42,40 @@ final class RnSearchRenderOps {
   private static final String RENDER_ANNOTATION_APPEARANCE_FAIL =
     "RENDER_ANNOTATION_APPEARANCE_FAIL";
 
+  private static final String SEARCH_TEXT_FAIL = "SEARCH_TEXT_FAIL";
+
+  private static final String SEARCH_CANCELLED = "SEARCH_CANCELLED";
+
+  private static final int DEFAULT_SEARCH_BATCH_PAGES = 20;
+
+  private static final int DEFAULT_SEARCH_BATCH_INTERVAL_MS = 100;
+
   private final ReactApplicationContext reactContext;
 
+  private final RnTextSearchEngine searchEngine;
+
+  private final RnTextIndexManager textIndexManager;
+
+  private final RnPageTextExtractor pageTextExtractor;
+
+  private final RnPageRenderer pageRenderer;
+
+  private final RnThumbnailScheduler thumbnailScheduler;
+
+  private final RnDocumentExecutor documentExecutor;
+
   /**
    * Creates a new RnSearchRenderOps instance.
    */
-  RnSearchRenderOps(ReactApplicationContext reactContext) {
+  RnSearchRenderOps(ReactApplicationContext reactContext, RnRenderCache renderCache,
+    RnDocumentExecutor documentExecutor) {
     this.reactContext = reactContext;
+    this.searchEngine = new RnTextSearchEngine(reactContext, documentExecutor);
+    this.textIndexManager = new RnTextIndexManager(reactContext, documentExecutor);
+    this.pageTextExtractor = new RnPageTextExtractor(reactContext, documentExecutor);
+    this.pageRenderer = new RnPageRenderer(renderCache, documentExecutor);
+    this.thumbnailScheduler = new RnThumbnailScheduler(reactContext, pageRenderer);
+    this.documentExecutor = documentExecutor;
   }
 
   private boolean isAvailable(@Nullable RnPdfViewContext context) {
@@ -61,14 +83,132 @@ final class RnSearchRenderOps {
   }
 
   /**
-   * Searches text.
+   * Searches text on the background search engine and resolves the matches in page order.
    */
-  WritableArray searchText(RnPdfViewContext context, String keywords, int searchOptions) {
+  void searchText(RnPdfViewContext context, String keywords, int searchOptions, Promise promise) {
     if (!isAvailable(context)) {
-      return Arguments.createArray();
+      promise.resolve(Arguments.createArray());
+      return;
     }
+    // Keep the viewer searcher configured so selectionText can highlight a returned match.
     ITextSearcher textSearcher = context.readerView.getTextSearcher();
-    return RnSearchResultMapper.search(context.document, textSearcher, keywords, searchOptions);
+    textSearcher.setSearchConfig(keywords, searchOptions);
+    CPDFDocument document = context.document;
+    searchEngine.search(context.view.getId(), document, keywords, searchOptions,
+      words -> textIndexManager.candidatePages(document, words),
+      new RnTextSearchEngine.Callback() {
+        /**
+         * Handles on complete.
+         */
+        @Override
+        public void onComplete(int searchId, WritableArray results) {
+          promise.resolve(results);
+        }
+
+        /**
+         * Handles on cancelled.
+         */
+        @Override
+        public void onCancelled(int searchId) {
+          promise.reject(SEARCH_CANCELLED, "Search " + searchId + " was cancelled");
+        }
+
+        /**
+         * Handles on error.
+         */
+        @Override
+        public void onError(int searchId, Exception e) {
+          promise.reject(SEARCH_TEXT_FAIL, e);
+        }
+      });
+  }
+
+  /**
+   * Starts a streamed search whose results are emitted to the view in batches.
+   */
+  int startSearch(RnPdfViewContext context, String keywords, int searchOptions,
+    @Nullable ReadableMap optionsMap) {
+    if (!isAvailable(context)) {
+      throw new IllegalStateException("Document unavailable");
+    }
+    HashMap<String, Object> options = optionsMap != null ? optionsMap.toHashMap() : new HashMap<>();
+    int batchPages = getIntOption(options, "batch_pages", DEFAULT_SEARCH_BATCH_PAGES);
+    int batchIntervalMs = getIntOption(options, "batch_interval_ms",
+      DEFAULT_SEARCH_BATCH_INTERVAL_MS);
+    context.readerView.getTextSearcher().setSearchConfig(keywords, searchOptions);
+    RnPdfView view = context.view;
+    CPDFDocument document = context.document;
+    return searchEngine.searchStreaming(view.getId(), document, keywords, searchOptions,
+      words -> textIndexManager.candidatePages(document, words), batchPages, batchIntervalMs,
+      new RnTextSearchEngine.StreamListener() {
+        /**
+         * Handles on batch.
+         */
+        @Override
+        public void onBatch(WritableMap batch) {
+          view.emitMapEvent(RnPdfView.EVENT_SEARCH_RESULTS, batch);
+        }
+
+        /**
+         * Handles on complete.
+         */
+        @Override
+        public void onComplete(WritableMap summary) {
+          view.emitMapEvent(RnPdfView.EVENT_SEARCH_COMPLETE, summary);
+        }
+      });
+  }
+
+  /**
+   * Builds or refreshes the full-text index of the document.
+   */
+  void buildTextIndex(RnPdfViewContext context, Promise promise) {
+    if (!isAvailable(context)) {
+      promise.reject("BUILD_TEXT_INDEX_FAIL", "Document unavailable");
+      return;
+    }
+    textIndexManager.build(context.document, promise);
+  }
+
+  /**
+   * Resolves the full-text index status of the document.
+   */
+  void getTextIndexStatus(RnPdfViewContext context, Promise promise) {
+    if (!isAvailable(context)) {
+      promise.reject("GET_TEXT_INDEX_STATUS_FAIL", "Document unavailable");
+      return;
+    }
+    CPDFDocument document = context.document;
+    // A running build holds the document, so its progress is answered without queueing behind it.
+    WritableMap progress = textIndexManager.getBuildProgress(document);
+    if (progress != null) {
+      promise.resolve(progress);
+      return;
+    }
+    documentExecutor.executeRead(document, () -> {
+      try {
+        promise.resolve(textIndexManager.getStatus(document));
+      } catch (Exception e) {
+        promise.reject("GET_TEXT_INDEX_STATUS_FAIL", e);
+      }
+    });
+  }
+
+  /**
+   * Drops the full-text index of the document.
+   */
+  boolean dropTextIndex(RnPdfViewContext context) {
+    if (!isAvailable(context)) {
+      return false;
+    }
+    return textIndexManager.drop(context.document);
+  }
+
+  /**
+   * Cancels the search running for the view.
+   */
+  void cancelSearch(int tag) {
+    searchEngine.cancel(tag);
   }
 
   /**
@@ -78,6 +218,7 @@ final class RnSearchRenderOps {
     if (!isAvailable(context)) {
       return;
     }
+    searchEngine.cancel(context.view.getId());
     RnSearchResultMapper.clearSearch(reactContext, context.viewCtrl, context.document);
   }
 
@@ -132,6 +273,32 @@ final class RnSearchRenderOps {
     return RnPageTextMapper.getPageTextLines(context.document, pageIndex);
   }
 
+  /**
+   * Extracts the text of a page list or range in the background, returning batches or writing a
+   * file when output_path is set.
+   */
+  void extractPagesText(RnPdfViewContext context, @Nullable ReadableMap optionsMap,
+    Promise promise) {
+    if (!isAvailable(context)) {
+      promise.reject(RnPageTextExtractor.EXTRACT_PAGES_TEXT_FAIL, "Document unavailable");
+      return;
+    }
+    HashMap<String, Object> options = optionsMap != null ? optionsMap.toHashMap() : new HashMap<>();
+    Object pagesOption = options.get("pages");
+    int startPage = getIntOption(options, "start_page", 0);
+    int endPage = getIntOption(options, "end_page", -1);
+    RnPageTextExtractor.PageSelection selection = pageCount -> RnPageTextExtractor.resolvePages(
+      pagesOption instanceof List ? (List<?>) pagesOption : null, startPage, endPage, pageCount);
+    String outputPath = getStringOption(options, "output_path", null);
+    if (outputPath == null) {
+      pageTextExtractor.extract(context.document, selection,
+        Boolean.TRUE.equals(options.get("include_lines")), promise);
+    } else {
+      pageTextExtractor.extractToFile(context.document, selection, outputPath,
+        getStringOption(options, "output_format", RnPageTextExtractor.FORMAT_JSON_LINES), promise);
+    }
+  }
+
   /**
    * Returns the page size.
    */
@@ -160,52 +327,154 @@ final class RnSearchRenderOps {
       promise.reject("RENDER_PAGE_FAIL", "Document unavailable");
       return;
     }
+    RnPageRenderer.Request request = new RnPageRenderer.Request(context.document, pageIndex,
+      width, height, Color.parseColor(backgroundColor), drawAnnot, drawForm);
+    Bitmap.CompressFormat format;
+    int quality;
+    switch (pageCompression) {
+      case "jpeg":
+        format = Bitmap.CompressFormat.JPEG;
+        quality = 85;
+        break;
+      case "png":
+        format = Bitmap.CompressFormat.PNG;
+        quality = 100;
+        break;
+      default:
+        promise.resolve(null);
+        return;
+    }
+    pageRenderer.renderEncoded(request, format, quality, new RnPageRenderer.EncodedConsumer() {
+      /**
+       * Handles on encoded.
+       */
+      @Override
+      public void onEncoded(RnRenderCache.Entry entry) {
+        promise.resolve(Base64.encodeToString(entry.data, Base64.NO_WRAP));
+      }
+
+      /**
+       * Handles on error.
+       */
+      @Override
+      public void onError(Exception e) {
+        promise.reject("RENDER_PAGE_FAIL", e);
+      }
+    });
+  }
+
+  /**
+   * Renders the page straight to a file or content URI and resolves its path, size and dimensions.
+   */
+  void renderPageToFile(RnPdfViewContext context, int pageIndex, int width, int height,
+    String backgroundColor, boolean drawAnnot, boolean drawForm, @Nullable ReadableMap optionsMap,
+    Promise promise) {
+    if (!isAvailable(context)) {
+      promise.reject("RENDER_PAGE_FAIL", "Document unavailable");
+      return;
+    }
+    HashMap<String, Object> options = optionsMap != null ? optionsMap.toHashMap() : new HashMap<>();
+    Bitmap.CompressFormat format =
+      RnImageOutput.toCompressFormat(getStringOption(options, "compression", "png"));
+    int quality = getIntOption(options, "quality", 85);
+    String outputPath = getStringOption(options, "output_path", null);
+    RnPageRenderer.Request request = new RnPageRenderer.Request(context.document, pageIndex,
+      width, height, Color.parseColor(backgroundColor), drawAnnot, drawForm);
+    pageRenderer.renderEncoded(request, format,
+      format == Bitmap.CompressFormat.JPEG ? quality : 100, new RnPageRenderer.EncodedConsumer() {
+      /**
+       * Handles on encoded.
+       */
+      @Override
+      public void onEncoded(RnRenderCache.Entry entry) throws Exception {
+        promise.resolve(RnImageOutput.writeToFile(reactContext, entry.data, format, entry.width,
+          entry.height, outputPath));
+      }
+
+      /**
+       * Handles on error.
+       */
+      @Override
+      public void onError(Exception e) {
+        promise.reject("RENDER_PAGE_FAIL", e);
+      }
+    });
+  }
+
+  /**
+   * Queues a thumbnail batch whose pages are reported through onThumbnailRendered and
+   * onThumbnailBatchComplete, and resolves its id.
+   */
+  void renderThumbnails(RnPdfViewContext context, @Nullable ReadableMap optionsMap,
+    Promise promise) {
+    if (!isAvailable(context)) {
+      promise.reject("RENDER_THUMBNAILS_FAIL", "Document unavailable");
+      return;
+    }
+    HashMap<String, Object> options = optionsMap != null ? optionsMap.toHashMap() : new HashMap<>();
     CPDFDocument document = context.document;
-    CPDFDocumentPageWrapper pageWrapper = new CPDFDocumentPageWrapper(document, pageIndex);
-    pageWrapper.setBackgroundColor(Color.parseColor(backgroundColor));
-    pageWrapper.setDrawAnnotation(drawAnnot);
-    pageWrapper.setDrawForms(drawForm);
-    CPDFWrapper wrapper = new CPDFWrapper(pageWrapper);
-//    wrapper.setSize(width, height);
-    Glide.with(document.getContext())
-      .asBitmap()
-      .load(wrapper)
-      .override(width, height)
-      .diskCacheStrategy(DiskCacheStrategy.NONE)
-      .into(new CustomTarget<Bitmap>() {
-        /**
-         * Handles on resource ready.
-         */
-        @Override
-        public void onResourceReady(@NonNull Bitmap resource,
-          @Nullable Transition<? super Bitmap> transition) {
-          switch (pageCompression) {
-            case "jpeg":
-              ByteArrayOutputStream jpegStream = new ByteArrayOutputStream();
-              resource.compress(Bitmap.CompressFormat.JPEG, 85, jpegStream);
-              byte[] byteArray = jpegStream.toByteArray();
-              promise.resolve(Base64.encodeToString(byteArray, Base64.NO_WRAP));
-              break;
-            case "png":
-              ByteArrayOutputStream pngStream = new ByteArrayOutputStream();
-              resource.compress(Bitmap.CompressFormat.PNG, 100, pngStream);
-              byte[] pngByteArray = pngStream.toByteArray();
-              promise.resolve(Base64.encodeToString(pngByteArray, Base64.NO_WRAP));
-              break;
-            default:
-              promise.resolve(null);
-              break;
-          }
-          Glide.get(document.getContext()).clearMemory();
-        }
+    Object pagesOption = options.get("pages");
+    Object visibleOption = options.get("visible_pages");
+    int[] visiblePages = visibleOption instanceof List
+      ? toIntArray((List<?>) visibleOption)
+      : new int[0];
+    RnThumbnailScheduler.Options thumbnailOptions = new RnThumbnailScheduler.Options();
+    thumbnailOptions.width = getIntOption(options, "width", 0);
+    thumbnailOptions.height = getIntOption(options, "height", 0);
+    thumbnailOptions.backgroundColor =
+      Color.parseColor(getStringOption(options, "background_color", "#FFFFFF"));
+    thumbnailOptions.drawAnnot = !Boolean.FALSE.equals(options.get("draw_annot"));
+    thumbnailOptions.drawForm = !Boolean.FALSE.equals(options.get("draw_form"));
+    thumbnailOptions.format =
+      RnImageOutput.toCompressFormat(getStringOption(options, "compression", "png"));
+    thumbnailOptions.quality = thumbnailOptions.format == Bitmap.CompressFormat.JPEG
+      ? getIntOption(options, "quality", 85)
+      : 100;
+    thumbnailOptions.outputFolder = getStringOption(options, "output_folder", null);
+    RnPdfView view = context.view;
+    RnThumbnailScheduler.Listener listener = new RnThumbnailScheduler.Listener() {
+      /**
+       * Handles on thumbnail.
+       */
+      @Override
+      public void onThumbnail(WritableMap thumbnail) {
+        view.emitMapEvent(RnPdfView.EVENT_THUMBNAIL_RENDERED, thumbnail);
+      }
 
-        /**
-         * Handles on load cleared.
-         */
-        @Override
-        public void onLoadCleared(@Nullable Drawable placeholder) {
-        }
-      });
+      /**
+       * Handles on batch complete.
+       */
+      @Override
+      public void onBatchComplete(WritableMap summary) {
+        view.emitMapEvent(RnPdfView.EVENT_THUMBNAIL_BATCH_COMPLETE, summary);
+      }
+    };
+    documentExecutor.executeRead(document, () -> {
+      try {
+        int[] pages = RnPageTextExtractor.resolvePages(
+          pagesOption instanceof List ? (List<?>) pagesOption : null, 0, -1,
+          document.getPageCount());
+        promise.resolve(thumbnailScheduler.schedule(view.getId(), document, pages, visiblePages,
+          thumbnailOptions, listener));
+      } catch (Exception e) {
+        promise.reject("RENDER_THUMBNAILS_FAIL", e);
+      }
+    });
+  }
+
+  /**
+   * Moves the visible pages of the running thumbnail batch to the front of the queue.
+   */
+  void updateThumbnailViewport(int tag, @Nullable ReadableArray visiblePages, int keepDistance) {
+    thumbnailScheduler.updateViewport(tag,
+      visiblePages == null ? new int[0] : toIntArray(visiblePages.toArrayList()), keepDistance);
+  }
+
+  /**
+   * Cancels the pending pages of the running thumbnail batch.
+   */
+  boolean cancelThumbnails(int tag) {
+    return thumbnailScheduler.cancel(tag);
   }
 
   /**
@@ -223,7 +492,7 @@ final class RnSearchRenderOps {
     RnPageCodec pageUtil = context.pageUtil;
     HashMap<String, Object> options = optionsMap != null ? optionsMap.toHashMap() : new HashMap<>();
 
-    CThreadPoolUtils.getInstance().executeIO(() -> {
+    documentExecutor.executeRead(document, () -> {
       Bitmap bitmap = null;
       try {
         if (document == null || pageIndex < 0 || pageIndex >= document.getPageCount()) {
@@ -259,7 +528,20 @@ final class RnSearchRenderOps {
           return;
         }
 
-        String base64 = Base64.encodeToString(compressBitmap(bitmap, options), Base64.NO_WRAP);
+        String outputPath = getStringOption(options, "output_path", null);
+        Bitmap.CompressFormat format =
+          RnImageOutput.toCompressFormat(getStringOption(options, "compression", "png"));
+        int quality = format == Bitmap.CompressFormat.JPEG
+          ? getIntOption(options, "quality", 100)
+          : 100;
+        if (!TextUtils.isEmpty(outputPath) || RnImageOutput.OUTPUT_FILE.equals(
+          getStringOption(options, "output_type", RnImageOutput.OUTPUT_BASE64))) {
+          WritableMap file = RnImageOutput.writeToFile(reactContext, bitmap, format, quality,
+            outputPath);
+          CThreadPoolUtils.getInstance().executeMain(() -> promise.resolve(file));
+          return;
+        }
+        String base64 = RnImageOutput.toBase64(bitmap, format, quality);
         CThreadPoolUtils.getInstance().executeMain(() -> promise.resolve(base64));
       } catch (Exception e) {
         String message = e.getMessage() == null
@@ -275,21 +557,6 @@ final class RnSearchRenderOps {
     });
   }
 
-  /**
-   * Returns compress bitmap.
-   */
-  private byte[] compressBitmap(Bitmap bitmap, HashMap<String, Object> options) {
-    String compression = getStringOption(options, "compression", "png");
-    int quality = getIntOption(options, "quality", 100);
-    Bitmap.CompressFormat format = "jpeg".equals(compression)
-      ? Bitmap.CompressFormat.JPEG
-      : Bitmap.CompressFormat.PNG;
-    int compressedQuality = format == Bitmap.CompressFormat.JPEG ? quality : 100;
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    bitmap.compress(format, compressedQuality, outputStream);
-    return outputStream.toByteArray();
-  }
-
   /**
    * Resolves annotation appearance render size.
    */
@@ -317,6 +584,18 @@ final class RnSearchRenderOps {
     return new int[]{scaledWidth, scaledHeight};
   }
 
+  /**
+   * Converts the numeric list entries to page indexes.
+   */
+  private int[] toIntArray(List<?> values) {
+    int[] result = new int[values.size()];
+    for (int i = 0; i < result.length; i++) {
+      Object value = values.get(i);
+      result[i] = value instanceof Number ? ((Number) value).intValue() : -1;
+    }
+    return result;
+  }
+
   /**
    * Returns the int option.
    */
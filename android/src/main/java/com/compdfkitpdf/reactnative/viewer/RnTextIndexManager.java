@@ -0,0 +1,322 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.content.Context;
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import androidx.documentfile.provider.DocumentFile;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkitpdf.reactnative.util.RnPageTextMapper;
+import com.compdfkitpdf.reactnative.util.RnTextIndex;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds, loads and drops the on-disk full-text index of each document.
+ */
+final class RnTextIndexManager {
+
+  private static final String BUILD_TEXT_INDEX_FAIL = "BUILD_TEXT_INDEX_FAIL";
+
+  private static final String INDEX_FOLDER = "compdfkit-text-index";
+
+  private static final String STATUS_NONE = "none";
+  private static final String STATUS_BUILDING = "building";
+  private static final String STATUS_READY = "ready";
+  private static final String STATUS_STALE = "stale";
+
+  private static final String DIRTY_STAMP_PREFIX = "dirty:";
+
+  private final Context context;
+  private final RnDocumentExecutor documentExecutor;
+  private final ConcurrentHashMap<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new RnTextIndexManager instance.
+   */
+  RnTextIndexManager(Context context, RnDocumentExecutor documentExecutor) {
+    this.context = context;
+    this.documentExecutor = documentExecutor;
+  }
+
+  /**
+   * Builds or refreshes the index on the document queue, re-tokenizing only pages whose text
+   * changed.
+   */
+  void build(CPDFDocument document, Promise promise) {
+    String key = documentKey(document);
+    if (TextUtils.isEmpty(key)) {
+      promise.reject(BUILD_TEXT_INDEX_FAIL, "Document path unavailable");
+      return;
+    }
+    IndexEntry entry = entry(key);
+    synchronized (entry) {
+      if (entry.building) {
+        promise.reject(BUILD_TEXT_INDEX_FAIL, "Text index is already being built");
+        return;
+      }
+      entry.building = true;
+      entry.pagesIndexed = 0;
+      entry.pageCount = 0;
+    }
+    documentExecutor.executeRead(document, () -> {
+      try {
+        int pageCount = document.getPageCount();
+        entry.pageCount = pageCount;
+        // Text read from unsaved edits must not be mistaken for the saved file later on.
+        String stamp = (document.hasChanges() ? DIRTY_STAMP_PREFIX : "")
+          + documentStamp(document);
+        RnTextIndex previous = loadIndex(key, entry);
+        Map<Long, String[]> previousPages = previous == null ? null : previous.pagesByHash();
+        RnTextIndex index = new RnTextIndex(stamp, pageCount);
+        int reusedPages = 0;
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+          String text = RnPageTextMapper.getPageText(document, pageIndex);
+          if (!index.putPage(pageIndex, text, previousPages)) {
+            reusedPages++;
+          }
+          entry.pagesIndexed = pageIndex + 1;
+        }
+        File indexFile = indexFile(key);
+        index.writeTo(indexFile);
+        entry.index = index;
+        entry.building = false;
+        WritableMap status = createStatus(document, key, entry);
+        status.putInt("reusedPages", reusedPages);
+        promise.resolve(status);
+      } catch (Exception e) {
+        entry.building = false;
+        promise.reject(BUILD_TEXT_INDEX_FAIL, e);
+      }
+    });
+  }
+
+  /**
+   * Returns the progress of a build running for the document without touching the document, or
+   * {@code null} when no build is running.
+   */
+  @Nullable
+  WritableMap getBuildProgress(CPDFDocument document) {
+    String key = documentKey(document);
+    IndexEntry entry = TextUtils.isEmpty(key) ? null : entries.get(key);
+    if (entry == null || !entry.building) {
+      return null;
+    }
+    WritableMap status = Arguments.createMap();
+    status.putString("status", STATUS_BUILDING);
+    status.putInt("pageCount", entry.pageCount);
+    status.putInt("pagesIndexed", entry.pagesIndexed);
+    return status;
+  }
+
+  /**
+   * Returns the index status of the document. Must run on the document queue.
+   */
+  WritableMap getStatus(CPDFDocument document) {
+    String key = documentKey(document);
+    if (TextUtils.isEmpty(key)) {
+      WritableMap status = Arguments.createMap();
+      status.putString("status", STATUS_NONE);
+      return status;
+    }
+    return createStatus(document, key, entry(key));
+  }
+
+  /**
+   * Drops the in-memory and on-disk index of the document.
+   */
+  boolean drop(CPDFDocument document) {
+    String key = documentKey(document);
+    if (TextUtils.isEmpty(key)) {
+      return false;
+    }
+    IndexEntry entry = entries.get(key);
+    if (entry != null && entry.building) {
+      throw new IllegalStateException("Text index is being built");
+    }
+    entries.remove(key);
+    File indexFile = indexFile(key);
+    return !indexFile.exists() || indexFile.delete();
+  }
+
+  /**
+   * Returns the candidate pages for the keywords, or {@code null} when no usable index exists.
+   */
+  @Nullable
+  int[] candidatePages(CPDFDocument document, String keywords) {
+    String key = documentKey(document);
+    if (TextUtils.isEmpty(key) || document.hasChanges()) {
+      return null;
+    }
+    IndexEntry entry = entry(key);
+    if (entry.building) {
+      return null;
+    }
+    RnTextIndex index = loadIndex(key, entry);
+    if (!isCurrent(index, document)) {
+      return null;
+    }
+    BitSet pages = index.candidatePages(keywords);
+    if (pages == null) {
+      return null;
+    }
+    int[] pageIndexes = new int[pages.cardinality()];
+    int position = 0;
+    for (int page = pages.nextSetBit(0); page >= 0; page = pages.nextSetBit(page + 1)) {
+      pageIndexes[position++] = page;
+    }
+    return pageIndexes;
+  }
+
+  /**
+   * Creates the status map for the index entry.
+   */
+  private WritableMap createStatus(CPDFDocument document, String key, IndexEntry entry) {
+    WritableMap status = Arguments.createMap();
+    if (entry.building) {
+      status.putString("status", STATUS_BUILDING);
+      status.putInt("pageCount", entry.pageCount);
+      status.putInt("pagesIndexed", entry.pagesIndexed);
+      return status;
+    }
+    int pageCount = document.getPageCount();
+    RnTextIndex index = loadIndex(key, entry);
+    if (index == null) {
+      status.putString("status", STATUS_NONE);
+      status.putInt("pageCount", pageCount);
+      status.putInt("pagesIndexed", 0);
+      return status;
+    }
+    status.putString("status",
+      isCurrent(index, document) && !document.hasChanges() ? STATUS_READY : STATUS_STALE);
+    status.putInt("pageCount", pageCount);
+    status.putInt("pagesIndexed", index.getPageCount());
+    status.putInt("tokenCount", index.getTokenCount());
+    status.putDouble("sizeBytes", indexFile(key).length());
+    return status;
+  }
+
+  /**
+   * Returns whether the index was built from the document as it is currently saved.
+   */
+  private boolean isCurrent(@Nullable RnTextIndex index, CPDFDocument document) {
+    return index != null && index.getPageCount() == document.getPageCount()
+      && index.getStamp().equals(documentStamp(document));
+  }
+
+  /**
+   * Returns the in-memory index, loading it from disk on first use.
+   */
+  @Nullable
+  private RnTextIndex loadIndex(String key, IndexEntry entry) {
+    RnTextIndex index = entry.index;
+    if (index == null && !entry.loaded) {
+      index = RnTextIndex.readFrom(indexFile(key));
+      entry.index = index;
+      entry.loaded = true;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the entry for the document key.
+   */
+  private IndexEntry entry(String key) {
+    IndexEntry entry = entries.get(key);
+    if (entry == null) {
+      IndexEntry created = new IndexEntry();
+      entry = entries.putIfAbsent(key, created);
+      if (entry == null) {
+        entry = created;
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * Returns the path or URI identifying the document.
+   */
+  static String documentKey(CPDFDocument document) {
+    if (!TextUtils.isEmpty(document.getAbsolutePath())) {
+      return document.getAbsolutePath();
+    }
+    return document.getUri() == null ? "" : document.getUri().toString();
+  }
+
+  /**
+   * Returns the size and modification stamp of the saved document.
+   */
+  private String documentStamp(CPDFDocument document) {
+    return documentStamp(context, document);
+  }
+
+  /**
+   * Returns the size and modification stamp of the saved document.
+   */
+  static String documentStamp(Context context, CPDFDocument document) {
+    long length;
+    long lastModified;
+    if (!TextUtils.isEmpty(document.getAbsolutePath())) {
+      File file = new File(document.getAbsolutePath());
+      length = file.length();
+      lastModified = file.lastModified();
+    } else {
+      DocumentFile file = DocumentFile.fromSingleUri(context, document.getUri());
+      length = file == null ? 0L : file.length();
+      lastModified = file == null ? 0L : file.lastModified();
+    }
+    return length + ":" + lastModified + ":" + document.getPageCount();
+  }
+
+  /**
+   * Returns the index file for the document key.
+   */
+  private File indexFile(String key) {
+    File folder = new File(context.getCacheDir(), INDEX_FOLDER);
+    return new File(folder, sha1(key) + ".idx");
+  }
+
+  /**
+   * Returns the hex SHA-1 digest of the value.
+   */
+  static String sha1(String value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1")
+        .digest(value.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (Exception e) {
+      return Integer.toHexString(value.hashCode());
+    }
+  }
+
+  /**
+   * Holds the loaded index and build progress of one document.
+   */
+  private static final class IndexEntry {
+
+    volatile RnTextIndex index;
+    volatile boolean loaded;
+    volatile boolean building;
+    volatile int pageCount;
+    volatile int pagesIndexed;
+  }
+}
@@ -0,0 +1,340 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkit.core.page.CPDFTextRange;
+import com.compdfkit.ui.textsearch.CPDFTextSearcher;
+import com.compdfkit.ui.textsearch.ITextSearcher;
+import com.compdfkitpdf.reactnative.util.RnSearchResultMapper;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs keyword searches on the document queue, each search holding the document for its whole
+ * scan so no queued write changes the pages underneath it.
+ */
+final class RnTextSearchEngine {
+
+  /**
+   * Receives the outcome of a search.
+   */
+  interface Callback {
+
+    /**
+     * Handles a finished search.
+     */
+    void onComplete(int searchId, WritableArray results);
+
+    /**
+     * Handles a cancelled search.
+     */
+    void onCancelled(int searchId);
+
+    /**
+     * Handles a failed search.
+     */
+    void onError(int searchId, Exception e);
+  }
+
+  /**
+   * Narrows a search to the pages that can contain the keywords.
+   */
+  interface PageSelector {
+
+    /**
+     * Returns the ascending page indexes to scan, or {@code null} to scan every page.
+     */
+    @Nullable
+    int[] selectPages(String keywords);
+  }
+
+  /**
+   * Receives streamed search batches and the final summary.
+   */
+  interface StreamListener {
+
+    /**
+     * Handles a batch of results together with the scan progress.
+     */
+    void onBatch(WritableMap batch);
+
+    /**
+     * Handles the summary sent once the search has finished, failed or been cancelled.
+     */
+    void onComplete(WritableMap summary);
+  }
+
+  private final Context context;
+  private final RnDocumentExecutor documentExecutor;
+  private final AtomicInteger searchIds = new AtomicInteger();
+  private final ConcurrentHashMap<Integer, SearchTask> activeSearches = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new RnTextSearchEngine instance.
+   */
+  RnTextSearchEngine(Context context, RnDocumentExecutor documentExecutor) {
+    this.context = context;
+    this.documentExecutor = documentExecutor;
+  }
+
+  /**
+   * Starts a search for the view tag, cancelling the search already running for it.
+   */
+  int search(int tag, CPDFDocument document, String keywords, int searchOptions,
+    @Nullable PageSelector pageSelector, Callback callback) {
+    return start(tag, document, keywords, searchOptions, pageSelector,
+      new SearchTask(searchIds.incrementAndGet(), callback, null, 0, 0L));
+  }
+
+  /**
+   * Starts a search that streams results in batches of scanned pages or elapsed time.
+   */
+  int searchStreaming(int tag, CPDFDocument document, String keywords, int searchOptions,
+    @Nullable PageSelector pageSelector, int batchPages, long batchIntervalMs,
+    StreamListener listener) {
+    return start(tag, document, keywords, searchOptions, pageSelector,
+      new SearchTask(searchIds.incrementAndGet(), null, listener, Math.max(1, batchPages),
+        Math.max(0L, batchIntervalMs)));
+  }
+
+  /**
+   * Registers the task for the view tag and queues its scan on the document.
+   */
+  private int start(int tag, CPDFDocument document, String keywords, int searchOptions,
+    @Nullable PageSelector pageSelector, SearchTask task) {
+    cancel(tag);
+    activeSearches.put(tag, task);
+    documentExecutor.executeRead(document,
+      () -> scan(tag, task, document, keywords, searchOptions, pageSelector));
+    return task.searchId;
+  }
+
+  /**
+   * Cancels the search running for the view tag.
+   */
+  void cancel(int tag) {
+    SearchTask task = activeSearches.remove(tag);
+    if (task != null) {
+      task.cancelled = true;
+      deliver(task);
+    }
+  }
+
+  /**
+   * Cancels the search for the view tag when it matches the search id.
+   */
+  void cancel(int tag, int searchId) {
+    SearchTask task = activeSearches.get(tag);
+    if (task != null && task.searchId == searchId) {
+      cancel(tag);
+    }
+  }
+
+  /**
+   * Scans the pages selected for the keywords with one searcher, stopping once cancelled.
+   */
+  private void scan(int tag, SearchTask task, CPDFDocument document, String keywords,
+    int searchOptions, @Nullable PageSelector pageSelector) {
+    try {
+      if (task.cancelled) {
+        return;
+      }
+      int pageCount = document.getPageCount();
+      task.onStarted(pageCount);
+      if (pageCount <= 0 || TextUtils.isEmpty(keywords)) {
+        return;
+      }
+      int[] pages = pageSelector == null ? null : pageSelector.selectPages(keywords);
+      int scanCount = pages == null ? pageCount : pages.length;
+      if (scanCount < pageCount) {
+        task.onPagesSkipped(pageCount - scanCount);
+      }
+      ITextSearcher searcher = new CPDFTextSearcher(context, document);
+      searcher.setSearchConfig(keywords, searchOptions);
+      for (int i = 0; i < scanCount && !task.cancelled; i++) {
+        int pageIndex = pages == null ? i : pages[i];
+        List<CPDFTextRange> textRanges = searcher.searchKeyword(pageIndex);
+        if (task.stream == null) {
+          task.pageResults.set(pageIndex, textRanges);
+        } else {
+          task.onPageScanned(pageIndex, textRanges);
+        }
+      }
+    } catch (Exception e) {
+      task.error = e;
+      task.cancelled = true;
+    } finally {
+      finish(tag, task);
+    }
+  }
+
+  /**
+   * Delivers the task outcome exactly once.
+   */
+  private void finish(int tag, SearchTask task) {
+    activeSearches.remove(tag, task);
+    deliver(task);
+  }
+
+  /**
+   * Sends the outcome to the callback or stream listener unless it was already sent.
+   */
+  private void deliver(SearchTask task) {
+    if (task.stream != null) {
+      task.complete();
+      return;
+    }
+    if (!task.finished.compareAndSet(false, true)) {
+      return;
+    }
+    if (task.error != null) {
+      task.callback.onError(task.searchId, task.error);
+    } else if (task.cancelled) {
+      task.callback.onCancelled(task.searchId);
+    } else {
+      task.callback.onComplete(task.searchId, toResults(task.pageResults));
+    }
+  }
+
+  /**
+   * Maps per-page text ranges to search results in page order.
+   */
+  private static WritableArray toResults(AtomicReferenceArray<List<CPDFTextRange>> pageResults) {
+    WritableArray results = Arguments.createArray();
+    for (int pageIndex = 0; pageIndex < pageResults.length(); pageIndex++) {
+      List<CPDFTextRange> textRanges = pageResults.get(pageIndex);
+      if (textRanges == null) {
+        continue;
+      }
+      for (int i = 0; i < textRanges.size(); i++) {
+        results.pushMap(RnSearchResultMapper.toSearchResult(pageIndex, i, textRanges.get(i)));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Tracks the state of a single search.
+   */
+  private static final class SearchTask {
+
+    final int searchId;
+    final Callback callback;
+    final StreamListener stream;
+    final int batchPages;
+    final long batchIntervalMs;
+    final AtomicBoolean finished = new AtomicBoolean();
+    volatile AtomicReferenceArray<List<CPDFTextRange>> pageResults =
+      new AtomicReferenceArray<>(0);
+    volatile boolean cancelled;
+    volatile Exception error;
+
+    private WritableArray pendingBatch = Arguments.createArray();
+    private int pendingPages;
+    private int pagesScanned;
+    private int totalResults;
+    private long lastBatchTime = SystemClock.elapsedRealtime();
+
+    /**
+     * Creates a new SearchTask instance.
+     */
+    SearchTask(int searchId, Callback callback, StreamListener stream, int batchPages,
+      long batchIntervalMs) {
+      this.searchId = searchId;
+      this.callback = callback;
+      this.stream = stream;
+      this.batchPages = batchPages;
+      this.batchIntervalMs = batchIntervalMs;
+    }
+
+    /**
+     * Sizes the per-page results once the scan holds the document.
+     */
+    synchronized void onStarted(int pageCount) {
+      pageResults = new AtomicReferenceArray<>(Math.max(0, pageCount));
+      lastBatchTime = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Counts pages excluded by the page selector as scanned.
+     */
+    synchronized void onPagesSkipped(int skippedPages) {
+      pagesScanned += skippedPages;
+    }
+
+    /**
+     * Buffers the page hits and emits a batch once enough pages or time have passed.
+     */
+    synchronized void onPageScanned(int pageIndex, List<CPDFTextRange> textRanges) {
+      if (finished.get()) {
+        return;
+      }
+      for (int i = 0; i < textRanges.size(); i++) {
+        pendingBatch.pushMap(RnSearchResultMapper.toSearchResult(pageIndex, i, textRanges.get(i)));
+      }
+      totalResults += textRanges.size();
+      pagesScanned++;
+      pendingPages++;
+      long now = SystemClock.elapsedRealtime();
+      if (pendingPages >= batchPages
+        || (batchIntervalMs > 0 && now - lastBatchTime >= batchIntervalMs)) {
+        flushBatch(now);
+      }
+    }
+
+    /**
+     * Emits the remaining buffered hits followed by the summary.
+     */
+    synchronized void complete() {
+      if (!finished.compareAndSet(false, true)) {
+        return;
+      }
+      if (error == null && !cancelled && pendingPages > 0) {
+        flushBatch(SystemClock.elapsedRealtime());
+      }
+      WritableMap summary = Arguments.createMap();
+      summary.putInt("searchId", searchId);
+      summary.putInt("totalResults", totalResults);
+      summary.putInt("pagesScanned", pagesScanned);
+      summary.putInt("pageCount", pageResults.length());
+      summary.putBoolean("cancelled", cancelled && error == null);
+      if (error != null) {
+        summary.putString("error", error.getMessage());
+      }
+      stream.onComplete(summary);
+    }
+
+    /**
+     * Emits the buffered hits as one batch.
+     */
+    private void flushBatch(long now) {
+      WritableMap batch = Arguments.createMap();
+      batch.putInt("searchId", searchId);
+      batch.putArray("results", pendingBatch);
+      batch.putInt("pagesScanned", pagesScanned);
+      batch.putInt("pageCount", pageResults.length());
+      stream.onBatch(batch);
+      pendingBatch = Arguments.createArray();
+      pendingPages = 0;
+      lastBatchTime = now;
+    }
+  }
+}
@@ -0,0 +1,429 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import androidx.annotation.Nullable;
+import com.compdfkit.core.document.CPDFDocument;
+import com.compdfkitpdf.reactnative.util.RnImageOutput;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders batches of page thumbnails to files, visible pages first, dropping work the viewport
+ * no longer needs.
+ */
+final class RnThumbnailScheduler {
+
+  private static final int MAX_IN_FLIGHT = 2;
+  private static final String THUMBNAIL_FOLDER = "compdfkit-thumbnails";
+
+  /**
+   * Receives the thumbnail events of a batch on render threads.
+   */
+  interface Listener {
+
+    /**
+     * Handles one rendered or failed page.
+     */
+    void onThumbnail(WritableMap thumbnail);
+
+    /**
+     * Handles the end of the batch.
+     */
+    void onBatchComplete(WritableMap summary);
+  }
+
+  /**
+   * Describes how every page of a batch is rendered and written.
+   */
+  static final class Options {
+
+    int width;
+    int height;
+    int backgroundColor;
+    boolean drawAnnot;
+    boolean drawForm;
+    Bitmap.CompressFormat format = Bitmap.CompressFormat.PNG;
+    int quality = 100;
+    @Nullable
+    String outputFolder;
+  }
+
+  private final Context context;
+  private final RnPageRenderer renderer;
+  private final AtomicInteger nextBatchId = new AtomicInteger(1);
+  private final AtomicInteger nextSequence = new AtomicInteger();
+  private final PriorityQueue<Job> queue = new PriorityQueue<>();
+  private final HashMap<Integer, Batch> batchesByTag = new HashMap<>();
+  private int inFlight;
+  private boolean staleFoldersCleared;
+
+  /**
+   * Creates a new RnThumbnailScheduler instance.
+   */
+  RnThumbnailScheduler(Context context, RnPageRenderer renderer) {
+    this.context = context;
+    this.renderer = renderer;
+  }
+
+  /**
+   * Queues the pages of a new batch, superseding the previous batch of the view. Reads the page
+   * count, so it must run on the document queue.
+   */
+  int schedule(int tag, CPDFDocument document, int[] pages, int[] visiblePages, Options options,
+    Listener listener) {
+    int pageCount = document.getPageCount();
+    for (int pageIndex : pages) {
+      if (pageIndex < 0 || pageIndex >= pageCount) {
+        throw new IllegalArgumentException("Invalid page index: " + pageIndex);
+      }
+    }
+    clearStaleFolders();
+    int batchId = nextBatchId.getAndIncrement();
+    Batch batch = new Batch(batchId, tag, document, options, outputFolder(batchId, options),
+      listener);
+    int[] sortedVisible = sortedCopy(visiblePages);
+    List<Batch> superseded = new ArrayList<>();
+    synchronized (this) {
+      Batch previous = batchesByTag.put(tag, batch);
+      if (previous != null) {
+        previous.superseded = true;
+        cancelPending(previous);
+        superseded.add(previous);
+      }
+      for (int pageIndex : pages) {
+        queue.add(new Job(batch, pageIndex, priority(pageIndex, sortedVisible),
+          nextSequence.getAndIncrement()));
+        batch.remaining++;
+      }
+    }
+    for (Batch previous : superseded) {
+      completeIfDone(previous);
+    }
+    completeIfDone(batch);
+    drain();
+    return batch.id;
+  }
+
+  /**
+   * Re-prioritizes the pending pages of the view around the visible pages, cancelling pages
+   * farther than the keep distance when it is not negative.
+   */
+  void updateViewport(int tag, int[] visiblePages, int keepDistance) {
+    int[] sortedVisible = sortedCopy(visiblePages);
+    Batch batch;
+    synchronized (this) {
+      batch = batchesByTag.get(tag);
+      if (batch == null) {
+        return;
+      }
+      List<Job> pending = new ArrayList<>();
+      Iterator<Job> iterator = queue.iterator();
+      while (iterator.hasNext()) {
+        Job job = iterator.next();
+        if (job.batch == batch) {
+          iterator.remove();
+          pending.add(job);
+        }
+      }
+      for (Job job : pending) {
+        int priority = priority(job.pageIndex, sortedVisible);
+        if (keepDistance >= 0 && priority > keepDistance) {
+          batch.remaining--;
+          batch.cancelled++;
+          continue;
+        }
+        queue.add(new Job(batch, job.pageIndex, priority, job.sequence));
+      }
+    }
+    completeIfDone(batch);
+  }
+
+  /**
+   * Cancels the pending pages of the view's batch, returning whether a batch was running.
+   */
+  boolean cancel(int tag) {
+    Batch batch;
+    synchronized (this) {
+      batch = batchesByTag.remove(tag);
+      if (batch == null) {
+        return false;
+      }
+      cancelPending(batch);
+    }
+    completeIfDone(batch);
+    return true;
+  }
+
+  /**
+   * Removes the queued pages of the batch. Pages already rendering still report their result.
+   */
+  private void cancelPending(Batch batch) {
+    Iterator<Job> iterator = queue.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().batch == batch) {
+        iterator.remove();
+        batch.remaining--;
+        batch.cancelled++;
+      }
+    }
+  }
+
+  /**
+   * Starts queued pages while render slots are free.
+   */
+  private void drain() {
+    while (true) {
+      Job job;
+      synchronized (this) {
+        if (inFlight >= MAX_IN_FLIGHT || queue.isEmpty()) {
+          return;
+        }
+        job = queue.poll();
+        inFlight++;
+      }
+      start(job);
+    }
+  }
+
+  /**
+   * Renders and writes one page, then frees its slot.
+   */
+  private void start(Job job) {
+    Batch batch = job.batch;
+    RnPageRenderer.Request request = new RnPageRenderer.Request(batch.document, job.pageIndex,
+      batch.options.width, batch.options.height, batch.options.backgroundColor,
+      batch.options.drawAnnot, batch.options.drawForm);
+    renderer.renderEncoded(request, batch.options.format, batch.options.quality,
+      new RnPageRenderer.EncodedConsumer() {
+      /**
+       * Handles on encoded.
+       */
+      @Override
+      public void onEncoded(RnRenderCache.Entry entry) throws Exception {
+        finish(job, RnImageOutput.writeToFile(context, entry.data, batch.options.format,
+          entry.width, entry.height, outputPath(job.pageIndex, batch)), null);
+      }
+
+      /**
+       * Handles on error.
+       */
+      @Override
+      public void onError(Exception e) {
+        finish(job, null, e);
+      }
+    });
+  }
+
+  /**
+   * Reports the page result and schedules the next page.
+   */
+  private void finish(Job job, @Nullable WritableMap file, @Nullable Exception error) {
+    Batch batch = job.batch;
+    WritableMap thumbnail = file != null ? file : Arguments.createMap();
+    thumbnail.putInt("batchId", batch.id);
+    thumbnail.putInt("pageIndex", job.pageIndex);
+    if (error != null) {
+      thumbnail.putString("error", error.getMessage() == null ? error.toString()
+        : error.getMessage());
+    }
+    synchronized (this) {
+      inFlight--;
+      batch.remaining--;
+      if (error != null) {
+        batch.failed++;
+      } else {
+        batch.rendered++;
+      }
+    }
+    batch.listener.onThumbnail(thumbnail);
+    completeIfDone(batch);
+    drain();
+  }
+
+  /**
+   * Emits the batch summary once no page is queued or rendering.
+   */
+  private void completeIfDone(Batch batch) {
+    WritableMap summary;
+    synchronized (this) {
+      if (batch.remaining > 0 || batch.completed) {
+        return;
+      }
+      batch.completed = true;
+      if (batchesByTag.get(batch.tag) == batch) {
+        batchesByTag.remove(batch.tag);
+      }
+      summary = Arguments.createMap();
+      summary.putInt("batchId", batch.id);
+      summary.putString("outputFolder", batch.outputFolder);
+      summary.putInt("rendered", batch.rendered);
+      summary.putInt("failed", batch.failed);
+      summary.putInt("cancelled", batch.cancelled);
+      summary.putBoolean("superseded", batch.superseded);
+    }
+    batch.listener.onBatchComplete(summary);
+  }
+
+  /**
+   * Returns the requested output folder, or a folder of its own for the batch. Thumbnails are not
+   * written to the trimmed render cache, which would delete them while the batch still runs.
+   */
+  private String outputFolder(int batchId, Options options) {
+    if (options.outputFolder != null) {
+      return options.outputFolder;
+    }
+    return new File(new File(context.getCacheDir(), THUMBNAIL_FOLDER), "batch_" + batchId)
+      .getAbsolutePath();
+  }
+
+  /**
+   * Deletes the default batch folders left by earlier sessions the first time a batch is
+   * scheduled. Runs on the document queue, off the main thread.
+   */
+  private void clearStaleFolders() {
+    synchronized (this) {
+      if (staleFoldersCleared) {
+        return;
+      }
+      staleFoldersCleared = true;
+    }
+    File[] folders = new File(context.getCacheDir(), THUMBNAIL_FOLDER).listFiles();
+    if (folders == null) {
+      return;
+    }
+    for (File folder : folders) {
+      File[] files = folder.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          file.delete();
+        }
+      }
+      folder.delete();
+    }
+  }
+
+  /**
+   * Returns the output file of the page in the batch folder.
+   */
+  private static String outputPath(int pageIndex, Batch batch) {
+    String extension = batch.options.format == Bitmap.CompressFormat.JPEG ? ".jpg" : ".png";
+    return new File(batch.outputFolder, "page_" + pageIndex + extension).getAbsolutePath();
+  }
+
+  /**
+   * Returns the distance from the page to the nearest visible page, or the page index when no
+   * page is visible, so lower values render first.
+   */
+  static int priority(int pageIndex, int[] sortedVisiblePages) {
+    if (sortedVisiblePages.length == 0) {
+      return pageIndex;
+    }
+    int position = Arrays.binarySearch(sortedVisiblePages, pageIndex);
+    if (position >= 0) {
+      return 0;
+    }
+    int insertion = -position - 1;
+    int distance = Integer.MAX_VALUE;
+    if (insertion < sortedVisiblePages.length) {
+      distance = sortedVisiblePages[insertion] - pageIndex;
+    }
+    if (insertion > 0) {
+      distance = Math.min(distance, pageIndex - sortedVisiblePages[insertion - 1]);
+    }
+    return distance;
+  }
+
+  /**
+   * Returns a sorted copy of the pages.
+   */
+  private static int[] sortedCopy(@Nullable int[] pages) {
+    if (pages == null) {
+      return new int[0];
+    }
+    int[] sorted = Arrays.copyOf(pages, pages.length);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  /**
+   * Tracks the progress of one batch.
+   */
+  private static final class Batch {
+
+    final int id;
+    final int tag;
+    final CPDFDocument document;
+    final Options options;
+    final String outputFolder;
+    final Listener listener;
+    int remaining;
+    int rendered;
+    int failed;
+    int cancelled;
+    boolean superseded;
+    boolean completed;
+
+    /**
+     * Creates a new Batch instance.
+     */
+    Batch(int id, int tag, CPDFDocument document, Options options, String outputFolder,
+      Listener listener) {
+      this.id = id;
+      this.tag = tag;
+      this.document = document;
+      this.options = options;
+      this.outputFolder = outputFolder;
+      this.listener = listener;
+    }
+  }
+
+  /**
+   * Queued page ordered by viewport distance, then by request order.
+   */
+  private static final class Job implements Comparable<Job> {
+
+    final Batch batch;
+    final int pageIndex;
+    final int priority;
+    final int sequence;
+
+    /**
+     * Creates a new Job instance.
+     */
+    Job(Batch batch, int pageIndex, int priority, int sequence) {
+      this.batch = batch;
+      this.pageIndex = pageIndex;
+      this.priority = priority;
+      this.sequence = sequence;
+    }
+
+    /**
+     * Compares by priority, then by sequence.
+     */
+    @Override
+    public int compareTo(Job other) {
+      if (priority != other.priority) {
+        return priority < other.priority ? -1 : 1;
+      }
+      return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright © 2014-2026 PDF Technologies, Inc. All Rights Reserved.
+ * <p>
+ * THIS SOURCE CODE AND ANY ACCOMPANYING DOCUMENTATION ARE PROTECTED BY INTERNATIONAL COPYRIGHT LAW
+ * AND MAY NOT BE RESOLD OR REDISTRIBUTED. USAGE IS BOUND TO THE ComPDFKit LICENSE AGREEMENT.
+ * UNAUTHORIZED REPRODUCTION OR DISTRIBUTION IS SUBJECT TO CIVIL AND CRIMINAL PENALTIES. This notice
+ * may not be removed from this file.
+ */
+
+package com.compdfkitpdf.reactnative.viewer;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the bounded background pools used by the viewer operations.
+ */
+final class RnWorkerPool {
+
+  private static final long KEEP_ALIVE_SECONDS = 30L;
+
+  private RnWorkerPool() {
+  }
+
+  /**
+   * Returns the worker count for CPU-bound document work, leaving one core for the UI.
+   */
+  static int defaultWorkerCount() {
+    return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  }
+
+  /**
+   * Creates a fixed-size pool of daemon threads that time out when idle.
+   */
+  static ThreadPoolExecutor newPool(String name, int workerCount) {
+    return newPool(name, workerCount, new LinkedBlockingQueue<>());
+  }
+
+  /**
+   * Creates a fixed-size pool of daemon threads over the given queue.
+   */
+  static ThreadPoolExecutor newPool(String name, int workerCount, BlockingQueue<Runnable> queue) {
+    AtomicInteger threadIds = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(workerCount, workerCount,
+      KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue, runnable -> {
+      Thread thread = new Thread(runnable, "ComPDFKitRN-" + name + "-" + threadIds.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
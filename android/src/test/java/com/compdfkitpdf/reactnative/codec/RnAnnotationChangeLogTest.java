@@ -0,0 +1,142 @@
+package com.compdfkitpdf.reactnative.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class RnAnnotationChangeLogTest {
+
+  @Test
+  public void sequenceInsideRetainedWindowIsComplete() {
+    assertFalse(RnAnnotationChangeLog.isTruncated(0, 1, 0, 10));
+    assertFalse(RnAnnotationChangeLog.isTruncated(5, 1, 0, 10));
+    assertFalse(RnAnnotationChangeLog.isTruncated(10, 1, 0, 10));
+  }
+
+  @Test
+  public void sequenceOlderThanRetainedWindowIsTruncated() {
+    assertTrue(RnAnnotationChangeLog.isTruncated(3, 5, 0, 20));
+    assertFalse(RnAnnotationChangeLog.isTruncated(4, 5, 0, 20));
+  }
+
+  @Test
+  public void sequenceBeforeResetIsTruncated() {
+    assertTrue(RnAnnotationChangeLog.isTruncated(6, 8, 7, 9));
+    assertFalse(RnAnnotationChangeLog.isTruncated(7, 8, 7, 9));
+  }
+
+  @Test
+  public void sequenceNeverIssuedIsTruncated() {
+    assertTrue(RnAnnotationChangeLog.isTruncated(11, 1, 0, 10));
+  }
+
+  @Test
+  public void createdAnnotationIsReported() {
+    RnAnnotationChangeLog log = new RnAnnotationChangeLog();
+    log.record(RnAnnotationChangeLog.OP_CREATE, 2, "a", "ink", "s1");
+
+    RnAnnotationChangeLog.Changes changes = log.collect(0, 0);
+
+    assertEquals(1, changes.entries.size());
+    assertChange(changes.entries.get(0), 1, RnAnnotationChangeLog.OP_CREATE, 2, "a", "ink");
+    assertEquals(1, changes.latestSeq);
+    assertFalse(changes.hasMore);
+    assertFalse(changes.truncated);
+  }
+
+  @Test
+  public void reconcileReportsUpdatedSignatureOnly() {
+    RnAnnotationChangeLog log = new RnAnnotationChangeLog();
+    log.track(0, snapshots("a", "s1", "b", "s1"));
+
+    log.reconcile(0, snapshots("a", "s2", "b", "s1"));
+
+    RnAnnotationChangeLog.Changes changes = log.collect(0, 0);
+    assertEquals(1, changes.entries.size());
+    assertChange(changes.entries.get(0), 1, RnAnnotationChangeLog.OP_UPDATE, 0, "a", "square");
+
+    log.reconcile(0, snapshots("a", "s2", "b", "s1"));
+    assertEquals(0, log.collect(1, 0).entries.size());
+  }
+
+  @Test
+  public void reconcileReportsCreatedAndDeletedAnnotations() {
+    RnAnnotationChangeLog log = new RnAnnotationChangeLog();
+    log.track(1, snapshots("a", "s1"));
+
+    log.reconcile(1, snapshots("b", "s1"));
+
+    RnAnnotationChangeLog.Changes changes = log.collect(0, 0);
+    assertEquals(2, changes.entries.size());
+    assertChange(changes.entries.get(0), 1, RnAnnotationChangeLog.OP_CREATE, 1, "b", "square");
+    assertChange(changes.entries.get(1), 2, RnAnnotationChangeLog.OP_DELETE, 1, "a", "square");
+  }
+
+  @Test
+  public void recordedChangesAlreadyInSnapshotAreNotRepeated() {
+    RnAnnotationChangeLog log = new RnAnnotationChangeLog();
+    log.track(0, snapshots("a", "s1"));
+
+    log.record(RnAnnotationChangeLog.OP_CREATE, 0, "a", "square", "s1");
+    log.record(RnAnnotationChangeLog.OP_DELETE, 0, "a", "square", null);
+    log.record(RnAnnotationChangeLog.OP_DELETE, 0, "a", "square", null);
+    log.reconcile(0, snapshots());
+
+    RnAnnotationChangeLog.Changes changes = log.collect(0, 0);
+    assertEquals(1, changes.entries.size());
+    assertChange(changes.entries.get(0), 1, RnAnnotationChangeLog.OP_DELETE, 0, "a", "square");
+  }
+
+  @Test
+  public void changesArePagedByLimit() {
+    RnAnnotationChangeLog log = new RnAnnotationChangeLog();
+    log.record(RnAnnotationChangeLog.OP_CREATE, 0, "a", "ink", "s1");
+    log.record(RnAnnotationChangeLog.OP_CREATE, 0, "b", "ink", "s1");
+    log.record(RnAnnotationChangeLog.OP_DELETE, 0, "a", "ink", null);
+
+    RnAnnotationChangeLog.Changes first = log.collect(0, 2);
+    RnAnnotationChangeLog.Changes rest = log.collect(2, 2);
+
+    assertEquals(2, first.entries.size());
+    assertTrue(first.hasMore);
+    assertEquals(1, rest.entries.size());
+    assertChange(rest.entries.get(0), 3, RnAnnotationChangeLog.OP_DELETE, 0, "a", "ink");
+    assertFalse(rest.hasMore);
+  }
+
+  @Test
+  public void resetTruncatesEarlierSequences() {
+    RnAnnotationChangeLog log = new RnAnnotationChangeLog();
+    log.record(RnAnnotationChangeLog.OP_CREATE, 0, "a", "ink", "s1");
+    log.reset();
+
+    RnAnnotationChangeLog.Changes changes = log.collect(1, 0);
+
+    assertTrue(changes.truncated);
+    assertEquals(0, changes.entries.size());
+    assertEquals(2, changes.latestSeq);
+    assertFalse(log.isTracked(0));
+  }
+
+  private static Map<String, RnAnnotationChangeLog.Snapshot> snapshots(String... uuidAndSignature) {
+    Map<String, RnAnnotationChangeLog.Snapshot> snapshots = new HashMap<>();
+    for (int i = 0; i < uuidAndSignature.length; i += 2) {
+      snapshots.put(uuidAndSignature[i],
+        new RnAnnotationChangeLog.Snapshot("square", uuidAndSignature[i + 1]));
+    }
+    return snapshots;
+  }
+
+  private static void assertChange(RnAnnotationChangeLog.Entry entry, long seq, String op,
+    int pageIndex, String uuid, String type) {
+    assertEquals(seq, entry.seq);
+    assertEquals(op, entry.op);
+    assertEquals(pageIndex, entry.pageIndex);
+    assertEquals(uuid, entry.uuid);
+    assertEquals(type, entry.type);
+  }
+}
@@ -0,0 +1,32 @@
+package com.compdfkitpdf.reactnative.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RnAnnotationQueryTest {
+
+  @Test
+  public void missingCursorStartsAtFirstPage() {
+    assertArrayEquals(new int[]{0, 0}, RnAnnotationQuery.parseCursor(null));
+    assertArrayEquals(new int[]{0, 0}, RnAnnotationQuery.parseCursor(""));
+  }
+
+  @Test
+  public void cursorRoundTripsPageAndOffset() {
+    String cursor = RnAnnotationQuery.encodeCursor(1499, 7);
+    assertEquals("1499:7", cursor);
+    assertArrayEquals(new int[]{1499, 7}, RnAnnotationQuery.parseCursor(cursor));
+  }
+
+  @Test
+  public void pageOnlyCursorStartsAtPageStart() {
+    assertArrayEquals(new int[]{12, 0}, RnAnnotationQuery.parseCursor("12"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void malformedCursorIsRejected() {
+    RnAnnotationQuery.parseCursor("next");
+  }
+}
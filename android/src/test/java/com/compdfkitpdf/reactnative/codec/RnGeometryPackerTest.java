@@ -0,0 +1,53 @@
+package com.compdfkitpdf.reactnative.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RnGeometryPackerTest {
+
+  @Test
+  public void floatsAreWrittenLittleEndian() {
+    assertArrayEquals(new byte[]{0, 0, (byte) 0x80, 0x3F},
+      RnGeometryPacker.toLittleEndianBytes(new float[]{1f}));
+  }
+
+  @Test
+  public void packedFloatsRoundTrip() {
+    float[] coordinates = {12.5f, -3.25f, 595.28f, 841.89f};
+    assertArrayEquals(coordinates,
+      RnGeometryPacker.fromLittleEndianBytes(RnGeometryPacker.toLittleEndianBytes(coordinates)),
+      0f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void truncatedBufferIsRejected() {
+    RnGeometryPacker.fromLittleEndianBytes(new byte[6]);
+  }
+
+  @Test
+  public void strokeEndsAtNextOffsetOrPointCount() {
+    int[] offsets = {0, 3, 7};
+    assertEquals(3, RnGeometryPacker.strokeEnd(offsets, 0, 10));
+    assertEquals(7, RnGeometryPacker.strokeEnd(offsets, 1, 10));
+    assertEquals(10, RnGeometryPacker.strokeEnd(offsets, 2, 10));
+  }
+
+  @Test
+  public void strokeEndIsClampedToPointCount() {
+    assertEquals(5, RnGeometryPacker.strokeEnd(new int[]{0, 9}, 0, 5));
+    assertEquals(5, RnGeometryPacker.strokeEnd(new int[]{0, 9}, 1, 5));
+  }
+
+  @Test
+  public void encodingDefaultsToNested() {
+    assertEquals(RnGeometryPacker.ENCODING_NESTED, RnGeometryPacker.normalizeEncoding(null));
+    assertEquals(RnGeometryPacker.ENCODING_BASE64, RnGeometryPacker.normalizeEncoding("Base64"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownEncodingIsRejected() {
+    RnGeometryPacker.normalizeEncoding("protobuf");
+  }
+}
@@ -0,0 +1,26 @@
+package com.compdfkitpdf.reactnative.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RnImageOutputTest {
+
+  @Test
+  public void nothingIsEvictedBelowTheLimits() {
+    assertEquals(0, RnImageOutput.evictionCount(new long[0], 4, 100));
+    assertEquals(0, RnImageOutput.evictionCount(new long[]{10, 10, 10}, 4, 100));
+  }
+
+  @Test
+  public void oldestFilesAreEvictedToMakeRoomForOneMore() {
+    assertEquals(1, RnImageOutput.evictionCount(new long[]{10, 10, 10, 10}, 4, 100));
+    assertEquals(3, RnImageOutput.evictionCount(new long[]{10, 10, 10, 10, 10, 10}, 4, 100));
+  }
+
+  @Test
+  public void oldestFilesAreEvictedUntilUnderTheByteLimit() {
+    assertEquals(2, RnImageOutput.evictionCount(new long[]{60, 30, 30}, 10, 50));
+    assertEquals(1, RnImageOutput.evictionCount(new long[]{200}, 10, 50));
+  }
+}
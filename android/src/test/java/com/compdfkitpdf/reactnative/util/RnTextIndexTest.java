@@ -0,0 +1,83 @@
+package com.compdfkitpdf.reactnative.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.BitSet;
+import java.util.Set;
+import org.junit.Test;
+
+public class RnTextIndexTest {
+
+  @Test
+  public void tokenizeLowerCasesWordsAndSplitsIdeographs() {
+    Set<String> tokens = RnTextIndex.tokenize("Contract-ID 42, 合同");
+    assertTrue(tokens.contains("contract"));
+    assertTrue(tokens.contains("id"));
+    assertTrue(tokens.contains("42"));
+    assertTrue(tokens.contains("合"));
+    assertTrue(tokens.contains("同"));
+    assertEquals(5, tokens.size());
+  }
+
+  @Test
+  public void candidatePagesMatchesSubstringsOfEveryKeyword() {
+    RnTextIndex index = new RnTextIndex("stamp", 3);
+    index.putPage(0, "Master services agreement", null);
+    index.putPage(1, "Subcontract terms", null);
+    index.putPage(2, "Contract terms and agreement", null);
+
+    BitSet pages = index.candidatePages("TRACT agree");
+    assertFalse(pages.get(0));
+    assertFalse(pages.get(1));
+    assertTrue(pages.get(2));
+
+    pages = index.candidatePages("tract");
+    assertTrue(pages.get(1));
+    assertTrue(pages.get(2));
+  }
+
+  @Test
+  public void candidatePagesScansEverythingWithoutIndexableTokens() {
+    RnTextIndex index = new RnTextIndex("stamp", 1);
+    index.putPage(0, "text", null);
+    assertNull(index.candidatePages("  --  "));
+  }
+
+  @Test
+  public void putPageReusesUnchangedPages() {
+    RnTextIndex previous = new RnTextIndex("old", 2);
+    previous.putPage(0, "first page", null);
+    previous.putPage(1, "second page", null);
+
+    RnTextIndex index = new RnTextIndex("new", 2);
+    assertFalse(index.putPage(0, "second page", previous.pagesByHash()));
+    assertTrue(index.putPage(1, "edited page", previous.pagesByHash()));
+    assertTrue(index.candidatePages("second").get(0));
+    assertTrue(index.candidatePages("edited").get(1));
+  }
+
+  @Test
+  public void writeAndReadRoundTrip() throws Exception {
+    File file = File.createTempFile("rn-text-index", ".idx");
+    try {
+      RnTextIndex index = new RnTextIndex("12:34:2", 2);
+      index.putPage(0, "alpha beta", null);
+      index.putPage(1, "gamma", null);
+      index.writeTo(file);
+
+      RnTextIndex loaded = RnTextIndex.readFrom(file);
+      assertNotNull(loaded);
+      assertEquals("12:34:2", loaded.getStamp());
+      assertEquals(2, loaded.getPageCount());
+      assertEquals(3, loaded.getTokenCount());
+      assertTrue(loaded.candidatePages("gam").get(1));
+    } finally {
+      file.delete();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.compdfkitpdf.reactnative.viewer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RnAutoSaveSchedulerTest {
+
+  @Test
+  public void freshEditsWaitForTheDebounceDelay() {
+    assertEquals(2000, RnAutoSaveScheduler.nextDelay(1000, 1000, 2000, 30000));
+  }
+
+  @Test
+  public void steadyEditsAreCappedByTheMaxDelay() {
+    assertEquals(500, RnAutoSaveScheduler.nextDelay(30500, 1000, 2000, 30000));
+  }
+
+  @Test
+  public void overdueEditsAreWrittenImmediately() {
+    assertEquals(0, RnAutoSaveScheduler.nextDelay(40000, 1000, 2000, 30000));
+  }
+
+  @Test
+  public void retriesBackOffFromTheDebounceDelay() {
+    assertEquals(2000, RnAutoSaveScheduler.retryDelay(1, 2000, 30000));
+    assertEquals(4000, RnAutoSaveScheduler.retryDelay(2, 2000, 30000));
+    assertEquals(8000, RnAutoSaveScheduler.retryDelay(3, 2000, 30000));
+  }
+
+  @Test
+  public void retriesAreCappedByTheMaxDelay() {
+    assertEquals(30000, RnAutoSaveScheduler.retryDelay(10, 2000, 30000));
+    assertEquals(30000, RnAutoSaveScheduler.retryDelay(Integer.MAX_VALUE, 2000, 30000));
+  }
+
+  @Test
+  public void retriesNeverSpinWithoutADebounceDelay() {
+    assertEquals(RnAutoSaveScheduler.MIN_RETRY_DELAY_MS,
+      RnAutoSaveScheduler.retryDelay(1, 0, 0));
+  }
+}
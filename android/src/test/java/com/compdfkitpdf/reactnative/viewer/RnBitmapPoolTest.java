@@ -0,0 +1,31 @@
+package com.compdfkitpdf.reactnative.viewer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RnBitmapPoolTest {
+
+  @Test
+  public void bucketForRoundsUpToPowerOfTwo() {
+    assertEquals(10, RnBitmapPool.bucketFor(1024));
+    assertEquals(11, RnBitmapPool.bucketFor(1025));
+  }
+
+  @Test
+  public void bucketFloorRoundsDownToPowerOfTwo() {
+    assertEquals(10, RnBitmapPool.bucketFloor(1024));
+    assertEquals(10, RnBitmapPool.bucketFloor(2047));
+  }
+
+  @Test
+  public void pooledAllocationAlwaysCoversAcquiredSize() {
+    for (long allocation = 1; allocation < 100_000; allocation += 997) {
+      int bucket = RnBitmapPool.bucketFloor(allocation);
+      long largestServed = 1L << bucket;
+      assertTrue(RnBitmapPool.bucketFor(largestServed) == bucket);
+      assertTrue(allocation >= largestServed);
+    }
+  }
+}
@@ -1,9 +1,11 @@
 package com.compdfkitpdf.reactnative.viewer;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import org.junit.Test;
 
 public class RnDocumentOpsTest {
@@ -33,4 +35,78 @@ public class RnDocumentOpsTest {
     assertFalse(RnDocumentOps.isValidInsertIndex(-1, 5));
     assertFalse(RnDocumentOps.isValidInsertIndex(6, 5));
   }
+
+  @Test
+  public void resolveSaveModeAppendsWhenTheDocumentAllowsIt() {
+    assertEquals(RnDocumentOps.SAVE_MODE_INCREMENTAL,
+      RnDocumentOps.resolveSaveMode(null, false, true));
+    assertEquals(RnDocumentOps.SAVE_MODE_INCREMENTAL,
+      RnDocumentOps.resolveSaveMode(RnDocumentOps.SAVE_MODE_AUTO, false, true));
+    assertEquals(RnDocumentOps.SAVE_MODE_FULL,
+      RnDocumentOps.resolveSaveMode(RnDocumentOps.SAVE_MODE_FULL, false, true));
+  }
+
+  @Test
+  public void resolveSaveModeRewritesWhenAppendingIsNotPossible() {
+    assertEquals(RnDocumentOps.SAVE_MODE_FULL,
+      RnDocumentOps.resolveSaveMode(RnDocumentOps.SAVE_MODE_AUTO, false, false));
+    assertEquals(RnDocumentOps.SAVE_MODE_FULL, RnDocumentOps.resolveSaveMode(null, false, false));
+  }
+
+  @Test
+  public void resolveSaveModeRewritesWhenRemovingSecurity() {
+    assertEquals(RnDocumentOps.SAVE_MODE_FULL,
+      RnDocumentOps.resolveSaveMode(RnDocumentOps.SAVE_MODE_INCREMENTAL, true, true));
+    assertEquals(RnDocumentOps.SAVE_MODE_FULL,
+      RnDocumentOps.resolveSaveMode(RnDocumentOps.SAVE_MODE_AUTO, true, true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void resolveSaveModeRejectsUnknownModes() {
+    RnDocumentOps.resolveSaveMode("compact", false, true);
+  }
+
+  @Test
+  public void resolvePageSelectionDefaultsToAllPages() {
+    assertArrayEquals(new int[]{0, 1, 2}, RnDocumentOps.resolvePageSelection(null, 3));
+    assertArrayEquals(new int[]{0, 1, 2}, RnDocumentOps.resolvePageSelection(new int[0], 3));
+  }
+
+  @Test
+  public void resolvePageSelectionKeepsRequestedOrder() {
+    assertArrayEquals(new int[]{2, 0}, RnDocumentOps.resolvePageSelection(new int[]{2, 0}, 3));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void resolvePageSelectionRejectsMissingPages() {
+    RnDocumentOps.resolvePageSelection(new int[]{3}, 3);
+  }
+
+  @Test
+  public void selectionMaskMarksSelectedPages() {
+    boolean[] mask = RnDocumentOps.selectionMask(new int[]{3, 1}, 5);
+    assertFalse(mask[0]);
+    assertTrue(mask[1]);
+    assertFalse(mask[2]);
+    assertTrue(mask[3]);
+    assertFalse(mask[4]);
+  }
+
+  @Test
+  public void pageRunsKeepEveryPageInOrder() {
+    List<int[]> runs = RnDocumentOps.pageRuns(new boolean[]{false, true, true, false, false}, 20);
+    assertEquals(3, runs.size());
+    assertArrayEquals(new int[]{0}, runs.get(0));
+    assertArrayEquals(new int[]{1, 2}, runs.get(1));
+    assertArrayEquals(new int[]{3, 4}, runs.get(2));
+  }
+
+  @Test
+  public void pageRunsSplitSelectedPagesIntoChunks() {
+    List<int[]> runs = RnDocumentOps.pageRuns(new boolean[]{true, true, true, false, false}, 2);
+    assertEquals(3, runs.size());
+    assertArrayEquals(new int[]{0, 1}, runs.get(0));
+    assertArrayEquals(new int[]{2}, runs.get(1));
+    assertArrayEquals(new int[]{3, 4}, runs.get(2));
+  }
 }
@@ -0,0 +1,31 @@
+package com.compdfkitpdf.reactnative.viewer;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import org.junit.Test;
+
+public class RnPageTextExtractorTest {
+
+  @Test
+  public void resolvePagesDefaultsToWholeDocument() {
+    assertArrayEquals(new int[]{0, 1, 2}, RnPageTextExtractor.resolvePages(null, 0, -1, 3));
+  }
+
+  @Test
+  public void resolvePagesClampsInclusiveRange() {
+    assertArrayEquals(new int[]{2, 3, 4}, RnPageTextExtractor.resolvePages(null, 2, 10, 5));
+    assertArrayEquals(new int[0], RnPageTextExtractor.resolvePages(null, 4, 3, 5));
+  }
+
+  @Test
+  public void resolvePagesKeepsExplicitOrder() {
+    assertArrayEquals(new int[]{4, 0, 2},
+      RnPageTextExtractor.resolvePages(Arrays.asList(4.0, 0.0, 2.0), 0, -1, 5));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void resolvePagesRejectsOutOfRangePages() {
+    RnPageTextExtractor.resolvePages(Arrays.asList(5.0), 0, -1, 5);
+  }
+}
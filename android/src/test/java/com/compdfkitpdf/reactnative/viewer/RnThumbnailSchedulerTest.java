@@ -0,0 +1,26 @@
+package com.compdfkitpdf.reactnative.viewer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RnThumbnailSchedulerTest {
+
+  @Test
+  public void visiblePagesHaveTopPriority() {
+    assertEquals(0, RnThumbnailScheduler.priority(4, new int[]{3, 4, 5}));
+  }
+
+  @Test
+  public void priorityIsDistanceToNearestVisiblePage() {
+    int[] visible = {10, 11};
+    assertEquals(1, RnThumbnailScheduler.priority(9, visible));
+    assertEquals(3, RnThumbnailScheduler.priority(14, visible));
+    assertEquals(10, RnThumbnailScheduler.priority(0, visible));
+  }
+
+  @Test
+  public void priorityFallsBackToPageOrderWithoutViewport() {
+    assertEquals(7, RnThumbnailScheduler.priority(7, new int[0]));
+  }
+}
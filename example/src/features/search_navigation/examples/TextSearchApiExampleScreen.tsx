@@ -45,10 +45,19 @@ export default function TextSearchApiExampleScreen() {
 
     const document = reader?._pdfDocument;
     const textSearcher = document?.textSearcher;
-    const results = await textSearcher?.searchText(
-      searchText,
-      CPDFSearchOptions.CaseInsensitive,
-    );
+    let results;
+    try {
+      results = await textSearcher?.searchText(
+        searchText,
+        CPDFSearchOptions.CaseInsensitive,
+      );
+    } catch (e: any) {
+      // A newer search replaced this one and will update the results.
+      if (e?.code === 'SEARCH_CANCELLED') {
+        return;
+      }
+      throw e;
+    }
 
     if (results && results.length > 0) {
       const firstResult = results[0];
@@ -53,6 +53,204 @@ export type CPDFExtractImageResult = {
   imagePaths: string[];
 };
 
+/** Options for {@link CPDFDocument.saveDocument}. */
+export type CPDFSaveDocumentOptions = {
+  /** 'auto' appends when the file allows it, 'incremental' always appends, 'full' rewrites. */
+  mode?: 'auto' | 'incremental' | 'full';
+  removeSecurity?: boolean;
+  fontSubset?: boolean;
+};
+
+/** Result returned by {@link CPDFDocument.saveDocument}. */
+export type CPDFSaveDocumentResult = {
+  success: boolean;
+  mode: 'incremental' | 'full';
+  bytesWritten: number;
+  fileSize: number;
+  durationMs: number;
+  reloaded: boolean;
+};
+
+/** One source document passed to {@link CPDFDocument.mergeDocuments}. */
+export type CPDFMergeSource = {
+  filePath: string;
+  password?: string;
+  /** Zero-based page indexes to import. Empty or omitted imports every page. */
+  pages?: number[];
+};
+
+/** Result returned by {@link CPDFDocument.mergeDocuments}. */
+export type CPDFMergeResult = {
+  success: boolean;
+  importedPages: number;
+  pageCount: number;
+  sources: Array<{
+    sourceIndex: number;
+    filePath: string;
+    success: boolean;
+    importedPages?: number;
+    error?: string;
+  }>;
+};
+
+/** One output file written by {@link CPDFDocument.splitDocumentPagesBatch}. */
+export type CPDFSplitJob = {
+  savePath: string;
+  /** Zero-based page indexes to write. Empty or omitted writes every page. */
+  pages?: number[];
+};
+
+/** Result of one job of {@link CPDFDocument.splitDocumentPagesBatch}, in job order. */
+export type CPDFSplitJobResult = {
+  jobIndex: number;
+  savePath: string;
+  success: boolean;
+  error?: string;
+};
+
+/** Result returned by {@link CPDFDocument.flattenPages}. */
+export type CPDFFlattenPagesResult = {
+  success: boolean;
+  savePath: string;
+  pageCount: number;
+  flattenedPages: number;
+  durationMs: number;
+};
+
+/** Options for {@link CPDFDocument.extractPagesText}. */
+export type CPDFExtractPagesTextOptions = {
+  /** Zero-based page indexes. Takes precedence over `startPage` and `endPage`. */
+  pages?: number[];
+  startPage?: number;
+  /** Inclusive last page; -1 means the last page of the document. */
+  endPage?: number;
+  /** Also return the text lines of every page. Ignored when writing to a file. */
+  includeLines?: boolean;
+  /** Writes the text to this path instead of returning it. */
+  outputPath?: string;
+  outputFormat?: 'jsonl' | 'text';
+};
+
+/** Text of one page returned by {@link CPDFDocument.extractPagesText}. */
+export type CPDFPageText = {
+  pageIndex: number;
+  text: string;
+  lines?: Array<Record<string, any>>;
+};
+
+/** Summary returned by {@link CPDFDocument.extractPagesText} when `outputPath` is set. */
+export type CPDFExtractPagesTextFileResult = {
+  path: string;
+  format: string;
+  pageCount: number;
+  size: number;
+};
+
+/** Options for {@link CPDFDocument.renderThumbnails}. */
+export type CPDFRenderThumbnailsOptions = {
+  /** Zero-based page indexes. Empty or omitted renders every page. */
+  pages?: number[];
+  /** Pages rendered first. */
+  visiblePages?: number[];
+  /** Thumbnail width; the height follows the page aspect ratio when only one side is set. */
+  width?: number;
+  height?: number;
+  backgroundColor?: HexColor;
+  drawAnnot?: boolean;
+  drawForm?: boolean;
+  compression?: CPDFPageCompression;
+  quality?: number;
+  /**
+   * Folder the thumbnails are written to. When omitted, each batch gets its own folder in the app
+   * cache, reported as `outputFolder` by `onThumbnailBatchComplete` and removed in a later session.
+   */
+  outputFolder?: string;
+};
+
+/** Result returned by {@link CPDFDocument.renderPageToFile}. */
+export type CPDFRenderedImageFile = {
+  path: string;
+  size: number;
+  width: number;
+  height: number;
+};
+
+/** Filters and paging for {@link CPDFDocument.queryAnnotations}. Dates are millisecond timestamps. */
+export type CPDFAnnotationQuery = {
+  /** Annotation type names; widgets are only returned when this contains 'widget'. */
+  types?: string[];
+  authors?: string[];
+  createdAfter?: number;
+  createdBefore?: number;
+  modifiedSince?: number;
+  pageStart?: number;
+  pageEnd?: number;
+  limit?: number;
+  /** The `nextCursor` of the previous page. */
+  cursor?: string | null;
+  /** Keys to return for every item; every key when omitted. */
+  fields?: string[];
+};
+
+/** One page of results returned by {@link CPDFDocument.queryAnnotations}. */
+export type CPDFAnnotationQueryResult = {
+  items: Array<Record<string, any>>;
+  /** Pass to the next query to continue, or null when every match was returned. */
+  nextCursor: string | null;
+  scannedPages: number;
+};
+
+/** One annotation change returned by {@link CPDFDocument.getAnnotationChangesSince}. */
+export type CPDFAnnotationChange = {
+  seq: number;
+  op: string;
+  page: number;
+  uuid: string;
+  type: string;
+  time: number;
+};
+
+/** Result returned by {@link CPDFDocument.getAnnotationChangesSince}. */
+export type CPDFAnnotationChanges = {
+  changes: CPDFAnnotationChange[];
+  latestSeq: number;
+  hasMore: boolean;
+  /** True when older changes were dropped and the caller should re-read all annotations. */
+  truncated: boolean;
+};
+
+/** Result returned by {@link CPDFDocument.importAnnotationsInChunks}. */
+export type CPDFAnnotationImportResult = {
+  jobId: number;
+  cancelled: boolean;
+  total: number;
+  succeeded: number;
+  failed: number;
+  durationMs: number;
+  results: Array<{
+    index: number;
+    success: boolean;
+    page?: number;
+    uuid?: string;
+    error?: string;
+  }>;
+};
+
+/** One command run by {@link CPDFDocument.executeBatch}, e.g. `{ op: 'getAnnotations', args: { page_index: 0 } }`. */
+export type CPDFBatchCommand = {
+  op: string;
+  args?: Record<string, any>;
+};
+
+/** Result of one command of {@link CPDFDocument.executeBatch}, in command order. */
+export type CPDFBatchResult = {
+  op: string;
+  success: boolean;
+  result?: any;
+  error?: string;
+  skipped?: boolean;
+};
+
 type NativeExtractImageResult = {
   success?: unknown;
   count?: unknown;
@@ -99,6 +297,12 @@ function normalizeExtractImageResult(
   };
 }
 
+function rejectUnlessAndroid(method: string): Promise<never> | null {
+  return Platform.OS === "android"
+    ? null
+    : Promise.reject(new Error(`${method}() is only supported on Android platform.`));
+}
+
 function createAnnotationRenderOptions(
   options: CPDFAnnotationRenderOptions = {}
 ) {
@@ -2295,4 +2499,534 @@ export class CPDFDocument {
       new Error("Unable to find the native view reference")
     );
   }
+
+  /**
+   * Saves the document to its own file and reports how it was written.
+   * The 'auto' mode appends the changes when the file allows it and rewrites it otherwise.
+   * **Only supported on Android.**
+   *
+   * @example
+   * const result = await pdfReaderRef.current?._pdfDocument.saveDocument({ mode: 'auto' });
+   * console.log(result?.mode, result?.bytesWritten);
+   *
+   * @param options The save mode, whether to remove the password and whether to embed font subsets.
+   * @returns The save result with the mode used, the bytes written and the duration.
+   * @group Import and Export
+   */
+  saveDocument = (options: CPDFSaveDocumentOptions = {}): Promise<CPDFSaveDocumentResult> => {
+    const unsupported = rejectUnlessAndroid("saveDocument");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.saveDocument(tag, {
+        mode: options.mode ?? 'auto',
+        remove_security: options.removeSecurity ?? false,
+        font_subset: options.fontSubset ?? true,
+      });
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Imports several documents into the current document with a single reload at the end.
+   * Progress is reported through `onMergeProgress`. **Only supported on Android.**
+   *
+   * @example
+   * const result = await pdfReaderRef.current?._pdfDocument.mergeDocuments([
+   *   { filePath: '/data/user/0/com.example/files/a.pdf' },
+   *   { filePath: '/data/user/0/com.example/files/b.pdf', pages: [0, 1] },
+   * ]);
+   *
+   * @param sources The documents to import, in order.
+   * @param insertPosition The page index to insert at; -1 appends to the end.
+   * @returns The merge summary with one result per source.
+   * @group Import and Export
+   */
+  mergeDocuments = (
+    sources: CPDFMergeSource[],
+    insertPosition: number = -1
+  ): Promise<CPDFMergeResult> => {
+    const unsupported = rejectUnlessAndroid("mergeDocuments");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.mergeDocuments(
+        tag,
+        sources.map(source => ({
+          file_path: source.filePath,
+          password: source.password ?? "",
+          pages: source.pages ?? [],
+        })),
+        { insert_position: insertPosition }
+      );
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Writes several page sets of the current document to separate files in one call.
+   * Every finished file is reported through `onSplitProgress`. **Only supported on Android.**
+   *
+   * @example
+   * const results = await pdfReaderRef.current?._pdfDocument.splitDocumentPagesBatch([
+   *   { savePath: '/data/user/0/com.example/files/part1.pdf', pages: [0, 1] },
+   *   { savePath: '/data/user/0/com.example/files/part2.pdf', pages: [2, 3] },
+   * ]);
+   *
+   * @param jobs The files to write and the pages of each.
+   * @param maxParallel How many files are written at the same time.
+   * @returns One result per job, in job order.
+   * @group Import and Export
+   */
+  splitDocumentPagesBatch = (
+    jobs: CPDFSplitJob[],
+    maxParallel?: number
+  ): Promise<CPDFSplitJobResult[]> => {
+    const unsupported = rejectUnlessAndroid("splitDocumentPagesBatch");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.splitDocumentPagesBatch(
+        tag,
+        jobs.map(job => ({ save_path: job.savePath, pages: job.pages ?? [] })),
+        maxParallel != null ? { max_parallel: maxParallel } : {}
+      );
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Saves a copy of the whole document with the selected pages flattened, leaving the open
+   * document unchanged. Progress is reported through `onFlattenProgress`.
+   * **Only supported on Android.**
+   *
+   * @example
+   * const result = await pdfReaderRef.current?._pdfDocument.flattenPages(
+   *   '/data/user/0/com.example/files/flattened.pdf',
+   *   [0, 2]
+   * );
+   *
+   * @param savePath The path to save the copy to. On Android, you can pass a Uri.
+   * @param pages Zero-based page indexes to flatten. Empty flattens every page.
+   * @param fontSubset Whether to embed font subsets when saving.
+   * @param chunkSize How many pages are flattened at a time.
+   * @returns The flatten result.
+   * @group Import and Export
+   */
+  flattenPages = (
+    savePath: string,
+    pages: number[] = [],
+    fontSubset: boolean = true,
+    chunkSize?: number
+  ): Promise<CPDFFlattenPagesResult> => {
+    const unsupported = rejectUnlessAndroid("flattenPages");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.flattenPages(tag, pages, savePath, {
+        font_subset: fontSubset,
+        chunk_size: chunkSize,
+      });
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Extracts the text of a page list or range in one call, or streams it to a file when
+   * `outputPath` is set. **Only supported on Android.**
+   *
+   * @example
+   * const pages = await pdfReaderRef.current?._pdfDocument.extractPagesText({ startPage: 0, endPage: 9 });
+   *
+   * @param options The pages to extract and where to write them.
+   * @returns The text of every page, or the file summary when `outputPath` is set.
+   * @group Text and Search
+   */
+  extractPagesText = (
+    options: CPDFExtractPagesTextOptions = {}
+  ): Promise<CPDFPageText[] | CPDFExtractPagesTextFileResult> => {
+    const unsupported = rejectUnlessAndroid("extractPagesText");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.extractPagesText(tag, {
+        pages: options.pages,
+        start_page: options.startPage ?? 0,
+        end_page: options.endPage ?? -1,
+        include_lines: options.includeLines ?? false,
+        output_path: options.outputPath,
+        output_format: options.outputFormat,
+      });
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Renders a page straight to an image file instead of returning Base64.
+   * **Only supported on Android.**
+   *
+   * @example
+   * const image = await pdfReaderRef.current?._pdfDocument.renderPageToFile({
+   *   pageIndex: 0,
+   *   width: 1080,
+   *   height: 1920,
+   * });
+   *
+   * @param options The page, size and image options. Without `outputPath` the image is
+   * written to a cache folder that is pruned automatically.
+   * @returns The written file with its size and dimensions.
+   * @group Pages
+   */
+  renderPageToFile = ({
+    pageIndex,
+    width,
+    height,
+    backgroundColor = "#FFFFFF",
+    drawAnnot = true,
+    drawForm = true,
+    compression = CPDFPageCompression.PNG,
+    quality = 85,
+    outputPath,
+  }: {
+    pageIndex: number;
+    width: number;
+    height: number;
+    backgroundColor?: HexColor;
+    drawAnnot?: boolean;
+    drawForm?: boolean;
+    compression?: CPDFPageCompression;
+    quality?: number;
+    outputPath?: string;
+  }): Promise<CPDFRenderedImageFile> => {
+    const unsupported = rejectUnlessAndroid("renderPageToFile");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.renderPageToFile(
+        tag,
+        pageIndex,
+        width,
+        height,
+        normalizeColorToARGB(backgroundColor),
+        drawAnnot,
+        drawForm,
+        { compression, quality, output_path: outputPath }
+      );
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Queues a batch of thumbnails, replacing any batch still running for this view. Each image is
+   * reported through `onThumbnailRendered` and the batch through `onThumbnailBatchComplete`.
+   * **Only supported on Android.**
+   *
+   * @example
+   * const batchId = await pdfReaderRef.current?._pdfDocument.renderThumbnails({
+   *   width: 200,
+   *   visiblePages: [0, 1, 2],
+   * });
+   *
+   * @param options The pages, size and image options.
+   * @returns The id of the queued batch.
+   * @group Pages
+   */
+  renderThumbnails = (options: CPDFRenderThumbnailsOptions = {}): Promise<number> => {
+    const unsupported = rejectUnlessAndroid("renderThumbnails");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.renderThumbnails(tag, {
+        pages: options.pages,
+        visible_pages: options.visiblePages,
+        width: options.width ?? 0,
+        height: options.height ?? 0,
+        background_color: normalizeColorToARGB(options.backgroundColor ?? "#FFFFFF"),
+        draw_annot: options.drawAnnot ?? true,
+        draw_form: options.drawForm ?? true,
+        compression: options.compression ?? CPDFPageCompression.PNG,
+        quality: options.quality ?? 85,
+        output_folder: options.outputFolder,
+      });
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Renders the visible pages of the running thumbnail batch first and drops queued pages that
+   * are farther than `keepDistance` pages away from them. **Only supported on Android.**
+   *
+   * @example
+   * await pdfReaderRef.current?._pdfDocument.updateThumbnailViewport([10, 11, 12], 20);
+   *
+   * @param visiblePages The pages currently on screen.
+   * @param keepDistance How far from the visible pages queued pages are kept; -1 keeps every page.
+   * @returns A promise that resolves when the batch was re-prioritized.
+   * @group Pages
+   */
+  updateThumbnailViewport = (visiblePages: number[], keepDistance: number = -1): Promise<void> => {
+    const unsupported = rejectUnlessAndroid("updateThumbnailViewport");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.updateThumbnailViewport(tag, visiblePages, keepDistance);
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Cancels the running thumbnail batch. **Only supported on Android.**
+   *
+   * @example
+   * await pdfReaderRef.current?._pdfDocument.cancelThumbnails();
+   *
+   * @returns `true` if a batch was running.
+   * @group Pages
+   */
+  cancelThumbnails = (): Promise<boolean> => {
+    const unsupported = rejectUnlessAndroid("cancelThumbnails");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.cancelThumbnails(tag);
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Queries annotations across the whole document, one page of results at a time.
+   * **Only supported on Android.**
+   *
+   * @example
+   * let cursor: string | null = null;
+   * do {
+   *   const page = await pdfReaderRef.current?._pdfDocument.queryAnnotations({
+   *     types: ['ink', 'highlight'],
+   *     limit: 100,
+   *     cursor,
+   *   });
+   *   cursor = page?.nextCursor ?? null;
+   * } while (cursor != null);
+   *
+   * @param query The filters, the page size and the cursor of the previous page.
+   * @returns The matching annotations and the cursor of the next page.
+   * @group Annotations
+   */
+  queryAnnotations = (query: CPDFAnnotationQuery = {}): Promise<CPDFAnnotationQueryResult> => {
+    const unsupported = rejectUnlessAndroid("queryAnnotations");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.queryAnnotations(tag, {
+        types: query.types,
+        authors: query.authors,
+        created_after: query.createdAfter,
+        created_before: query.createdBefore,
+        modified_since: query.modifiedSince,
+        page_start: query.pageStart,
+        page_end: query.pageEnd,
+        limit: query.limit,
+        cursor: query.cursor,
+        fields: query.fields,
+      });
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Returns the annotation creations, updates and deletions recorded after `sinceSeq`.
+   * Pass the returned `latestSeq` to the next call. When `truncated` is true, changes were
+   * dropped and all annotations should be read again. **Only supported on Android.**
+   *
+   * @example
+   * const result = await pdfReaderRef.current?._pdfDocument.getAnnotationChangesSince(0);
+   * const nextSeq = result?.latestSeq;
+   *
+   * @param sinceSeq The `latestSeq` of the previous call, or 0 for every recorded change.
+   * @param limit The maximum number of changes to return; 0 uses the default of 500.
+   * @returns The changes and the sequence number to continue from.
+   * @group Annotations
+   */
+  getAnnotationChangesSince = (
+    sinceSeq: number = 0,
+    limit: number = 0
+  ): Promise<CPDFAnnotationChanges> => {
+    const unsupported = rejectUnlessAndroid("getAnnotationChangesSince");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.getAnnotationChangesSince(tag, sinceSeq, limit);
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Sets how ink and line geometry is returned by annotation reads: 'nested' point arrays,
+   * 'flat' coordinate arrays with stroke offsets, or 'base64' little-endian float buffers.
+   * **Only supported on Android.**
+   *
+   * @example
+   * await pdfReaderRef.current?._pdfDocument.setGeometryEncoding('flat');
+   *
+   * @param encoding The geometry encoding.
+   * @returns A promise that resolves when the encoding is set.
+   * @group Annotations
+   */
+  setGeometryEncoding = (encoding: 'nested' | 'flat' | 'base64'): Promise<void> => {
+    const unsupported = rejectUnlessAndroid("setGeometryEncoding");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.setGeometryEncoding(tag, encoding);
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Adds a large list of annotations in chunks so the viewer stays responsive. Progress is
+   * reported through `onAnnotationImportProgress`, and only one import runs per view.
+   * **Only supported on Android.**
+   *
+   * @example
+   * const result = await pdfReaderRef.current?._pdfDocument.importAnnotationsInChunks(annotations, 50);
+   * console.log(result?.succeeded, result?.failed);
+   *
+   * @param annotations The annotations to add.
+   * @param chunkSize How many annotations are added per chunk.
+   * @returns The import summary with one result per annotation.
+   * @group Annotations
+   */
+  importAnnotationsInChunks = (
+    annotations: CPDFAnnotation[],
+    chunkSize?: number
+  ): Promise<CPDFAnnotationImportResult> => {
+    const unsupported = rejectUnlessAndroid("importAnnotationsInChunks");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      const annotationsData = annotations.map(annot =>
+        normalizeColorsInAnnotation(this.serializeAnnotation(annot))
+      );
+      return CPDFViewManager.importAnnotationsInChunks(
+        tag,
+        annotationsData,
+        chunkSize != null ? { chunk_size: chunkSize } : {}
+      );
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Stops the running chunked annotation import after its current chunk. The import promise
+   * still resolves, with the skipped annotations reported as cancelled.
+   * **Only supported on Android.**
+   *
+   * @example
+   * await pdfReaderRef.current?._pdfDocument.cancelAnnotationImport();
+   *
+   * @returns `true` if an import was running.
+   * @group Annotations
+   */
+  cancelAnnotationImport = (): Promise<boolean> => {
+    const unsupported = rejectUnlessAndroid("cancelAnnotationImport");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.cancelAnnotationImport(tag);
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Runs several commands against the document in one native call and one UI-thread pass,
+   * reloading the pages once at the end. **Only supported on Android.**
+   *
+   * @example
+   * const results = await pdfReaderRef.current?._pdfDocument.executeBatch([
+   *   { op: 'getPageCount' },
+   *   { op: 'getAnnotations', args: { page_index: 0 } },
+   * ]);
+   *
+   * @param commands The commands to run, in order. Arguments use the native snake_case keys.
+   * @param stopOnError Whether to skip the remaining commands after the first failure.
+   * @param reloadPages Whether to reload the pages after the batch.
+   * @returns One result per command, in command order.
+   * @group Document
+   */
+  executeBatch = (
+    commands: CPDFBatchCommand[],
+    stopOnError: boolean = false,
+    reloadPages: boolean = true
+  ): Promise<CPDFBatchResult[]> => {
+    const unsupported = rejectUnlessAndroid("executeBatch");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.executeBatch(
+        tag,
+        commands.map(command => ({ op: command.op, args: command.args ?? {} })),
+        { stop_on_error: stopOnError, reload_pages: reloadPages }
+      );
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
+
+  /**
+   * Returns how busy the background queue of the document is: queued and running tasks, the
+   * number of completed tasks and their average and longest wait. **Only supported on Android.**
+   *
+   * @example
+   * const metrics = await pdfReaderRef.current?._pdfDocument.getDocumentQueueMetrics();
+   *
+   * @returns The queue metrics.
+   * @group Document
+   */
+  getDocumentQueueMetrics = (): Promise<{
+    queueDepth: number;
+    activeReads: number;
+    writing: boolean;
+    completedTasks: number;
+    averageWaitMs: number;
+    maxWaitMs: number;
+  }> => {
+    const unsupported = rejectUnlessAndroid("getDocumentQueueMetrics");
+    if (unsupported) {
+      return unsupported;
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.getDocumentQueueMetrics(tag);
+    }
+    return Promise.reject(new Error("Unable to find the native view reference"));
+  };
 }
@@ -36,7 +36,28 @@ export type { CPDFEventDataMap } from "./configuration/CPDFOptions";
 
 // === Document & Pages ===
 export { CPDFDocument } from "./document/CPDFDocument";
-export type { CPDFExtractImageResult } from "./document/CPDFDocument";
+export type {
+  CPDFExtractImageResult,
+  CPDFSaveDocumentOptions,
+  CPDFSaveDocumentResult,
+  CPDFMergeSource,
+  CPDFMergeResult,
+  CPDFSplitJob,
+  CPDFSplitJobResult,
+  CPDFFlattenPagesResult,
+  CPDFExtractPagesTextOptions,
+  CPDFPageText,
+  CPDFExtractPagesTextFileResult,
+  CPDFRenderThumbnailsOptions,
+  CPDFRenderedImageFile,
+  CPDFAnnotationQuery,
+  CPDFAnnotationQueryResult,
+  CPDFAnnotationChange,
+  CPDFAnnotationChanges,
+  CPDFAnnotationImportResult,
+  CPDFBatchCommand,
+  CPDFBatchResult,
+} from "./document/CPDFDocument";
 export {
   createTextWatermark,
   createImageWatermark,
@@ -7,11 +7,25 @@
  * This notice may not be removed from this file.
  */
 
-import { findNodeHandle, NativeModules } from "react-native";
+import { findNodeHandle, NativeModules, Platform } from "react-native";
 import { CPDFTextRange } from "./CPDFTextRange";
 import { CPDFSearchOptions } from "./CPDFSearchOptions";
 const { CPDFViewManager } = NativeModules;
 
+/**
+ * State of the full-text index returned by {@link CPDFTextSearcher.buildTextIndex} and
+ * {@link CPDFTextSearcher.getTextIndexStatus}.
+ */
+export type CPDFTextIndexStatus = {
+    status: 'none' | 'building' | 'ready' | 'stale';
+    pageCount?: number;
+    pagesIndexed?: number;
+    tokenCount?: number;
+    sizeBytes?: number;
+    /** Pages whose text was unchanged and reused by the last build. */
+    reusedPages?: number;
+};
+
 export class CPDFTextSearcher {
 
     private _viewerRef: any;
@@ -40,7 +54,9 @@ export class CPDFTextSearcher {
      * }
      * 
      * @returns {Promise<CPDFTextRange[]>} A promise that resolves to an array of 
-     * `CPDFTextRange` objects representing the matched text results.
+     * `CPDFTextRange` objects representing the matched text results. It rejects with the code
+     * `SEARCH_CANCELLED` when the search is cancelled or superseded by a newer search, so a
+     * cancelled search is never mistaken for one without matches.
      */
     searchText = async (searchText: string, options : CPDFSearchOptions) : Promise<CPDFTextRange[]> => {
         const tag = findNodeHandle(this._viewerRef);
@@ -50,9 +66,11 @@ export class CPDFTextSearcher {
                 return jsonArray.map((item: { pageIndex: number, location: number, length: number, textRangeIndex: number }) => (
                     new CPDFTextRange(item.pageIndex, item.location, item.length, item.textRangeIndex)
                 ));
-            } catch (e) {
+            } catch (e: any) {
+                if (e?.code === "SEARCH_CANCELLED") {
+                    throw e;
+                }
                 console.error("ComPDFKitRN", "searchText error:", e);
-                
             }
         }
         return Promise.resolve([]);
@@ -139,5 +157,117 @@ export class CPDFTextSearcher {
         return Promise.resolve('');
     }
 
+    /**
+     * Starts a search that streams its matches instead of returning them all at the end.
+     * Matches arrive in batches through the reader view's `onSearchResults` event and the summary
+     * through `onSearchComplete`. Starting another search on the same view cancels this one.
+     * **Only supported on Android.**
+     *
+     * @param {string} searchText - The text string to search for in the document.
+     * @param {CPDFSearchOptions} options - Case sensitivity and whole word match.
+     * @param {number} batchPages - How many scanned pages are collected into one batch.
+     * @param {number} batchIntervalMs - The longest time matches are held before a batch is sent.
+     *
+     * @example
+     * const searchId = await textSearcher.startSearch("example", CPDFSearchOptions.CaseInsensitive);
+     *
+     * @returns {Promise<number>} A promise that resolves with the id carried by the search events.
+     */
+    startSearch = (searchText: string, options: CPDFSearchOptions, batchPages: number = 20,
+        batchIntervalMs: number = 100): Promise<number> => {
+        if (Platform.OS != "android") {
+            return Promise.reject("startSearch() method only support Android platform.");
+        }
+        const tag = findNodeHandle(this._viewerRef);
+        if (tag != null) {
+            return CPDFViewManager.startSearch(tag, searchText, options, {
+                batch_pages: batchPages,
+                batch_interval_ms: batchIntervalMs,
+            });
+        }
+        return Promise.reject("Unable to find the native view reference");
+    }
+
+    /**
+     * Cancels the running search. A pending `searchText` call rejects with `SEARCH_CANCELLED`
+     * and a streamed search completes with `cancelled: true`.
+     * **Only supported on Android.**
+     *
+     * @example
+     * await textSearcher.cancelSearch();
+     *
+     * @returns {Promise<void>} A promise that resolves once the search is cancelled.
+     */
+    cancelSearch = (): Promise<void> => {
+        if (Platform.OS != "android") {
+            return Promise.reject("cancelSearch() method only support Android platform.");
+        }
+        const tag = findNodeHandle(this._viewerRef);
+        if (tag != null) {
+            return CPDFViewManager.cancelSearch(tag);
+        }
+        return Promise.resolve();
+    }
+
+    /**
+     * Builds or refreshes the full-text index that lets later searches skip pages which cannot
+     * contain the keywords. Pages whose text did not change are reused.
+     * **Only supported on Android.**
+     *
+     * @example
+     * const status = await textSearcher.buildTextIndex();
+     *
+     * @returns {Promise<CPDFTextIndexStatus>} A promise that resolves with the index status once it is built.
+     */
+    buildTextIndex = (): Promise<CPDFTextIndexStatus> => {
+        if (Platform.OS != "android") {
+            return Promise.reject("buildTextIndex() method only support Android platform.");
+        }
+        const tag = findNodeHandle(this._viewerRef);
+        if (tag != null) {
+            return CPDFViewManager.buildTextIndex(tag);
+        }
+        return Promise.reject("Unable to find the native view reference");
+    }
+
+    /**
+     * Returns the status of the full-text index. **Only supported on Android.**
+     *
+     * @example
+     * const status = await textSearcher.getTextIndexStatus();
+     * if (status.status === 'stale') {
+     *   await textSearcher.buildTextIndex();
+     * }
+     *
+     * @returns {Promise<CPDFTextIndexStatus>} A promise that resolves with the index status.
+     */
+    getTextIndexStatus = (): Promise<CPDFTextIndexStatus> => {
+        if (Platform.OS != "android") {
+            return Promise.reject("getTextIndexStatus() method only support Android platform.");
+        }
+        const tag = findNodeHandle(this._viewerRef);
+        if (tag != null) {
+            return CPDFViewManager.getTextIndexStatus(tag);
+        }
+        return Promise.reject("Unable to find the native view reference");
+    }
 
-}
\ No newline at end of file
+    /**
+     * Deletes the full-text index of the document. **Only supported on Android.**
+     *
+     * @example
+     * await textSearcher.dropTextIndex();
+     *
+     * @returns {Promise<boolean>} A promise that resolves to `true` if an index was deleted.
+     */
+    dropTextIndex = (): Promise<boolean> => {
+        if (Platform.OS != "android") {
+            return Promise.reject("dropTextIndex() method only support Android platform.");
+        }
+        const tag = findNodeHandle(this._viewerRef);
+        if (tag != null) {
+            return CPDFViewManager.dropTextIndex(tag);
+        }
+        return Promise.resolve(false);
+    }
+}
@@ -93,6 +93,15 @@ export interface CPDFReaderViewProps {
   onCustomToolbarItemTapped?: (identifier: string) => void;
   onCustomContextMenuItemTapped?: (identifier: string, event: any) => void;
   onSearchBackButtonTapped?: () => void;
+  onSearchResults?: (event: any) => void; // Android only
+  onSearchComplete?: (event: any) => void; // Android only
+  onThumbnailRendered?: (event: any) => void; // Android only
+  onThumbnailBatchComplete?: (event: any) => void; // Android only
+  onSplitProgress?: (event: any) => void; // Android only
+  onMergeProgress?: (event: any) => void; // Android only
+  onAutoSaveCheckpoint?: (event: any) => void; // Android only
+  onFlattenProgress?: (event: any) => void; // Android only
+  onAnnotationImportProgress?: (event: any) => void; // Android only
   onAddWatermarkDialogDismissed?: () => void;
   onAnnotationStyleDialogDismissed?: (
     event: CPDFAnnotationStyleDialogDismissedEvent
@@ -283,6 +292,42 @@ export class CPDFReaderView extends PureComponent<CPDFReaderViewProps, any> {
       if (this.props.onSearchBackButtonTapped) {
         this.props.onSearchBackButtonTapped();
       }
+    } else if ("onSearchResults" in event.nativeEvent) {
+      if (this.props.onSearchResults) {
+        this.props.onSearchResults(event.nativeEvent.onSearchResults);
+      }
+    } else if ("onSearchComplete" in event.nativeEvent) {
+      if (this.props.onSearchComplete) {
+        this.props.onSearchComplete(event.nativeEvent.onSearchComplete);
+      }
+    } else if ("onThumbnailRendered" in event.nativeEvent) {
+      if (this.props.onThumbnailRendered) {
+        this.props.onThumbnailRendered(event.nativeEvent.onThumbnailRendered);
+      }
+    } else if ("onThumbnailBatchComplete" in event.nativeEvent) {
+      if (this.props.onThumbnailBatchComplete) {
+        this.props.onThumbnailBatchComplete(event.nativeEvent.onThumbnailBatchComplete);
+      }
+    } else if ("onSplitProgress" in event.nativeEvent) {
+      if (this.props.onSplitProgress) {
+        this.props.onSplitProgress(event.nativeEvent.onSplitProgress);
+      }
+    } else if ("onMergeProgress" in event.nativeEvent) {
+      if (this.props.onMergeProgress) {
+        this.props.onMergeProgress(event.nativeEvent.onMergeProgress);
+      }
+    } else if ("onAutoSaveCheckpoint" in event.nativeEvent) {
+      if (this.props.onAutoSaveCheckpoint) {
+        this.props.onAutoSaveCheckpoint(event.nativeEvent.onAutoSaveCheckpoint);
+      }
+    } else if ("onFlattenProgress" in event.nativeEvent) {
+      if (this.props.onFlattenProgress) {
+        this.props.onFlattenProgress(event.nativeEvent.onFlattenProgress);
+      }
+    } else if ("onAnnotationImportProgress" in event.nativeEvent) {
+      if (this.props.onAnnotationImportProgress) {
+        this.props.onAnnotationImportProgress(event.nativeEvent.onAnnotationImportProgress);
+      }
     } else if ("onAddWatermarkDialogDismissed" in event.nativeEvent) {
       if (this.props.onAddWatermarkDialogDismissed) {
         this.props.onAddWatermarkDialogDismissed();
@@ -439,6 +484,112 @@ export class CPDFReaderView extends PureComponent<CPDFReaderViewProps, any> {
     return Promise.resolve(false);
   };
 
+  /**
+   * Writes checkpoint copies of the document to a side file after edits settle, so unsaved
+   * changes survive a crash. A burst of edits produces one checkpoint after `debounceMs`, and
+   * steady editing still writes one at least every `maxDelayMs`. Each checkpoint is reported
+   * through `onAutoSaveCheckpoint`, failed checkpoints are retried with a growing delay, and the
+   * checkpoint is deleted once the document itself is saved.
+   * **Only supported on Android.**
+   *
+   * @example
+   * await pdfReaderRef.current?.setAutoSave({ enabled: true, debounceMs: 2000 });
+   *
+   * @param options.enabled Whether checkpoints are written. Defaults to true.
+   * @param options.debounceMs How long edits must settle before a checkpoint. Defaults to 2000.
+   * @param options.maxDelayMs The longest time edits wait for a checkpoint. Defaults to 30000.
+   * @param options.checkpointPath Where checkpoints are written; an app-private file when omitted.
+   * @returns A promise that resolves when the auto-save settings are applied.
+   * @group Document Lifecycle
+   */
+  setAutoSave = (options: {
+    enabled?: boolean;
+    debounceMs?: number;
+    maxDelayMs?: number;
+    checkpointPath?: string;
+  } = {}): Promise<void> => {
+    if (Platform.OS != "android") {
+      return Promise.reject(
+        "setAutoSave() method only support Android platform."
+      );
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.setAutoSave(tag, {
+        enabled: options.enabled ?? true,
+        debounce_ms: options.debounceMs ?? 2000,
+        max_delay_ms: options.maxDelayMs ?? 30000,
+        checkpoint_path: options.checkpointPath ?? null,
+      });
+    }
+    return Promise.resolve();
+  };
+
+  /**
+   * Writes an auto-save checkpoint now when the view has unsaved edits, for example before the
+   * app goes to the background. **Only supported on Android.**
+   *
+   * @example
+   * await pdfReaderRef.current?.flushAutoSave();
+   *
+   * @returns true if a checkpoint was started, false when there was nothing to write.
+   * @group Document Lifecycle
+   */
+  flushAutoSave = (): Promise<boolean> => {
+    if (Platform.OS != "android") {
+      return Promise.reject(
+        "flushAutoSave() method only support Android platform."
+      );
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.flushAutoSave(tag);
+    }
+    return Promise.resolve(false);
+  };
+
+  /**
+   * Returns the auto-save state of the view. Views that were never configured report the
+   * defaults with `enabled: false`. The status also names the checkpoint file of the open
+   * document and whether it exists, so a checkpoint left by a crashed session can be found
+   * after the document is opened again. **Only supported on Android.**
+   *
+   * @example
+   * const status = await pdfReaderRef.current?.getAutoSaveStatus();
+   * if (status?.checkpointExists) {
+   *   // Offer to restore status.checkpointPath.
+   * }
+   *
+   * @returns The auto-save settings, whether edits are waiting or being written, the number of
+   * checkpoints that failed in a row, the last checkpoint written and the document's checkpoint
+   * file.
+   * @group Document Lifecycle
+   */
+  getAutoSaveStatus = (): Promise<{
+    enabled: boolean;
+    dirty: boolean;
+    writing: boolean;
+    debounceMs: number;
+    maxDelayMs: number;
+    failures: number;
+    lastCheckpointPath: string | null;
+    lastCheckpointAt: number;
+    checkpointPath: string | null;
+    checkpointExists: boolean;
+    checkpointModifiedAt: number;
+  }> => {
+    if (Platform.OS != "android") {
+      return Promise.reject(
+        "getAutoSaveStatus() method only support Android platform."
+      );
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.getAutoSaveStatus(tag);
+    }
+    return Promise.reject("Unable to find the native view reference");
+  };
+
   /**
    * Set the reading area spacing.
    * @example
@@ -652,6 +803,33 @@ export class CPDFReaderView extends PureComponent<CPDFReaderViewProps, any> {
     return Promise.resolve();
   };
 
+  /**
+   * Sets how the screenshot of a custom context-menu event is delivered.
+   * Default : 'base64', the PNG is sent as a Base64 string in `event.image`.
+   * With 'file', the PNG is written to a cache file and the event carries `imagePath`,
+   * `imageWidth` and `imageHeight` instead. Cached files are pruned automatically, so copy any
+   * image you want to keep.
+   *
+   * @example
+   * await pdfReaderRef.current?.setContextMenuImageOutput('file');
+   *
+   * @param outputType 'base64' or 'file'.
+   * @returns A promise that resolves when the operation completes.
+   * @group View Settings
+   */
+  setContextMenuImageOutput = (outputType: 'base64' | 'file'): Promise<void> => {
+    if (Platform.OS != "android") {
+      return Promise.reject(
+        "setContextMenuImageOutput() method only support Android platform."
+      );
+    }
+    const tag = findNodeHandle(this._viewerRef);
+    if (tag != null) {
+      return CPDFViewManager.setContextMenuImageOutput(tag, outputType);
+    }
+    return Promise.resolve();
+  };
+
   /**
    * Sets background color of reader.
    * The color of each document space will be set to 75% of [color] transparency